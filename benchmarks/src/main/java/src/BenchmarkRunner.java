@@ -0,0 +1,30 @@
+package src;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar.
+ * Accepts the usual JMH command-line options and always enables the GC profiler,
+ * so every run reports allocation rates alongside timings.
+ *
+ * @author Kaden Godinez
+ */
+public class BenchmarkRunner {
+    /**
+     * Runs the selected benchmarks.
+     *
+     * @param args JMH command-line options, e.g. a benchmark name pattern.
+     * @throws Exception If the options are invalid or a benchmark fails.
+     */
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
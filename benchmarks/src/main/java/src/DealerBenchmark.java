@@ -0,0 +1,58 @@
+package src;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the dealer's play-out from a two-card start, as done once per round by the {@link Simulator}.
+ *
+ * @author Kaden Godinez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DealerBenchmark {
+    private Dealer dealer;
+    private Shoe shoe;
+
+    /**
+     * Creates the dealer and a shuffled six-deck shoe.
+     */
+    @Setup
+    public void setUp() {
+        dealer = new Dealer();
+        shoe = new Shoe(6, 0.75, new SplittableRandom(42));
+        shoe.shuffle();
+    }
+
+    /**
+     * Measures dealing two cards to the dealer and drawing to 17, including amortized reshuffles.
+     *
+     * @return The dealer's final total.
+     */
+    @Benchmark
+    public int playOut() {
+        if (shoe.needsReshuffle()) {
+            shoe.shuffle();
+        }
+        Hand hand = dealer.getHand();
+        hand.reset();
+        hand.addCode(shoe.dealCode());
+        hand.addCode(shoe.dealCode());
+        return dealer.playOut(shoe);
+    }
+}
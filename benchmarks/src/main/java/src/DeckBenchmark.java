@@ -0,0 +1,65 @@
+package src;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks shuffling and dealing from a {@link Shoe}.
+ *
+ * @author Kaden Godinez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DeckBenchmark {
+    @Param({"1", "6", "8"})
+    private int decks;
+
+    private Shoe shoe;
+
+    /**
+     * Creates a shuffled, silent shoe.
+     */
+    @Setup
+    public void setUp() {
+        shoe = new Shoe(decks, 1.0, new SplittableRandom(42));
+        shoe.shuffle();
+    }
+
+    /**
+     * Measures a full in-place shuffle of the shoe.
+     */
+    @Benchmark
+    public void shuffle() {
+        shoe.shuffle();
+    }
+
+    /**
+     * Measures dealing a single card. The shoe is reshuffled when it runs out,
+     * so the shuffle cost is amortized over one shoe's worth of deals.
+     *
+     * @return The dealt Card.
+     */
+    @Benchmark
+    public Card dealCard() {
+        if (shoe.remainingCards() == 0) {
+            shoe.shuffle();
+        }
+        return shoe.dealCard();
+    }
+}
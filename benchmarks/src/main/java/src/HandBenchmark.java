@@ -0,0 +1,74 @@
+package src;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks adding cards to a {@link Hand} and reading its total.
+ * Cards come from a fixed pseudo-random sequence so every run sees the same hands.
+ *
+ * @author Kaden Godinez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HandBenchmark {
+    private static final int SEQUENCE_LENGTH = 4096;
+    private static final int CARDS_PER_HAND = 3;
+
+    private final byte[] codes = new byte[SEQUENCE_LENGTH];
+    private Hand hand;
+    private int next;
+
+    /**
+     * Builds the card sequence and an empty hand.
+     */
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (byte) random.nextInt(Card.CARDS_PER_DECK);
+        }
+        hand = new Hand();
+    }
+
+    /**
+     * Measures building a three-card hand, reading the total after every card.
+     *
+     * @param blackhole Consumes the totals so they are not optimized away.
+     */
+    @Benchmark
+    public void addCardAndTotal(Blackhole blackhole) {
+        hand.reset();
+        for (int i = 0; i < CARDS_PER_HAND; i++) {
+            hand.addCode(codes[next]);
+            next = (next + 1) & (SEQUENCE_LENGTH - 1);
+            blackhole.consume(hand.calculateTotal());
+        }
+    }
+
+    /**
+     * Measures reading the total of an unchanged hand.
+     *
+     * @return The hand total.
+     */
+    @Benchmark
+    public int calculateTotal() {
+        return hand.calculateTotal();
+    }
+}
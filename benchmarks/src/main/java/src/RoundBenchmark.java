@@ -0,0 +1,71 @@
+package src;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks complete headless rounds through the {@link Simulator}, dealt from a shoe and from a
+ * {@link ContinuousShuffler}, so the two can be compared. Scores are per round.
+ *
+ * @author Kaden Godinez
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RoundBenchmark {
+    private static final int ROUNDS = 1000;
+
+    /** The number of cards the shuffling machine keeps staged. */
+    private static final int STAGED = 20;
+
+    private Simulator simulator;
+    private Simulator machineSimulator;
+
+    /**
+     * Creates six-deck simulators playing basic strategy, one dealing from a shoe and one from a shuffling machine.
+     */
+    @Setup
+    public void setUp() {
+        simulator = new Simulator(6, 0.75, 10, ROUNDS, new SplittableRandom(42), new BasicStrategy());
+        TableRules rules = TableRules.DEFAULT.withDecks(6);
+        machineSimulator = new Simulator(rules, new ContinuousShuffler(rules.getDecks(), STAGED, 42), 10, ROUNDS, 1,
+                new BasicStrategy());
+    }
+
+    /**
+     * Measures one session of rounds.
+     *
+     * @return The session's statistics.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public SimulationStats playRounds() {
+        return simulator.simulate(ROUNDS);
+    }
+
+    /**
+     * Measures one session of rounds dealt from a continuous shuffling machine.
+     *
+     * @return The session's statistics.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROUNDS)
+    public SimulationStats playMachineRounds() {
+        return machineSimulator.simulate(ROUNDS);
+    }
+}
@@ -0,0 +1,55 @@
+package src;
+
+/**
+ * The decisions a player can make during their turn.
+ * Which actions are open at a given moment is passed to a {@link PlayerStrategy} as a bit mask
+ * built from {@link #mask()}; hitting and standing are always allowed.
+ *
+ * @author Kaden Godinez
+ */
+public enum Action {
+    /** Draw another card. */
+    HIT,
+    /** Keep the current hand and end the turn. */
+    STAND,
+    /** Double the bet, draw exactly one more card and end the turn. Only on the first two cards of a hand. */
+    DOUBLE,
+    /** Split a pair into two hands, each with its own bet. */
+    SPLIT,
+    /** Give up the hand and get half the bet back. Only on the first two cards, before splitting. */
+    SURRENDER;
+
+    private static final Action[] VALUES = values();
+
+    /** The actions that are always allowed. */
+    public static final int HIT_OR_STAND = HIT.mask() | STAND.mask();
+
+    /**
+     * Looks up an Action by its ordinal without copying the values array.
+     *
+     * @param ordinal The ordinal of the Action.
+     * @return The Action with that ordinal.
+     */
+    public static Action of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Retrieves the bit that stands for this action in a mask of allowed actions.
+     *
+     * @return The action's bit.
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Checks whether this action is in a mask of allowed actions.
+     *
+     * @param allowed The mask of allowed actions.
+     * @return True if the action is allowed.
+     */
+    public boolean isAllowed(int allowed) {
+        return (allowed & mask()) != 0;
+    }
+}
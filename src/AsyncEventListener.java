@@ -0,0 +1,159 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * A GameEventListener that hands events to a background thread, which delivers them in batches
+ * to another listener. The game thread only pays for queueing the event, not for rendering it.
+ * <p>
+ * Events are delivered in the order they were reported. The queue is bounded; if the delegate
+ * falls behind, reporting an event waits for space rather than dropping it.
+ * Call {@link #close()} to deliver any remaining events and stop the thread.
+ *
+ * @author Kaden Godinez
+ */
+public class AsyncEventListener implements GameEventListener, AutoCloseable {
+    private static final Consumer<GameEventListener> STOP = listener -> { };
+
+    private final GameEventListener delegate;
+    private final BlockingQueue<Consumer<GameEventListener>> queue;
+    private final int batchSize;
+    private final Thread worker;
+
+    /**
+     * Constructs an AsyncEventListener and starts its delivery thread.
+     *
+     * @param delegate  The listener that receives the events on the background thread.
+     * @param capacity  The largest number of events waiting to be delivered.
+     * @param batchSize The largest number of events delivered per batch.
+     */
+    public AsyncEventListener(GameEventListener delegate, int capacity, int batchSize) {
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Capacity and batch size must be positive.");
+        }
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.worker = new Thread(this::deliver, "game-events");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Delivers queued events in batches until the stop marker is reached.
+     */
+    private void deliver() {
+        List<Consumer<GameEventListener>> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                for (Consumer<GameEventListener> event : batch) {
+                    if (event == STOP) {
+                        return;
+                    }
+                    event.accept(delegate);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues an event for delivery.
+     *
+     * @param event The call to make on the delegate.
+     */
+    private void enqueue(Consumer<GameEventListener> event) {
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Delivers all events reported so far and stops the delivery thread.
+     */
+    @Override
+    public void close() {
+        enqueue(STOP);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void onReshuffle(int decks) {
+        enqueue(listener -> listener.onReshuffle(decks));
+    }
+
+    @Override
+    public void onShoeEmpty(int decks) {
+        enqueue(listener -> listener.onShoeEmpty(decks));
+    }
+
+    @Override
+    public void onCardDealt(Participant participant, int handIndex, boolean split, Card card, int cardCount,
+                            int total) {
+        enqueue(listener -> listener.onCardDealt(participant, handIndex, split, card, cardCount, total));
+    }
+
+    @Override
+    public void onAceAdjusted(Participant participant, int handIndex, boolean split, int total) {
+        enqueue(listener -> listener.onAceAdjusted(participant, handIndex, split, total));
+    }
+
+    @Override
+    public void onDecision(Participant participant, int handIndex, boolean split, Action action) {
+        enqueue(listener -> listener.onDecision(participant, handIndex, split, action));
+    }
+
+    @Override
+    public void onBust(Participant participant, int handIndex, boolean split, int total) {
+        enqueue(listener -> listener.onBust(participant, handIndex, split, total));
+    }
+
+    @Override
+    public void onHoleCardRevealed(Dealer dealer, Card holeCard, Card upcard, int total) {
+        enqueue(listener -> listener.onHoleCardRevealed(dealer, holeCard, upcard, total));
+    }
+
+    @Override
+    public void onBetPlaced(Player player, int requested, int bet, int remainingMoney) {
+        enqueue(listener -> listener.onBetPlaced(player, requested, bet, remainingMoney));
+    }
+
+    @Override
+    public void onInsuranceTaken(Player player, int amount, int remainingMoney) {
+        enqueue(listener -> listener.onInsuranceTaken(player, amount, remainingMoney));
+    }
+
+    @Override
+    public void onInsuranceSettled(Player player, int amount, int payout) {
+        enqueue(listener -> listener.onInsuranceSettled(player, amount, payout));
+    }
+
+    @Override
+    public void onSideBetSettled(Player player, SideBet bet, int outcome, int amount, int payout) {
+        enqueue(listener -> listener.onSideBetSettled(player, bet, outcome, amount, payout));
+    }
+
+    @Override
+    public void onRoundSettled(Player player, int playerTotal, int dealerTotal, int bet, int payout) {
+        enqueue(listener -> listener.onRoundSettled(player, playerTotal, dealerTotal, bet, payout));
+    }
+
+    @Override
+    public void onPayout(Player player, int amount, int balance) {
+        enqueue(listener -> listener.onPayout(player, amount, balance));
+    }
+}
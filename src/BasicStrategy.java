@@ -0,0 +1,150 @@
+package src;
+
+import java.util.Arrays;
+
+/**
+ * A PlayerStrategy that plays a {@link StrategyChart}, by default the standard multi-deck basic-strategy chart
+ * for the table's rules. The chart is compiled once into flat byte tables indexed by hand total, soft flag and
+ * dealer upcard value, so each decision is one or two array reads.
+ * <p>
+ * Each table cell stores the chart action in its low three bits and the fallback in the bits above,
+ * for when doubling or surrendering is not allowed. A pair marked 'p' is split only when the rules
+ * allow doubling after a split.
+ *
+ * @author Kaden Godinez
+ */
+public class BasicStrategy implements PlayerStrategy {
+    private static final int TOTALS = 22;
+    private static final int UPCARDS = 12;
+    private static final int FALLBACK_SHIFT = 3;
+    private static final int ACTION_MASK = (1 << FALLBACK_SHIFT) - 1;
+
+    private final byte[] table;
+    private final boolean[] splits;
+
+    /**
+     * Constructs a BasicStrategy for the default table rules.
+     */
+    public BasicStrategy() {
+        this(TableRules.DEFAULT);
+    }
+
+    /**
+     * Constructs a BasicStrategy from the standard chart, adjusted for the given rules.
+     *
+     * @param rules The rules of the table the strategy plays at.
+     */
+    public BasicStrategy(TableRules rules) {
+        this(StrategyChart.basic(rules), rules);
+    }
+
+    /**
+     * Constructs a BasicStrategy that plays the given chart.
+     *
+     * @param chart The chart to play. Later changes to the chart do not affect the strategy.
+     * @param rules The rules of the table the strategy plays at.
+     */
+    public BasicStrategy(StrategyChart chart, TableRules rules) {
+        this.table = new byte[2 * TOTALS * UPCARDS];
+        this.splits = new boolean[UPCARDS * UPCARDS];
+        // Totals below each chart's first row are always hits
+        Arrays.fill(table, encode('H'));
+        compile(chart, StrategyChart.FIRST_HARD_TOTAL, false);
+        compile(chart, StrategyChart.FIRST_SOFT_TOTAL, true);
+        for (int value = StrategyChart.FIRST_PAIR_VALUE; value <= 11; value++) {
+            for (int upcard = 2; upcard <= 11; upcard++) {
+                char symbol = chart.getPairSymbol(value, upcard);
+                splits[value * UPCARDS + upcard] = symbol == 'P' || (symbol == 'p' && rules.isDoubleAfterSplit());
+            }
+        }
+    }
+
+    /**
+     * Copies a chart's hard or soft rows into the lookup table.
+     *
+     * @param chart      The chart.
+     * @param firstTotal The hand total of the first row.
+     * @param soft       Whether to copy the soft rows.
+     */
+    private void compile(StrategyChart chart, int firstTotal, boolean soft) {
+        for (int total = firstTotal; total <= 21; total++) {
+            // Upcard values 2-11 match the chart's columns, 2-10 then Ace
+            for (int upcard = 2; upcard <= 11; upcard++) {
+                table[index(total, soft, upcard)] = encode(chart.getTotalSymbol(total, soft, upcard));
+            }
+        }
+    }
+
+    /**
+     * Converts a chart symbol to a table cell holding the action and its fallback.
+     *
+     * @param symbol The chart symbol.
+     * @return The encoded cell.
+     */
+    private static byte encode(char symbol) {
+        switch (symbol) {
+            case 'H':
+                return encode(Action.HIT, Action.HIT);
+            case 'S':
+                return encode(Action.STAND, Action.STAND);
+            case 'D':
+                return encode(Action.DOUBLE, Action.HIT);
+            case 'd':
+                return encode(Action.DOUBLE, Action.STAND);
+            case 'R':
+                return encode(Action.SURRENDER, Action.HIT);
+            case 'r':
+                return encode(Action.SURRENDER, Action.STAND);
+            default:
+                throw new IllegalArgumentException("Unknown chart symbol: " + symbol);
+        }
+    }
+
+    /**
+     * Packs an action and its fallback into a table cell.
+     *
+     * @param action   The chart action.
+     * @param fallback The action to take when the chart action is not allowed.
+     * @return The encoded cell.
+     */
+    private static byte encode(Action action, Action fallback) {
+        return (byte) (action.ordinal() | fallback.ordinal() << FALLBACK_SHIFT);
+    }
+
+    /**
+     * Computes the position of a chart cell in the flat table.
+     *
+     * @param total  The hand total, 0-21.
+     * @param soft   Whether the hand is soft.
+     * @param upcard The dealer upcard value, 2-11.
+     * @return The table index.
+     */
+    private static int index(int total, boolean soft, int upcard) {
+        return ((soft ? TOTALS : 0) + total) * UPCARDS + upcard;
+    }
+
+    /**
+     * Looks up the chart action for the hand against the dealer's upcard.
+     * Splits a pair when the pair chart says so; otherwise plays the total, falling back to
+     * hitting or standing when the chart's double or surrender is not allowed.
+     *
+     * @param hand           The player's current hand.
+     * @param dealerUpcard   The code of the dealer's face-up card.
+     * @param allowedActions The actions open to the player.
+     * @return The chart action.
+     */
+    @Override
+    public Action decide(Hand hand, int dealerUpcard, int allowedActions) {
+        int total = hand.calculateTotal();
+        if (total > 21) {
+            return Action.STAND;
+        }
+        int upcard = Card.valueOf(dealerUpcard);
+        if (Action.SPLIT.isAllowed(allowedActions) && splits[Card.valueOf(hand.getCode(0)) * UPCARDS + upcard]) {
+            return Action.SPLIT;
+        }
+        int cell = table[index(total, hand.isSoft(), upcard)];
+        Action action = Action.of(cell & ACTION_MASK);
+        return action.isAllowed(allowedActions) ? action : Action.of(cell >>> FALLBACK_SHIFT);
+    }
+}
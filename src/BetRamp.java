@@ -0,0 +1,53 @@
+package src;
+
+/**
+ * A BettingStrategy that raises the bet with the true count of a {@link CardCounter}.
+ * The bet is one unit at a true count of +1 or less and one more unit for every point above that,
+ * up to the maximum spread. With an unbalanced count, the running count is compared to a pivot equal to the
+ * system's imbalance per deck (+4 for Knock-Out) instead.
+ *
+ * @author Kaden Godinez
+ */
+public class BetRamp implements BettingStrategy {
+    private final CardCounter counter;
+    private final int maxUnits;
+    private final int pivot;
+
+    /**
+     * Constructs a BetRamp with the usual pivot: a true count of +1, or the imbalance of an unbalanced system.
+     *
+     * @param counter  The counter whose count drives the bet.
+     * @param maxUnits The largest bet, in units of the base bet.
+     */
+    public BetRamp(CardCounter counter, int maxUnits) {
+        this(counter, maxUnits, counter.getSystem().isBalanced() ? 1 : counter.getSystem().getImbalance());
+    }
+
+    /**
+     * Constructs a BetRamp.
+     *
+     * @param counter  The counter whose count drives the bet.
+     * @param maxUnits The largest bet, in units of the base bet.
+     * @param pivot    The highest count at which the minimum bet is still placed.
+     */
+    public BetRamp(CardCounter counter, int maxUnits, int pivot) {
+        if (maxUnits < 1) {
+            throw new IllegalArgumentException("Bet spread must be at least 1.");
+        }
+        this.counter = counter;
+        this.maxUnits = maxUnits;
+        this.pivot = pivot;
+    }
+
+    /**
+     * Sizes the bet from the current count.
+     *
+     * @param baseBet The betting unit.
+     * @return The base bet times the number of units the count calls for.
+     */
+    @Override
+    public int nextBet(int baseBet) {
+        int units = (int) Math.floor(counter.getTrueCount()) - pivot + 1;
+        return baseBet * Math.max(1, Math.min(maxUnits, units));
+    }
+}
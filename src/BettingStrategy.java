@@ -0,0 +1,20 @@
+package src;
+
+/**
+ * Decides how much a player wagers at the start of each round.
+ * Consulted by {@link Player#placeBet(int)}.
+ *
+ * @author Kaden Godinez
+ */
+public interface BettingStrategy {
+    /** Always bets the amount asked for. */
+    BettingStrategy FLAT = baseBet -> baseBet;
+
+    /**
+     * Chooses the bet for the next round.
+     *
+     * @param baseBet The bet asked for, used as the betting unit.
+     * @return The amount to wager.
+     */
+    int nextBet(int baseBet);
+}
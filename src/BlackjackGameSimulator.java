@@ -1,19 +1,725 @@
 package src;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
 /**
  * The main class to simulate the Blackjack game.
- * Initializes the game and manages the game loop.
+ * Initializes the game and manages the game loop, or runs a headless simulation
+ * when started with {@code --simulate N}.
  *
  * @author Kaden Godinez
  */
 public class BlackjackGameSimulator {
+    /** Large enough that 3:2, 6:5, surrender and insurance all pay whole dollars. */
+    private static final int SIMULATION_BET = 10;
+    private static final int SIMULATION_SESSION_LENGTH = 100;
+    private static final int DEFAULT_DECKS = TableRules.DEFAULT.getDecks();
+    private static final double DEFAULT_PENETRATION = 0.75;
+    private static final int DEFAULT_BET_SPREAD = 8;
+
     /**
      * The entry point of the Blackjack game.
      *
-     * @param args Command-line arguments (not used).
+     * @param args Command-line arguments. {@code --simulate N} runs N rounds headlessly
+     *             and {@code --dealer-odds D} prints exact dealer outcome probabilities for a
+     *             D-deck shoe instead of starting the interactive game, and
+     *             {@code --side-bet-odds D} prints the exact odds and house edge of every side bet.
+     *             {@code --server PORT} hosts games over TCP and {@code --load-test HOST PORT CLIENTS ROUNDS}
+     *             drives a server with many simulated clients. {@code --read-history FILE} summarizes a recorded hand
+     *             history. {@code --sweep SHOES} compares variants of the rules and strategy over the same shoes.
+     *             {@code --optimize TRIALS} derives a strategy chart for a rule set by simulation.
+     *             {@code --rules FILE} starts the interactive game under
+     *             the table rules in a properties file, {@code --save FILE} saves it after every round
+     *             and resumes it from that file, and {@code --csm K} deals it from a continuous shuffling machine
+     *             keeping K cards staged. In every mode the engine's metrics are published over JMX
+     *             and to flight recordings (see {@link EngineMetrics}).
      */
     public static void main(String[] args) {
-        Game game = new Game();
+        EngineMetrics.register();
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            runSimulation(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--dealer-odds")) {
+            printDealerOdds(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--side-bet-odds")) {
+            printSideBetOdds(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--server")) {
+            runServer(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--load-test")) {
+            runLoadTest(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--read-history")) {
+            readHistory(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--sweep")) {
+            runSweep(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--optimize")) {
+            runOptimizer(args);
+            return;
+        }
+
+        TableRules rules = Game.CLASSIC_RULES;
+        String savePath = null;
+        int staged = -1;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option + ".");
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--rules":
+                        rules = loadRules(value);
+                        break;
+                    case "--save":
+                        savePath = value;
+                        break;
+                    case "--csm":
+                        staged = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: [--rules <file>] [--save <file>] [--csm <staged cards>]");
+            return;
+        }
+        Game game = new Game(rules);
+        if (staged >= 0) {
+            try {
+                game.setContinuousShuffler(staged);
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
+                return;
+            }
+        }
+        if (savePath != null) {
+            String gameKey = "game " + rules + (staged < 0 ? "" : ", csm " + staged);
+            game.setCheckpoint(new Checkpoint(Path.of(savePath), gameKey));
+        }
         game.startGame();
     }
-}
\ No newline at end of file
+
+    /**
+     * Parses the simulation options and runs a headless simulation.
+     * Accepts {@code --simulate N [--rules F] [--decks D] [--penetration P] [--seed S] [--seats N] [--threads T]
+     * [--strategy S] [--count C] [--spread N] [--history F] [--precision P] [--checkpoint F] [--shufflers N]
+     * [--csm K]}. A deck count given with {@code --decks} overrides the one in the rules file. {@code --count} counts
+     * the shoe with the named system and spreads bets from 1 to N units. {@code --history} appends every hand played
+     * to a binary hand-history file.
+     * {@code --precision} reports progress as the run goes and stops it once the 95% confidence interval of the house
+     * edge is within the given number of percentage points, treating the round count as a maximum.
+     * {@code --checkpoint} saves the run to a file after every epoch and, when the file already exists, resumes the
+     * run saved in it. {@code --shufflers} shuffles the shoes ahead of time on N background threads
+     * (see {@link ShoePipeline}), without changing the results. {@code --csm} deals from a continuous shuffling
+     * machine that keeps K cards staged out of reach of returned cards (see {@link ContinuousShuffler}) in place of
+     * a shoe; it cannot be combined with {@code --shufflers}.
+     * The seed and thread count are always reported; together they replay a run exactly.
+     *
+     * @param args Command-line arguments, starting with {@code --simulate}.
+     */
+    private static void runSimulation(String[] args) {
+        ParallelSimulator simulator;
+        RandomStreams streams;
+        long rounds;
+        TableRules rules = TableRules.DEFAULT;
+        int decks = 0;
+        double penetration = DEFAULT_PENETRATION;
+        long seed = RandomStreams.randomSeed();
+        int threads = Runtime.getRuntime().availableProcessors();
+        int seats = 1;
+        String strategyName = "basic";
+        CountingSystem counting = null;
+        int spread = DEFAULT_BET_SPREAD;
+        String historyPath = null;
+        double precision = 0;
+        String checkpointPath = null;
+        int shufflers = 0;
+        int staged = -1;
+        try {
+            if (args.length < 2) {
+                throw new IllegalArgumentException("Missing round count.");
+            }
+            rounds = Long.parseLong(args[1]);
+            for (int i = 2; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option + ".");
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--rules":
+                        rules = loadRules(value);
+                        break;
+                    case "--decks":
+                        decks = Integer.parseInt(value);
+                        break;
+                    case "--penetration":
+                        penetration = Double.parseDouble(value);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--seats":
+                        seats = Integer.parseInt(value);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "--strategy":
+                        strategyName = value;
+                        break;
+                    case "--count":
+                        counting = CountingSystem.forName(value);
+                        break;
+                    case "--spread":
+                        spread = Integer.parseInt(value);
+                        break;
+                    case "--history":
+                        historyPath = value;
+                        break;
+                    case "--precision":
+                        precision = Double.parseDouble(value);
+                        break;
+                    case "--checkpoint":
+                        checkpointPath = value;
+                        break;
+                    case "--shufflers":
+                        shufflers = Integer.parseInt(value);
+                        break;
+                    case "--csm":
+                        staged = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            }
+            if (staged >= 0 && shufflers > 0) {
+                throw new IllegalArgumentException("--csm deals no shoes, so it cannot use --shufflers.");
+            }
+            if (decks != 0) {
+                rules = rules.withDecks(decks);
+            }
+            streams = new RandomStreams(seed);
+            simulator = new ParallelSimulator(rules, penetration, SIMULATION_BET, SIMULATION_SESSION_LENGTH,
+                    seats, threads, parseStrategy(strategyName, rules));
+            simulator.setShufflers(shufflers);
+            if (staged >= 0) {
+                simulator.setContinuousShuffler(staged);
+            }
+            if (precision > 0) {
+                simulator.setTargetPrecision(precision / 100);
+                simulator.setProgressListener(stats -> System.out.printf("%d rounds: house edge %.4f%% +/- %.4f%%%n",
+                        stats.getEdge().getCount(), stats.getEdge().getHouseEdge() * 100,
+                        stats.getEdge().getConfidenceHalfWidth() * 100));
+            }
+            if (counting != null) {
+                if (spread < 1) {
+                    throw new IllegalArgumentException("Bet spread must be at least 1.");
+                }
+                simulator.setCounting(counting, spread);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: --simulate <rounds> [--rules <file>] [--decks <1-8>] [--penetration <0-1>]"
+                    + " [--seed <n>] [--seats <1-7>] [--threads <n>] [--strategy basic|chart:<file>|threshold:<total>]"
+                    + " [--count hilo|hiopt1|omega2|zen|ko|tags:<t2,...,tA>] [--spread <n>] [--history <file>]"
+                    + " [--precision <percent>] [--checkpoint <file>] [--shufflers <n>] [--csm <staged cards>]");
+            return;
+        }
+
+        System.out.println("Rules: " + rules);
+        if (counting != null) {
+            System.out.println("Counting: " + counting + ", bet spread 1-" + spread);
+        }
+        if (staged >= 0) {
+            System.out.println("Continuous shuffler: " + staged + " cards staged");
+        }
+        System.out.println("Seed: " + seed + ", threads: " + threads);
+        // Everything that must match for a checkpoint to be resumed; the round count and precision may change
+        String runKey = "simulate " + rules + ", penetration " + penetration + ", seats " + seats
+                + ", threads " + threads + ", strategy " + strategyName
+                + (counting == null ? "" : ", count " + counting + " 1-" + spread)
+                + (staged < 0 ? "" : ", csm " + staged) + ", seed " + seed;
+        try (HandHistoryWriter history = historyPath == null ? null : new HandHistoryWriter(Path.of(historyPath), seed);
+             Checkpoint checkpoint = checkpointPath == null ? null : new Checkpoint(Path.of(checkpointPath), runKey)) {
+            simulator.setHandHistory(history);
+            simulator.setCheckpoint(checkpoint);
+            simulator.run(rounds, streams).printReport();
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            System.out.println("Simulation failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Evaluates a grid of variants over the same shoes and prints a table of the results.
+     * Accepts {@code --sweep SHOES [--rules F] [--penetration P] [--seed S] [--seats N] [--threads T]
+     * [--vary KEY=V1,V2,...]...}. Each {@code --vary} adds an axis to the grid, and every combination of values is
+     * a variant; the first value of every axis makes up the baseline. A key is a rule from a rules file,
+     * {@code strategy}, {@code count} (a counting system name, or {@code none}) or {@code spread}.
+     *
+     * @param args Command-line arguments, starting with {@code --sweep}.
+     */
+    private static void runSweep(String[] args) {
+        SweepRunner runner;
+        long shoes;
+        double penetration = DEFAULT_PENETRATION;
+        long seed = RandomStreams.randomSeed();
+        int threads = Runtime.getRuntime().availableProcessors();
+        int seats = 1;
+        TableRules rules = TableRules.DEFAULT;
+        List<String> keys = new ArrayList<>();
+        List<String[]> values = new ArrayList<>();
+        SweepVariant[] variants;
+        try {
+            if (args.length < 2) {
+                throw new IllegalArgumentException("Missing shoe count.");
+            }
+            shoes = Long.parseLong(args[1]);
+            for (int i = 2; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option + ".");
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--rules":
+                        rules = loadRules(value);
+                        break;
+                    case "--penetration":
+                        penetration = Double.parseDouble(value);
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--seats":
+                        seats = Integer.parseInt(value);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "--vary":
+                        int equals = value.indexOf('=');
+                        if (equals < 1) {
+                            throw new IllegalArgumentException("--vary must look like key=value1,value2.");
+                        }
+                        keys.add(value.substring(0, equals));
+                        values.add(value.substring(equals + 1).split(","));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            }
+            variants = buildGrid(rules, keys, values);
+            runner = new SweepRunner(penetration, SIMULATION_BET, seats, threads, variants);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: --sweep <shoes> [--rules <file>] [--penetration <0-1>] [--seed <n>]"
+                    + " [--seats <1-7>] [--threads <n>] [--vary <key>=<value>,<value>,...]...");
+            return;
+        }
+
+        System.out.println("Base rules: " + rules);
+        System.out.println("Variants: " + variants.length + ", shoes: " + shoes + ", seed: " + seed
+                + ", threads: " + threads);
+        SweepResult.printTable(runner.run(shoes, seed));
+    }
+
+    /**
+     * Builds every combination of the values of the sweep's axes. The first axis changes slowest.
+     *
+     * @param base   The rules every variant starts from.
+     * @param keys   The name of each axis.
+     * @param values The values of each axis.
+     * @return The variants, the baseline (the first value of every axis) first.
+     */
+    private static SweepVariant[] buildGrid(TableRules base, List<String> keys, List<String[]> values) {
+        int count = 1;
+        for (String[] axis : values) {
+            count = Math.multiplyExact(count, axis.length);
+        }
+        SweepVariant[] variants = new SweepVariant[count];
+        for (int index = 0; index < count; index++) {
+            Properties changes = new Properties();
+            String strategyName = "basic";
+            CountingSystem counting = null;
+            int spread = DEFAULT_BET_SPREAD;
+            String[] chosen = new String[keys.size()];
+            int rest = index;
+            for (int a = keys.size() - 1; a >= 0; a--) {
+                chosen[a] = values.get(a)[rest % values.get(a).length].trim();
+                rest /= values.get(a).length;
+            }
+            StringBuilder name = new StringBuilder();
+            for (int a = 0; a < keys.size(); a++) {
+                String key = keys.get(a);
+                String value = chosen[a];
+                name.append(a == 0 ? "" : " ").append(key).append('=').append(value);
+                switch (key) {
+                    case "strategy":
+                        strategyName = value;
+                        break;
+                    case "count":
+                        counting = value.equals("none") ? null : CountingSystem.forName(value);
+                        break;
+                    case "spread":
+                        spread = Integer.parseInt(value);
+                        break;
+                    default:
+                        changes.setProperty(key, value);
+                        break;
+                }
+            }
+            TableRules rules = base.with(changes);
+            variants[index] = new SweepVariant(keys.isEmpty() ? "baseline" : name.toString(), rules,
+                    parseStrategy(strategyName, rules), counting, spread);
+        }
+        return variants;
+    }
+
+    /**
+     * Parses the optimizer options, derives a strategy chart and prints or saves it.
+     * Accepts {@code --optimize TRIALS [--rules F] [--start basic|FILE] [--seed S] [--threads T] [--output F]}.
+     * TRIALS is the most trials any one cell plays. The search starts from the basic-strategy chart for the rules,
+     * or from a chart file, and the result can be played with {@code --strategy chart:FILE}.
+     *
+     * @param args Command-line arguments, starting with {@code --optimize}.
+     */
+    private static void runOptimizer(String[] args) {
+        StrategyOptimizer optimizer;
+        long maxTrials;
+        TableRules rules = TableRules.DEFAULT;
+        String startName = "basic";
+        long seed = RandomStreams.randomSeed();
+        int threads = Runtime.getRuntime().availableProcessors();
+        String outputPath = null;
+        try {
+            if (args.length < 2) {
+                throw new IllegalArgumentException("Missing trial count.");
+            }
+            maxTrials = Long.parseLong(args[1]);
+            for (int i = 2; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option + ".");
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--rules":
+                        rules = loadRules(value);
+                        break;
+                    case "--start":
+                        startName = value;
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "--output":
+                        outputPath = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            }
+            optimizer = new StrategyOptimizer(rules, threads, maxTrials);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: --optimize <trials> [--rules <file>] [--start basic|<file>] [--seed <n>]"
+                    + " [--threads <n>] [--output <file>]");
+            return;
+        }
+
+        System.out.println("Rules: " + rules);
+        System.out.println("Seed: " + seed + ", threads: " + threads + ", at most " + maxTrials + " trials per cell");
+        try {
+            StrategyChart start = startName.equals("basic") ? StrategyChart.basic(rules) : loadChart(startName);
+            optimizer.setProgressListener(row -> System.out.printf("%-8s %s  %,d trials%s%n", row.getLabel(),
+                    row.getSymbols(), row.getTrials(),
+                    row.getUnresolved() == 0 ? "" : ", " + row.getUnresolved() + " at the limit"));
+            long begin = System.nanoTime();
+            StrategyChart chart = optimizer.optimize(start, seed);
+            System.out.printf("%,d trials in %.1f s, %d cells at the limit, %d cells changed from the start%n",
+                    optimizer.getTrials(), (System.nanoTime() - begin) / 1e9, optimizer.getUnresolvedCells(),
+                    chart.countDifferences(start));
+            if (outputPath == null) {
+                System.out.print(chart);
+            } else {
+                chart.save(Path.of(outputPath));
+                System.out.println("Chart saved to " + outputPath);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Optimization failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Summarizes a hand-history file and replays its first hands as text.
+     * Accepts {@code --read-history FILE [--show N]}.
+     *
+     * @param args Command-line arguments, starting with {@code --read-history}.
+     */
+    private static void readHistory(String[] args) {
+        int show = 0;
+        try {
+            if (args.length < 2) {
+                throw new IllegalArgumentException("Missing history file.");
+            }
+            if (args.length > 2) {
+                if (args.length < 4 || !args[2].equals("--show")) {
+                    throw new IllegalArgumentException("Unknown option: " + args[2]);
+                }
+                show = Integer.parseInt(args[3]);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: --read-history <file> [--show <hands>]");
+            return;
+        }
+
+        try (HandHistoryReader reader = new HandHistoryReader(Path.of(args[1]))) {
+            long hands = reader.getRecordCount();
+            long wagered = 0;
+            long returned = 0;
+            long naturals = 0;
+            long doubles = 0;
+            long splits = 0;
+            long surrenders = 0;
+            for (long i = 0; i < hands; i++) {
+                HandRecord record = reader.get(i);
+                if (i < show) {
+                    System.out.println(record);
+                }
+                wagered += record.getBet();
+                returned += record.getPayout();
+                if (record.hasFlag(HandRecord.NATURAL)) {
+                    naturals++;
+                }
+                if (record.hasFlag(HandRecord.SURRENDERED)) {
+                    surrenders++;
+                }
+                if (record.getHandIndex() > 0) {
+                    splits++;
+                }
+                // A double is always a hand's last decision
+                int decisions = record.getDecisionCount();
+                if (decisions > 0 && record.getDecision(decisions - 1) == Action.DOUBLE) {
+                    doubles++;
+                }
+            }
+            System.out.println("Hands: " + hands);
+            System.out.println("Wagered: $" + wagered + ", returned: $" + returned + ", net: $" + (returned - wagered));
+            if (wagered > 0) {
+                System.out.printf("Return on amount wagered: %.4f%%%n", 100.0 * (returned - wagered) / wagered);
+            }
+            System.out.println("Blackjacks: " + naturals + ", doubles: " + doubles + ", split hands: " + splits
+                    + ", surrenders: " + surrenders);
+        } catch (IOException e) {
+            System.out.println("Cannot read hand history " + args[1] + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Hosts games over TCP until the process is stopped.
+     * Accepts {@code --server PORT [--rules F]}.
+     *
+     * @param args Command-line arguments, starting with {@code --server}.
+     */
+    private static void runServer(String[] args) {
+        int port;
+        TableRules rules = Game.CLASSIC_RULES;
+        try {
+            if (args.length < 2) {
+                throw new IllegalArgumentException("Missing port.");
+            }
+            port = Integer.parseInt(args[1]);
+            if (args.length > 2) {
+                if (args.length < 4 || !args[2].equals("--rules")) {
+                    throw new IllegalArgumentException("Unknown option: " + args[2]);
+                }
+                rules = loadRules(args[3]);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: --server <port> [--rules <file>]");
+            return;
+        }
+
+        try (GameServer server = new GameServer(port, rules)) {
+            System.out.println("Blackjack server listening on port " + server.getPort() + ".");
+            server.serve();
+        } catch (IOException e) {
+            System.out.println("Server error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Connects many simulated clients to a running server and reports the throughput.
+     * Accepts {@code --load-test HOST PORT CLIENTS ROUNDS}.
+     *
+     * @param args Command-line arguments, starting with {@code --load-test}.
+     */
+    private static void runLoadTest(String[] args) {
+        int port;
+        int clients;
+        int rounds;
+        try {
+            if (args.length < 5) {
+                throw new IllegalArgumentException("Missing arguments.");
+            }
+            port = Integer.parseInt(args[2]);
+            clients = Integer.parseInt(args[3]);
+            rounds = Integer.parseInt(args[4]);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: --load-test <host> <port> <clients> <rounds>");
+            return;
+        }
+
+        new LoadGenerator(args[1], port).run(clients, rounds);
+    }
+
+    /**
+     * Prints the exact probability of each dealer result for every upcard dealt from a full shoe.
+     * Accepts {@code --dealer-odds D [--rules F]}; the rules decide whether the dealer hits soft 17.
+     *
+     * @param args Command-line arguments, starting with {@code --dealer-odds}.
+     */
+    private static void printDealerOdds(String[] args) {
+        int decks;
+        TableRules rules = TableRules.DEFAULT;
+        try {
+            decks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DECKS;
+            if (decks < 1 || decks > Shoe.MAX_DECKS) {
+                throw new IllegalArgumentException("Deck count must be between 1 and " + Shoe.MAX_DECKS + ".");
+            }
+            if (args.length > 2) {
+                if (args.length != 4 || !args[2].equals("--rules")) {
+                    throw new IllegalArgumentException("Unknown option: " + args[2]);
+                }
+                rules = loadRules(args[3]);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: --dealer-odds <decks> [--rules <file>]");
+            return;
+        }
+
+        DealerOutcomeAnalyzer analyzer = new DealerOutcomeAnalyzer(rules);
+        System.out.println("Dealer outcomes, " + decks + " deck(s), dealer "
+                + (rules.isDealerHitsSoft17() ? "hits" : "stands on") + " soft 17:");
+        System.out.println("Up      17      18      19      20      21      BJ    Bust");
+        for (int upcard = 2; upcard <= 11; upcard++) {
+            int[] composition = DealerOutcomeAnalyzer.fullComposition(decks);
+            composition[upcard]--;
+            double[] outcomes = analyzer.dealerOutcomes(composition, upcard);
+            StringBuilder row = new StringBuilder(String.format("%-3s", upcard == 11 ? "A" : upcard));
+            for (double p : outcomes) {
+                row.append(String.format("%8.4f", p));
+            }
+            System.out.println(row);
+        }
+    }
+
+    /**
+     * Prints the exact probability of every side bet outcome and each bet's house edge for a full shoe.
+     * Accepts {@code --side-bet-odds [DECKS]}.
+     *
+     * @param args Command-line arguments, starting with {@code --side-bet-odds}.
+     */
+    private static void printSideBetOdds(String[] args) {
+        int decks;
+        try {
+            decks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DECKS;
+            if (decks < 1 || decks > Shoe.MAX_DECKS) {
+                throw new IllegalArgumentException("Deck count must be between 1 and " + Shoe.MAX_DECKS + ".");
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: --side-bet-odds <decks>");
+            return;
+        }
+
+        int[] shoe = SideBet.fullShoe(decks);
+        for (SideBet bet : SideBet.values()) {
+            System.out.println(bet.getName() + ", " + decks + " deck(s):");
+            double[] probabilities = bet.outcomeProbabilities(shoe);
+            for (int outcome = bet.getOutcomeCount(); outcome >= 1; outcome--) {
+                System.out.printf("  %-44s %5d to 1  %9.6f%%%n", bet.getOutcomeName(outcome), bet.getOdds(outcome),
+                        probabilities[outcome] * 100);
+            }
+            System.out.printf("  House edge: %.4f%%%n", bet.houseEdge(shoe) * 100);
+        }
+    }
+
+    /**
+     * Loads table rules from a properties file named on the command line.
+     *
+     * @param path The file path.
+     * @return The loaded rules.
+     * @throws IllegalArgumentException If the file cannot be read or contains an invalid rule.
+     */
+    private static TableRules loadRules(String path) {
+        try {
+            return TableRules.load(Path.of(path));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read rules file " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads a strategy chart from a file named on the command line.
+     *
+     * @param path The file path.
+     * @return The loaded chart.
+     * @throws IllegalArgumentException If the file cannot be read or is not a valid chart.
+     */
+    private static StrategyChart loadChart(String path) {
+        try {
+            return StrategyChart.load(Path.of(path));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read chart file " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses a strategy name given on the command line.
+     * Accepts {@code basic} for the basic-strategy chart, {@code chart:FILE} for a chart saved by the optimizer
+     * or {@code threshold:N} to hit below N.
+     *
+     * @param name  The strategy name.
+     * @param rules The rules the strategy plays under.
+     * @return The corresponding PlayerStrategy.
+     */
+    private static PlayerStrategy parseStrategy(String name, TableRules rules) {
+        if (name.equals("basic")) {
+            return new BasicStrategy(rules);
+        } else if (name.startsWith("chart:")) {
+            return new BasicStrategy(loadChart(name.substring("chart:".length())), rules);
+        } else if (name.startsWith("threshold:")) {
+            return new ThresholdStrategy(Integer.parseInt(name.substring("threshold:".length())));
+        }
+        throw new IllegalArgumentException("Unknown strategy: " + name);
+    }
+}
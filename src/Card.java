@@ -3,27 +3,105 @@ package src;
 /**
  * Represents a single playing card in the Blackjack game.
  * Each card has a suit, rank, and associated point value.
+ * <p>
+ * Cards are encoded as a compact integer code ({@code suit * 13 + rank}, 0-51) so that decks and hands
+ * can store plain byte arrays. There is exactly one shared Card instance per code, obtained with
+ * {@link #of(int)}, so no Card objects are allocated while dealing.
  *
  * @author kadengodinez
  */
 public class Card {
-    private String suit;
-    private String rank;
-    private int value;
+    /** The number of distinct cards in a standard deck. */
+    public static final int CARDS_PER_DECK = 52;
+    /** The number of ranks in each suit. */
+    public static final int RANKS_PER_SUIT = 13;
+    /** The rank index of an Ace. */
+    public static final int ACE = 0;
+
+    private static final String[] SUITS = {"Hearts", "Diamonds", "Clubs", "Spades"};
+    private static final String[] RANKS = {
+            "Ace", "2", "3", "4", "5", "6", "7",
+            "8", "9", "10", "Jack", "Queen", "King"
+    };
+    private static final byte[] VALUES = new byte[CARDS_PER_DECK];
+    private static final Card[] CARDS = new Card[CARDS_PER_DECK];
+
+    static {
+        for (int code = 0; code < CARDS_PER_DECK; code++) {
+            CARDS[code] = new Card(code);
+            VALUES[code] = (byte) CARDS[code].value;
+        }
+    }
+
+    private final String suit;
+    private final String rank;
+    private final int value;
+    private final int code;
 
     /**
-     * Constructs a Card with the specified suit and rank.
+     * Constructs the Card for the given code.
      * Determines the card's point value based on its rank.
      *
-     * @param suit The suit of the card (e.g., Hearts, Diamonds, Clubs, Spades).
-     * @param rank The rank of the card (e.g., Ace, 2, ..., King).
+     * @param code The card code, 0-51.
      */
-    public Card(String suit, String rank) {
-        this.suit = suit;
-        this.rank = rank;
+    private Card(int code) {
+        this.code = code;
+        this.suit = SUITS[code / RANKS_PER_SUIT];
+        this.rank = RANKS[code % RANKS_PER_SUIT];
         this.value = determineValue(rank);
     }
 
+    /**
+     * Retrieves the shared Card instance for the given code.
+     *
+     * @param code The card code, 0-51.
+     * @return The Card with that code.
+     */
+    public static Card of(int code) {
+        return CARDS[code];
+    }
+
+    /**
+     * Looks up the point value of a card code without touching the Card object.
+     * Aces are worth 11.
+     *
+     * @param code The card code, 0-51.
+     * @return The point value of the card.
+     */
+    public static int valueOf(int code) {
+        return VALUES[code];
+    }
+
+    /**
+     * Checks whether a card code is an Ace.
+     *
+     * @param code The card code, 0-51.
+     * @return True if the card is an Ace.
+     */
+    public static boolean isAce(int code) {
+        return VALUES[code] == 11;
+    }
+
+    /**
+     * Looks up the rank index of a card code: 0 for an Ace, 1-9 for 2 through 10, then 10-12 for Jack, Queen, King.
+     *
+     * @param code The card code, 0-51.
+     * @return The rank index.
+     */
+    public static int rankOf(int code) {
+        return code % RANKS_PER_SUIT;
+    }
+
+    /**
+     * Looks up the suit index of a card code: 0-3 for Hearts, Diamonds, Clubs and Spades.
+     *
+     * @param code The card code, 0-51.
+     * @return The suit index.
+     */
+    public static int suitOf(int code) {
+        return code / RANKS_PER_SUIT;
+    }
+
     /**
      * Determines the point value of the card based on its rank.
      *
@@ -87,6 +165,25 @@ public class Card {
         return value;
     }
 
+    /**
+     * Retrieves the compact code of the card.
+     *
+     * @return The card code, 0-51.
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Retrieves a short name for the card: the rank's number or initial followed by the suit's initial,
+     * such as "10H" or "KS".
+     *
+     * @return The short name.
+     */
+    public String getShortName() {
+        return (rank.length() > 2 ? rank.substring(0, 1) : rank) + suit.charAt(0);
+    }
+
     /**
      * Returns a string representation of the card in the format "Rank of Suit".
      *
@@ -96,4 +193,4 @@ public class Card {
     public String toString() {
         return rank + " of " + suit;
     }
-}
\ No newline at end of file
+}
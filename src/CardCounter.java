@@ -0,0 +1,96 @@
+package src;
+
+/**
+ * Keeps the running count of a shoe under a {@link CountingSystem}.
+ * Attached to a {@link Shoe} with {@link Shoe#setCounter(CardCounter)}, the counter sees every card as it is
+ * dealt and is reset when the shoe is shuffled, so each update is a single table lookup and addition and
+ * the count is never recomputed from the dealt cards.
+ * An unbalanced system starts each shoe from the customary initial running count of minus its imbalance
+ * for every deck after the first.
+ * <p>
+ * Cards are counted when they leave the shoe, including the dealer's hole card. Every card dealt in a round
+ * is turned over by the time the next bets are placed, so the count used for betting is the one a player at
+ * the table would have.
+ *
+ * @author Kaden Godinez
+ */
+public class CardCounter {
+    private final CountingSystem system;
+    private final int totalCards;
+    private final int initialCount;
+    private int runningCount;
+    private int cardsSeen;
+
+    /**
+     * Constructs a CardCounter for a shoe of the given size.
+     *
+     * @param system The counting system.
+     * @param decks  The number of decks in the shoe being counted.
+     */
+    public CardCounter(CountingSystem system, int decks) {
+        this.system = system;
+        this.totalCards = decks * Card.CARDS_PER_DECK;
+        this.initialCount = -system.getImbalance() * (decks - 1);
+        this.runningCount = initialCount;
+    }
+
+    /**
+     * Adds a dealt card to the count.
+     *
+     * @param code The code of the dealt card.
+     */
+    public void count(int code) {
+        runningCount += system.tag(code);
+        cardsSeen++;
+    }
+
+    /**
+     * Starts the count over for a freshly shuffled shoe.
+     */
+    public void reset() {
+        runningCount = initialCount;
+        cardsSeen = 0;
+    }
+
+    /**
+     * Retrieves the counting system.
+     *
+     * @return The counting system.
+     */
+    public CountingSystem getSystem() {
+        return system;
+    }
+
+    /**
+     * Retrieves the running count.
+     *
+     * @return The initial count plus the tags of every card dealt since the last shuffle.
+     */
+    public int getRunningCount() {
+        return runningCount;
+    }
+
+    /**
+     * Retrieves the number of cards counted since the last shuffle.
+     *
+     * @return The cards seen.
+     */
+    public int getCardsSeen() {
+        return cardsSeen;
+    }
+
+    /**
+     * Calculates the true count: the running count per deck remaining in the shoe.
+     * An unbalanced system's running count is used as it is.
+     *
+     * @return The true count.
+     */
+    public double getTrueCount() {
+        if (!system.isBalanced()) {
+            return runningCount;
+        }
+        int remaining = totalCards - cardsSeen;
+        // Never divide by less than half a deck
+        return runningCount * (double) Card.CARDS_PER_DECK / Math.max(remaining, Card.CARDS_PER_DECK / 2);
+    }
+}
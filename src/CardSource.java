@@ -0,0 +1,101 @@
+package src;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Where a {@link Table} gets its cards: a discrete {@link Shoe} (or single {@link Deck}) dealt down to a cut card
+ * and then reshuffled, or a {@link ContinuousShuffler} that takes each round's cards back as soon as it is over.
+ * Cards are dealt as compact codes (see {@link Card}).
+ *
+ * @author Kaden Godinez
+ */
+public interface CardSource {
+    /**
+     * Deals the next card as a card code.
+     *
+     * @return The code of the card, or -1 if no card is left.
+     */
+    int dealCode();
+
+    /**
+     * Deals (removes and returns) the next card.
+     *
+     * @return The next Card, or null if no card is left.
+     */
+    default Card dealCard() {
+        int code = dealCode();
+        return code < 0 ? null : Card.of(code);
+    }
+
+    /**
+     * Tells the card source that the round is over and every card dealt in it has been collected.
+     * A shoe keeps its discards until the next shuffle, so by default nothing happens.
+     */
+    default void roundFinished() {
+    }
+
+    /**
+     * Checks whether the cards should be reshuffled before the next round.
+     *
+     * @return True if a reshuffle is due.
+     */
+    boolean needsReshuffle();
+
+    /**
+     * Gathers every card back in and shuffles them all.
+     */
+    void shuffle();
+
+    /**
+     * Retrieves the number of cards that can still be dealt.
+     *
+     * @return The count of remaining cards.
+     */
+    int remainingCards();
+
+    /**
+     * Retrieves the number of decks the cards make up.
+     *
+     * @return The deck count.
+     */
+    int getDecks();
+
+    /**
+     * Retrieves the number of full shuffles so far, which numbers the shoes dealt.
+     *
+     * @return The shuffle count.
+     */
+    int getShuffleCount();
+
+    /**
+     * Sets the listener that is told about reshuffles and attempts to deal when no card is left.
+     *
+     * @param listener The listener to report to.
+     */
+    void setEventListener(GameEventListener listener);
+
+    /**
+     * Attaches a counter that sees every card dealt and is reset whenever dealt cards go back in.
+     *
+     * @param counter The counter, or null to stop counting.
+     */
+    void setCounter(CardCounter counter);
+
+    /**
+     * Writes the card source's state between rounds for a checkpoint.
+     *
+     * @param out The checkpoint being written.
+     * @throws IOException If the state cannot be written.
+     */
+    void writeState(DataOutput out) throws IOException;
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)} to a card source with the same settings and seed.
+     *
+     * @param in The checkpoint being read.
+     * @throws IOException If the state cannot be read.
+     */
+    void readState(DataInput in) throws IOException;
+}
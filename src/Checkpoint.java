@@ -0,0 +1,176 @@
+package src;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A checkpoint file from which a long simulation run or a game in progress can be resumed.
+ * The state is captured in memory as compact binary data by the caller and written to disk on a background thread,
+ * so the run carries on while the file is written. Each write goes to a temporary file, which is forced to disk
+ * and then replaces the checkpoint, so a crash or power loss mid-write leaves the previous checkpoint intact.
+ * <p>
+ * A checkpoint begins with a key describing the run it belongs to, such as its seed and settings. Loading with a
+ * different key fails, so a checkpoint is never resumed under settings it was not written with.
+ *
+ * @author Kaden Godinez
+ */
+public class Checkpoint implements Closeable {
+    private static final int MAGIC = 0x424A434B;
+    private static final int VERSION = 3;
+
+    private final Path path;
+    private final String key;
+    private final ExecutorService writer;
+    private volatile IOException failure;
+
+    /**
+     * Writes the state of a run to a checkpoint.
+     */
+    @FunctionalInterface
+    public interface State {
+        /**
+         * Writes the state.
+         *
+         * @param out The checkpoint being written.
+         * @throws IOException If the state cannot be written.
+         */
+        void write(DataOutput out) throws IOException;
+    }
+
+    /**
+     * Constructs a Checkpoint.
+     *
+     * @param path The checkpoint file.
+     * @param key  A description of the run, which a loaded checkpoint must match.
+     */
+    public Checkpoint(Path path, String key) {
+        this.path = path;
+        this.key = key;
+        // A single writer thread that is not a daemon, so a pending write finishes even if the program is ending,
+        // but that stops when idle, so it never keeps the program alive
+        this.writer = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> new Thread(runnable, "checkpoint-writer"));
+    }
+
+    /**
+     * Reads the checkpoint, if one has been written.
+     *
+     * @return The saved state, positioned after the header, or null if there is no checkpoint file.
+     * @throws IOException If the file cannot be read or is not a checkpoint.
+     * @throws IllegalArgumentException If the checkpoint was written for a different run.
+     */
+    public DataInputStream load() throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(path)));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException(path + " is not a checkpoint.");
+        }
+        String saved = in.readUTF();
+        if (!saved.equals(key)) {
+            throw new IllegalArgumentException("Checkpoint " + path + " was written for a different run: " + saved);
+        }
+        return in;
+    }
+
+    /**
+     * Captures the state now and writes it to the checkpoint file in the background.
+     * A failure to write is reported by the next save or by {@link #close()}.
+     *
+     * @param state Writes the state to save.
+     * @throws IOException If the state cannot be captured or an earlier write failed.
+     */
+    public void save(State state) throws IOException {
+        checkFailure();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(key);
+        state.write(out);
+        out.flush();
+        byte[] snapshot = bytes.toByteArray();
+        writer.execute(() -> {
+            try {
+                Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+                write(temporary, snapshot);
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                failure = e;
+            }
+        });
+    }
+
+    /**
+     * Writes a file and forces it to disk, so that once it replaces the checkpoint it survives a power loss.
+     *
+     * @param file  The file to write.
+     * @param bytes The contents.
+     * @throws IOException If the file cannot be written.
+     */
+    private static void write(Path file, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Deletes the checkpoint once the run it belongs to has finished, after any pending write.
+     *
+     * @throws IOException If the file cannot be deleted.
+     */
+    public void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Throws the failure of an earlier background write, if any.
+     *
+     * @throws IOException The failure.
+     */
+    private void checkFailure() throws IOException {
+        IOException e = failure;
+        if (e != null) {
+            throw new IOException("Cannot write checkpoint " + path, e);
+        }
+    }
+
+    /**
+     * Waits for any pending write to finish.
+     *
+     * @throws IOException If a write failed or the wait was interrupted.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing checkpoint " + path, e);
+        }
+        checkFailure();
+    }
+}
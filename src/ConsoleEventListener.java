@@ -0,0 +1,189 @@
+package src;
+
+import java.io.PrintStream;
+
+/**
+ * A GameEventListener that renders events as the familiar console messages of the interactive game.
+ * Ace adjustments are only reported for the player, matching the dealer's quieter output.
+ * At a table with several seats, each player's messages are prefixed with the player's name,
+ * and once a player splits, the messages about each hand name the hand.
+ *
+ * @author Kaden Godinez
+ */
+public class ConsoleEventListener implements GameEventListener {
+    private final PrintStream out;
+
+    /**
+     * Constructs a ConsoleEventListener that prints to the given stream.
+     *
+     * @param out The stream to print to, usually {@code System.out}.
+     */
+    public ConsoleEventListener(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onReshuffle(int decks) {
+        out.println(decks == 1 ? "The deck has been shuffled." : "The shoe has been shuffled.");
+    }
+
+    @Override
+    public void onShoeEmpty(int decks) {
+        out.println(decks == 1 ? "The deck is empty. Dealing on from a fresh deck."
+                : "The shoe is empty. Dealing on from a fresh shoe.");
+    }
+
+    /**
+     * Reports cards drawn after the initial deal; the initial hands are shown by the game itself.
+     * After a split, the second card of each new hand is reported too.
+     */
+    @Override
+    public void onCardDealt(Participant participant, int handIndex, boolean split, Card card, int cardCount,
+                            int total) {
+        if (cardCount <= 2 && !split) {
+            return;
+        }
+        if (participant instanceof Dealer) {
+            out.println("Dealer draws: " + card);
+            out.println("Dealer's total: " + total);
+        } else {
+            out.println(hand(participant, handIndex, split) + "You drew: " + card);
+            out.println(hand(participant, handIndex, split) + "Total: " + total);
+        }
+    }
+
+    @Override
+    public void onAceAdjusted(Participant participant, int handIndex, boolean split, int total) {
+        if (!(participant instanceof Dealer)) {
+            out.println(hand(participant, handIndex, split) + "Adjusting Ace value from 11 to 1 to prevent bust.");
+        }
+    }
+
+    @Override
+    public void onDecision(Participant participant, int handIndex, boolean split, Action action) {
+        if (participant instanceof Dealer) {
+            if (action == Action.STAND) {
+                out.println("Dealer stays.");
+            }
+            return;
+        }
+        switch (action) {
+            case STAND:
+                out.println(hand(participant, handIndex, split) + "You chose to stay.");
+                break;
+            case DOUBLE:
+                out.println(hand(participant, handIndex, split) + "You doubled down.");
+                break;
+            case SPLIT:
+                out.println(hand(participant, handIndex, split) + "You split the pair.");
+                break;
+            case SURRENDER:
+                out.println(hand(participant, handIndex, split) + "You surrendered.");
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void onBust(Participant participant, int handIndex, boolean split, int total) {
+        out.println(participant instanceof Dealer ? "Dealer busted!"
+                : hand(participant, handIndex, split) + "You busted!");
+    }
+
+    @Override
+    public void onHoleCardRevealed(Dealer dealer, Card holeCard, Card upcard, int total) {
+        out.println("Dealer's hand:");
+        out.println(holeCard);
+        out.println(upcard);
+        out.println("Total: " + total);
+    }
+
+    @Override
+    public void onBetPlaced(Player player, int requested, int bet, int remainingMoney) {
+        if (requested > bet) {
+            out.println(seat(player) + "Insufficient funds. Placing maximum bet of $" + bet + ".");
+        }
+        out.println(seat(player) + "Current Bet: $" + bet + ", Remaining Money: $" + remainingMoney + ".");
+    }
+
+    @Override
+    public void onInsuranceTaken(Player player, int amount, int remainingMoney) {
+        out.println(seat(player) + "Insurance Bet: $" + amount + ", Remaining Money: $" + remainingMoney + ".");
+    }
+
+    @Override
+    public void onInsuranceSettled(Player player, int amount, int payout) {
+        if (payout > 0) {
+            out.println(seat(player) + "Dealer has Blackjack! Insurance pays $" + (payout - amount) + ".");
+        } else {
+            out.println(seat(player) + "Dealer does not have Blackjack. You lose your $" + amount + " insurance bet.");
+        }
+    }
+
+    @Override
+    public void onSideBetSettled(Player player, SideBet bet, int outcome, int amount, int payout) {
+        if (payout > 0) {
+            out.println(seat(player) + bet.getName() + ": " + bet.getOutcomeName(outcome) + "! Pays $"
+                    + (payout - amount) + ".");
+        } else {
+            out.println(seat(player) + bet.getName() + ": no win. You lose your $" + amount + " side bet.");
+        }
+    }
+
+    @Override
+    public void onRoundSettled(Player player, int playerTotal, int dealerTotal, int bet, int payout) {
+        if (playerTotal > 21) {
+            out.println(seat(player) + "You lose this round.");
+            return;
+        }
+        if (payout > 0 && payout < bet) {
+            out.println(seat(player) + "You surrendered. $" + payout + " of your bet is returned.");
+            return;
+        }
+        out.println("\n--- Determining Winner ---");
+        out.println(seat(player) + "Your total: " + playerTotal);
+        out.println("Dealer's total: " + dealerTotal);
+        if (payout > bet) {
+            if (payout > 2 * bet) {
+                out.println(seat(player) + "Blackjack! You win $" + (payout - bet) + ".");
+            } else if (dealerTotal > 21) {
+                out.println(seat(player) + "Dealer busted! You win $" + (payout - bet) + ".");
+            } else {
+                out.println(seat(player) + "You win! You gain $" + (payout - bet) + ".");
+            }
+        } else if (payout == bet) {
+            out.println(seat(player) + "It's a tie! Your bet is returned.");
+        } else {
+            out.println(seat(player) + "Dealer wins! You lose $" + bet + ".");
+        }
+    }
+
+    @Override
+    public void onPayout(Player player, int amount, int balance) {
+        out.println(seat(player) + "Added winnings: $" + amount + ", New Money Total: $" + balance + ".");
+    }
+
+    /**
+     * Builds the prefix that identifies a player's messages at a table with several seats.
+     *
+     * @param participant The participant the message is about.
+     * @return The player's name and a colon, or an empty string for an unnamed player.
+     */
+    private static String seat(Participant participant) {
+        String name = participant instanceof Player ? ((Player) participant).getName() : null;
+        return name == null ? "" : name + ": ";
+    }
+
+    /**
+     * Builds the prefix that identifies a message about one of a player's hands.
+     *
+     * @param participant The participant the message is about.
+     * @param handIndex   The index of the hand, as captured with the event.
+     * @param split       Whether the participant had split when the event happened.
+     * @return The seat prefix, followed by the hand number once the player has split.
+     */
+    private static String hand(Participant participant, int handIndex, boolean split) {
+        return split ? seat(participant) + "Hand " + (handIndex + 1) + ": " : seat(participant);
+    }
+}
@@ -0,0 +1,131 @@
+package src;
+
+import java.io.PrintStream;
+import java.util.Scanner;
+
+/**
+ * A PlayerStrategy that asks the person at the console (or at the other end of a connection) what to do.
+ *
+ * @author Kaden Godinez
+ */
+public class ConsoleStrategy implements PlayerStrategy {
+    private final Scanner scanner;
+    private final PrintStream out;
+
+    /**
+     * Constructs a ConsoleStrategy that reads decisions from the given Scanner and prompts on {@code System.out}.
+     *
+     * @param scanner The Scanner object for user input.
+     */
+    public ConsoleStrategy(Scanner scanner) {
+        this(scanner, System.out);
+    }
+
+    /**
+     * Constructs a ConsoleStrategy that reads decisions from the given Scanner and prompts on the given stream.
+     *
+     * @param scanner The Scanner object for user input.
+     * @param out     The stream prompts are written to.
+     */
+    public ConsoleStrategy(Scanner scanner, PrintStream out) {
+        this.scanner = scanner;
+        this.out = out;
+    }
+
+    /**
+     * Prompts the player to choose one of the allowed actions.
+     * Continues to prompt until a valid input is received: 'h' to hit or 's' to stay,
+     * plus 'd' to double down, 'p' to split or 'r' to surrender when those are allowed.
+     *
+     * @param hand           The player's current hand.
+     * @param dealerUpcard   The code of the dealer's face-up card.
+     * @param allowedActions The actions open to the player.
+     * @return The player's decision.
+     */
+    @Override
+    public Action decide(Hand hand, int dealerUpcard, int allowedActions) {
+        String prompt = buildPrompt(allowedActions);
+        while (true) {
+            out.print(prompt);
+            out.flush();
+            String decision = scanner.nextLine().trim().toLowerCase();
+            Action action;
+            switch (decision) {
+                case "h":
+                    action = Action.HIT;
+                    break;
+                case "s":
+                    action = Action.STAND;
+                    break;
+                case "d":
+                    action = Action.DOUBLE;
+                    break;
+                case "p":
+                    action = Action.SPLIT;
+                    break;
+                case "r":
+                    action = Action.SURRENDER;
+                    break;
+                default:
+                    action = null;
+                    break;
+            }
+            if (action != null && action.isAllowed(allowedActions)) {
+                return action;
+            }
+            out.println(allowedActions == Action.HIT_OR_STAND
+                    ? "Invalid input. Please enter 'h' to hit or 's' to stay."
+                    : "Invalid input. Please enter one of the letters shown.");
+        }
+    }
+
+    /**
+     * Asks the player whether to take insurance against a dealer Blackjack.
+     *
+     * @param hand The player's first two cards.
+     * @return True if the player takes insurance.
+     */
+    @Override
+    public boolean takeInsurance(Hand hand) {
+        while (true) {
+            out.print("The dealer shows an Ace. Do you want insurance? (y/n): ");
+            out.flush();
+            String decision = scanner.nextLine().trim().toLowerCase();
+            if (decision.equals("y")) {
+                return true;
+            } else if (decision.equals("n")) {
+                return false;
+            }
+            out.println("Invalid input. Please enter 'y' or 'n'.");
+        }
+    }
+
+    /**
+     * Builds the decision prompt listing the allowed actions.
+     *
+     * @param allowedActions The actions open to the player.
+     * @return The prompt, e.g. "Do you want to hit or stay? (h/s): ".
+     */
+    private static String buildPrompt(int allowedActions) {
+        if (allowedActions == Action.HIT_OR_STAND) {
+            return "Do you want to hit or stay? (h/s): ";
+        }
+        StringBuilder choices = new StringBuilder("hit, stay");
+        StringBuilder keys = new StringBuilder("h/s");
+        if (Action.DOUBLE.isAllowed(allowedActions)) {
+            choices.append(", double down");
+            keys.append("/d");
+        }
+        if (Action.SPLIT.isAllowed(allowedActions)) {
+            choices.append(", split");
+            keys.append("/p");
+        }
+        if (Action.SURRENDER.isAllowed(allowedActions)) {
+            choices.append(", surrender");
+            keys.append("/r");
+        }
+        int last = choices.lastIndexOf(", ");
+        choices.replace(last, last + 2, " or ");
+        return "Do you want to " + choices + "? (" + keys + "): ";
+    }
+}
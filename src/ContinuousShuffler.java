@@ -0,0 +1,325 @@
+package src;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Models a continuous shuffling machine (CSM). Instead of being dealt down to a cut card and reshuffled, the machine
+ * takes back the cards of every round as soon as the round is over and drops each one at a random position among
+ * the cards still inside. Every round is dealt from nearly the whole pack, and there is never a reshuffle.
+ * <p>
+ * A real machine drops shuffled cards into a small dealing shoe ahead of play, where returned cards can no longer
+ * reach them. The number of such staged cards is given at construction: returned cards never land among them.
+ * <p>
+ * Below the staged cards, every order of the cards is equally likely: the machine starts from a full shuffle, and
+ * dropping a card at a uniformly random position keeps it that way. So rather than keeping that order and inserting
+ * into it, the machine keeps those cards in an unordered pool, indexed by an array, and stages the next card by
+ * picking one from the pool at random. This deals exactly the same distribution of cards as inserting at random
+ * positions, but returning a card and dealing one both take O(1) time, with no shifting, and nothing allocates.
+ * <p>
+ * Like a reseeding {@link Shoe}, the machine starts a new random stream from its seed and a step number for every
+ * full shuffle and every round (see {@link RandomStreams#roundState(long, long)}), so between rounds its whole state
+ * is the step number and its cards, which is what {@link #writeState(DataOutput)} saves for a checkpoint. The stream
+ * is a single long stepped in place, so starting one costs no more than drawing a number.
+ * <p>
+ * An attached {@link CardCounter} sees the cards dealt in the current round and is reset when they go back in.
+ *
+ * @author Kaden Godinez
+ */
+public class ContinuousShuffler implements CardSource {
+    private final int decks;
+    private final int staged;
+    private final long seed;
+    private final byte[] tray;
+    private final byte[] pool;
+    private final byte[] dealt;
+    private int trayStart;
+    private int trayCount;
+    private int poolSize;
+    private int dealtCount;
+    private long randomState;
+    private long step;
+    private int shuffleCount;
+    private GameEventListener listener = NoOpEventListener.INSTANCE;
+    private CardCounter counter;
+
+    /**
+     * Constructs a ContinuousShuffler holding the given number of decks, loaded and ready to deal.
+     *
+     * @param decks  The number of decks in the machine, from 1 to {@value Shoe#MAX_DECKS}.
+     * @param staged The number of cards kept out of reach of returned cards, fewer than the cards in the machine.
+     * @param seed   The seed of the machine's shuffles.
+     */
+    public ContinuousShuffler(int decks, int staged, long seed) {
+        if (decks < 1 || decks > Shoe.MAX_DECKS) {
+            throw new IllegalArgumentException("A shuffling machine must hold between 1 and " + Shoe.MAX_DECKS
+                    + " decks.");
+        }
+        int cards = decks * Card.CARDS_PER_DECK;
+        if (staged < 0 || staged >= cards) {
+            throw new IllegalArgumentException("Staged cards must be at least 0 and fewer than the " + cards
+                    + " cards in the machine.");
+        }
+        this.decks = decks;
+        this.staged = staged;
+        this.seed = seed;
+        // The card about to be dealt sits in the tray along with the staged cards behind it
+        this.tray = new byte[staged + 1];
+        this.pool = new byte[cards];
+        this.dealt = new byte[cards];
+        load();
+    }
+
+    /**
+     * Sets the listener that is told about full shuffles and attempts to deal from an empty machine.
+     *
+     * @param listener The listener to report to.
+     */
+    @Override
+    public void setEventListener(GameEventListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Attaches a counter that sees every card dealt in the current round and is reset when the cards go back in.
+     *
+     * @param counter The counter, or null to stop counting.
+     */
+    @Override
+    public void setCounter(CardCounter counter) {
+        this.counter = counter;
+        recount();
+    }
+
+    /**
+     * Brings the attached counter, if any, up to date with the cards dealt since cards last went back in.
+     */
+    private void recount() {
+        if (counter != null) {
+            counter.reset();
+            for (int i = 0; i < dealtCount; i++) {
+                counter.count(dealt[i]);
+            }
+        }
+    }
+
+    /**
+     * Gathers every card back into the machine, including any dealt this round and any staged, and starts afresh.
+     */
+    @Override
+    public void shuffle() {
+        EngineMetrics.INSTANCE.recordReshuffle(decks, dealtCount, shuffleCount + 1);
+        load();
+        shuffleCount++;
+        if (counter != null) {
+            counter.reset();
+        }
+        listener.onReshuffle(decks);
+    }
+
+    /**
+     * Puts every card in the pool and starts the random stream of the next step.
+     */
+    private void load() {
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = (byte) (i % Card.CARDS_PER_DECK);
+        }
+        poolSize = pool.length;
+        trayStart = 0;
+        trayCount = 0;
+        dealtCount = 0;
+        randomState = RandomStreams.roundState(seed, step++);
+    }
+
+    /**
+     * Deals the top card of the tray as a card code, first staging cards picked from the pool behind the others.
+     *
+     * @return The code of the top card, or -1 if the machine is empty.
+     */
+    @Override
+    public int dealCode() {
+        while (trayCount <= staged && poolSize > 0) {
+            int index = nextIndex(poolSize);
+            int end = trayStart + trayCount;
+            tray[end < tray.length ? end : end - tray.length] = pool[index];
+            pool[index] = pool[--poolSize];
+            trayCount++;
+        }
+        if (trayCount == 0) {
+            listener.onShoeEmpty(decks);
+            return -1;
+        }
+        int code = tray[trayStart];
+        trayStart = trayStart + 1 < tray.length ? trayStart + 1 : 0;
+        trayCount--;
+        dealt[dealtCount++] = (byte) code;
+        if (counter != null) {
+            counter.count(code);
+        }
+        return code;
+    }
+
+    /**
+     * Draws a uniformly random index from the current step's stream.
+     *
+     * @param bound The number of indices, which must be positive.
+     * @return The index, from 0 (inclusive) to the bound (exclusive).
+     */
+    private int nextIndex(int bound) {
+        while (true) {
+            randomState += RandomStreams.GOLDEN_GAMMA;
+            long product = (RandomStreams.mix64(randomState) >>> 32) * bound;
+            long low = product & 0xFFFFFFFFL;
+            // Rejects the few draws that would make the lowest indices slightly more likely (Lemire's method)
+            if (low >= bound || low >= (1L << 32) % bound) {
+                return (int) (product >>> 32);
+            }
+        }
+    }
+
+    /**
+     * Puts every card dealt this round back into the pool, below the staged cards, and starts the random stream of
+     * the next round.
+     */
+    @Override
+    public void roundFinished() {
+        System.arraycopy(dealt, 0, pool, poolSize, dealtCount);
+        poolSize += dealtCount;
+        dealtCount = 0;
+        randomState = RandomStreams.roundState(seed, step++);
+        if (counter != null) {
+            counter.reset();
+        }
+    }
+
+    /**
+     * A continuous shuffler never needs a reshuffle between rounds.
+     *
+     * @return False.
+     */
+    @Override
+    public boolean needsReshuffle() {
+        return false;
+    }
+
+    /**
+     * Retrieves the number of cards in the machine, staged or not.
+     *
+     * @return The count of remaining cards.
+     */
+    @Override
+    public int remainingCards() {
+        return trayCount + poolSize;
+    }
+
+    /**
+     * Retrieves the number of cards kept out of reach of returned cards.
+     *
+     * @return The staged card count.
+     */
+    public int getStaged() {
+        return staged;
+    }
+
+    /**
+     * Retrieves the number of decks in the machine.
+     *
+     * @return The deck count.
+     */
+    @Override
+    public int getDecks() {
+        return decks;
+    }
+
+    /**
+     * Retrieves the number of full shuffles, normally only the one before play begins.
+     *
+     * @return The shuffle count.
+     */
+    @Override
+    public int getShuffleCount() {
+        return shuffleCount;
+    }
+
+    /**
+     * Writes the machine's state between rounds for a checkpoint: the step number, the shuffle count, the staged
+     * cards in dealing order and the pool.
+     *
+     * @param out The checkpoint being written.
+     * @throws IOException If the state cannot be written.
+     * @throws IllegalStateException If a round is under way, so cards are out of the machine.
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        if (dealtCount > 0) {
+            throw new IllegalStateException("A shuffling machine can only be checkpointed between rounds.");
+        }
+        out.writeLong(step);
+        out.writeInt(shuffleCount);
+        out.writeShort(trayCount);
+        for (int i = 0; i < trayCount; i++) {
+            out.writeByte(tray[(trayStart + i) % tray.length]);
+        }
+        out.writeShort(poolSize);
+        out.write(pool, 0, poolSize);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)} to a machine with the same settings and seed.
+     * The listener is not told about any shuffle; an attached counter is reset.
+     *
+     * @param in The checkpoint being read.
+     * @throws IOException If the state cannot be read or does not hold every card of the machine.
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        long steps = in.readLong();
+        int shuffles = in.readInt();
+        int staging = in.readShort();
+        if (steps < 1 || shuffles < 0 || staging < 0 || staging > tray.length) {
+            throw new IOException("Invalid shuffling machine state in checkpoint.");
+        }
+        in.readFully(tray, 0, staging);
+        int pooled = in.readShort();
+        if (pooled != pool.length - staging) {
+            throw new IOException("Invalid shuffling machine state in checkpoint.");
+        }
+        in.readFully(pool, 0, pooled);
+        int[] copies = new int[Card.CARDS_PER_DECK];
+        countCopies(tray, staging, copies);
+        countCopies(pool, pooled, copies);
+        for (int count : copies) {
+            if (count != decks) {
+                throw new IOException("Invalid shuffling machine state in checkpoint.");
+            }
+        }
+        trayStart = 0;
+        trayCount = staging;
+        poolSize = pooled;
+        dealtCount = 0;
+        step = steps;
+        shuffleCount = shuffles;
+        // No round was under way, so the last step's stream had not been drawn from yet
+        randomState = RandomStreams.roundState(seed, steps - 1);
+        recount();
+    }
+
+    /**
+     * Counts the copies of each card code among cards read from a checkpoint.
+     *
+     * @param cards  The cards.
+     * @param length The number of cards.
+     * @param copies The count of each card code, added to.
+     * @throws IOException If a card is not a valid card code.
+     */
+    private static void countCopies(byte[] cards, int length, int[] copies) throws IOException {
+        for (int i = 0; i < length; i++) {
+            int code = cards[i];
+            if (code < 0 || code >= Card.CARDS_PER_DECK) {
+                throw new IOException("Invalid shuffling machine state in checkpoint.");
+            }
+            copies[code]++;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package src;
+
+/**
+ * A card-counting system: the tag added to the running count for each card value.
+ * Tags are expanded into a table indexed directly by card code, so tagging a card is one array read.
+ * The common systems are provided as constants, and any other system can be described by its tags.
+ * A system whose tags sum to zero over a deck is balanced; an unbalanced system such as Knock-Out
+ * is played from an initial running count that offsets its imbalance and needs no true-count conversion.
+ *
+ * @author Kaden Godinez
+ */
+public class CountingSystem {
+    /** Hi-Lo: 2-6 count +1, 7-9 count 0, tens and Aces count -1. */
+    public static final CountingSystem HI_LO = new CountingSystem("hilo",
+            new int[]{1, 1, 1, 1, 1, 0, 0, 0, -1, -1});
+    /** Hi-Opt I: 3-6 count +1, tens count -1; 2s and Aces are neutral. */
+    public static final CountingSystem HI_OPT_I = new CountingSystem("hiopt1",
+            new int[]{0, 1, 1, 1, 1, 0, 0, 0, -1, 0});
+    /** Omega II: a level-two system that leaves Aces neutral. */
+    public static final CountingSystem OMEGA_II = new CountingSystem("omega2",
+            new int[]{1, 1, 2, 2, 2, 1, 0, -1, -2, 0});
+    /** Zen Count: a level-two system that counts Aces as -1. */
+    public static final CountingSystem ZEN = new CountingSystem("zen",
+            new int[]{1, 1, 2, 2, 2, 1, 0, 0, -2, -1});
+    /** Knock-Out: like Hi-Lo but with 7s counted +1, which unbalances the count by +4 per deck. */
+    public static final CountingSystem KO = new CountingSystem("ko",
+            new int[]{1, 1, 1, 1, 1, 1, 0, 0, -1, -1});
+
+    private static final CountingSystem[] SYSTEMS = {HI_LO, HI_OPT_I, OMEGA_II, ZEN, KO};
+
+    private final String name;
+    private final int imbalance;
+    private final byte[] tagsByCode;
+
+    /**
+     * Constructs a CountingSystem from its tags.
+     *
+     * @param name The system's name.
+     * @param tags The tag of each card value, in the order 2, 3, 4, 5, 6, 7, 8, 9, ten-valued cards, Ace.
+     */
+    public CountingSystem(String name, int[] tags) {
+        if (tags.length != 10) {
+            throw new IllegalArgumentException("A counting system needs ten tags, for 2 through 10 and Ace.");
+        }
+        this.name = name;
+        this.tagsByCode = new byte[Card.CARDS_PER_DECK];
+        int sum = 0;
+        for (int code = 0; code < tagsByCode.length; code++) {
+            int value = Card.valueOf(code);
+            // Values run 2-11, with 11 for an Ace
+            tagsByCode[code] = (byte) tags[value - 2];
+            sum += tags[value - 2];
+        }
+        this.imbalance = sum;
+    }
+
+    /**
+     * Looks up a built-in system by name: {@code hilo}, {@code hiopt1}, {@code omega2}, {@code zen} or {@code ko}.
+     * A custom system can be given as {@code tags:} followed by ten comma-separated tags,
+     * for 2 through 10 and Ace.
+     *
+     * @param name The system name or tag list.
+     * @return The counting system.
+     * @throws IllegalArgumentException If the name is unknown or the tag list is malformed.
+     */
+    public static CountingSystem forName(String name) {
+        for (CountingSystem system : SYSTEMS) {
+            if (system.name.equals(name)) {
+                return system;
+            }
+        }
+        if (name.startsWith("tags:")) {
+            String[] parts = name.substring("tags:".length()).split(",");
+            int[] tags = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                tags[i] = Integer.parseInt(parts[i].trim());
+            }
+            return new CountingSystem(name, tags);
+        }
+        throw new IllegalArgumentException("Unknown counting system: " + name);
+    }
+
+    /**
+     * Retrieves the tag of a card.
+     *
+     * @param code The card code (see {@link Card}).
+     * @return The amount the card adds to the running count.
+     */
+    public int tag(int code) {
+        return tagsByCode[code];
+    }
+
+    /**
+     * Retrieves the system's name.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Checks whether the system is balanced, meaning its running count is converted to a true count.
+     *
+     * @return True if the tags of a full deck sum to zero.
+     */
+    public boolean isBalanced() {
+        return imbalance == 0;
+    }
+
+    /**
+     * Retrieves the sum of the tags of a full deck.
+     *
+     * @return The count a single deck adds up to; 0 for a balanced system.
+     */
+    public int getImbalance() {
+        return imbalance;
+    }
+
+    /**
+     * Returns the system's name.
+     *
+     * @return The name.
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -2,55 +2,72 @@ package src;
 
 /**
  * Represents the dealer in the Blackjack game.
- * Manages the dealer's hand and enforces dealer-specific rules during their turn.
+ * Manages the dealer's hand and enforces dealer-specific rules during their turn,
+ * standing or hitting on a soft 17 as the table rules say.
  *
  * @author Kaden Godinez
  */
 public class Dealer extends Participant {
+    /** The total at which the dealer stops drawing. */
+    public static final int STAND_TOTAL = 17;
 
     /**
      * Constructs a Dealer with an empty Hand.
-     * Suppresses Ace adjustment messages to maintain clean output.
      */
     public Dealer() {
         super();
-        this.hand.setPrintAceAdjustmentMessages(false); // Suppress Ace adjustment messages for dealer
     }
 
     /**
-     * Reveals the dealer's full hand by displaying all cards and the total point value.
+     * Retrieves the dealer's face-up card, which is the second card dealt to the dealer.
+     *
+     * @return The face-up Card.
+     */
+    public Card getUpcard() {
+        return Card.of(hand.getCode(1));
+    }
+
+    /**
+     * Reveals the dealer's hidden card, reporting both cards and the dealer's total.
      */
     public void revealHiddenCard() {
-        System.out.println("Dealer's hand:");
-        hand.displayHand(false, true); // Show all cards and total
+        listener.onHoleCardRevealed(this, Card.of(hand.getCode(0)), getUpcard(), hand.calculateTotal());
     }
 
     /**
      * Executes the dealer's turn.
-     * Dealer must hit until their total is at least 17.
-     * Displays each draw and the updated total once.
+     * Dealer must hit until their total is at least 17, and also on a soft 17 under H17 rules.
      *
-     * @param deck The Deck from which to draw cards.
+     * @param deck         The card source from which to draw cards.
+     * @param dealerUpcard The dealer's own face-up card (not used; the dealer's rules are fixed).
      */
     @Override
-    public void playTurn(Deck deck) {
-        System.out.println("Dealer's turn:");
-        while (hand.calculateTotal() < 17) {
-            Card newCard = deck.dealCard();
-            if (newCard == null) {
-                System.out.println("No more cards in the deck.");
-                break;
-            }
-            System.out.println("Dealer draws: " + newCard);
-            hand.addCard(newCard);
-            System.out.println("Dealer's total: " + hand.calculateTotal());
-            if (hand.calculateTotal() > 21) {
-                System.out.println("Dealer busted!");
+    public void playTurn(CardSource deck, Card dealerUpcard) {
+        playOut(deck);
+    }
+
+    /**
+     * Plays out the dealer's hand: draw until the total is at least 17, or above a soft 17 under H17 rules.
+     * Each draw, and the final stand or bust, is reported to the listener.
+     *
+     * @param deck The card source from which to draw cards.
+     * @return The dealer's final total.
+     */
+    public int playOut(CardSource deck) {
+        int total = hand.calculateTotal();
+        boolean hitsSoft17 = rules.isDealerHitsSoft17();
+        while (total < STAND_TOTAL || (hitsSoft17 && total == STAND_TOTAL && hand.isSoft())) {
+            int code = deck.dealCode();
+            if (code < 0) {
                 break;
             }
+            total = receiveCode(code);
         }
-        if (hand.calculateTotal() >= 17 && hand.calculateTotal() <= 21) {
-            System.out.println("Dealer stays.");
+        if (hand.isBust()) {
+            listener.onBust(this, 0, false, total);
+        } else if (total >= STAND_TOTAL) {
+            listener.onDecision(this, 0, false, Action.STAND);
         }
+        return total;
     }
-}
\ No newline at end of file
+}
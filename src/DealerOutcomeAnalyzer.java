@@ -0,0 +1,292 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the exact probability of each final dealer result for a given upcard and shoe composition.
+ * The dealer plays as {@link Dealer#playOut(CardSource)} does under the analyzer's {@link TableRules}: draw until the
+ * total is at least 17, and also on a soft 17 when the dealer hits soft 17.
+ * <p>
+ * A dealer natural is reported apart from an ordinary 21, since it beats every hand but a player's natural.
+ * The table checks for it before anyone plays, so {@link #peekedOutcomes(int[], int)} gives the distribution
+ * the players actually face: the dealer's results given that the dealer does not have Blackjack.
+ * <p>
+ * Every sequence of dealer draws is enumerated recursively, weighting each card by how many of that
+ * value remain. Sub-results are memoized by (remaining composition, dealer hard total, Ace held),
+ * so after warm-up most queries are answered from the cache.
+ * <p>
+ * Compositions are arrays of length {@value #COMPOSITION_LENGTH} indexed by card value as returned by
+ * {@link Card#valueOf(int)}: index 2-10 for the numbered and ten-value cards and index 11 for Aces.
+ * Indices 0 and 1 are unused. At most {@value Shoe#MAX_DECKS} decks' worth of cards is supported.
+ * <p>
+ * An analyzer is not thread-safe; use one per thread.
+ *
+ * @author Kaden Godinez
+ */
+public class DealerOutcomeAnalyzer {
+    /** The length of a composition array. */
+    public static final int COMPOSITION_LENGTH = 12;
+
+    /** Outcome index of a dealer total of 17. Totals 18-21 follow at consecutive indices. */
+    public static final int TOTAL_17 = 0;
+    /** Outcome index of a dealer natural Blackjack. */
+    public static final int BLACKJACK = 5;
+    /** Outcome index of a dealer bust. */
+    public static final int BUST = 6;
+    /** The number of outcome indices. */
+    public static final int OUTCOMES = 7;
+
+    private static final int STAND_TOTAL = 17;
+    private static final int ACE = 11;
+    private static final int TEN = 10;
+
+    /** Bit position of each card value's count in a packed composition key. */
+    private static final int[] SHIFT = new int[COMPOSITION_LENGTH];
+    /** Largest count of each card value that fits in a packed composition key. */
+    private static final int[] MAX_COUNT = new int[COMPOSITION_LENGTH];
+
+    static {
+        // Six bits per value covers 8 decks of 32 cards each; tens need eight bits for 128 cards
+        int shift = 0;
+        for (int value = 2; value <= ACE; value++) {
+            int bits = value == TEN ? 8 : 6;
+            SHIFT[value] = shift;
+            MAX_COUNT[value] = (1 << bits) - 1;
+            shift += bits;
+        }
+    }
+
+    private final boolean hitsSoft17;
+    private final List<Map<Long, double[]>> memo;
+
+    /**
+     * Constructs a DealerOutcomeAnalyzer with an empty cache, for a dealer who stands on soft 17.
+     */
+    public DealerOutcomeAnalyzer() {
+        this(TableRules.DEFAULT);
+    }
+
+    /**
+     * Constructs a DealerOutcomeAnalyzer with an empty cache, for a dealer playing by the given rules.
+     *
+     * @param rules The table rules; only whether the dealer hits soft 17 matters.
+     */
+    public DealerOutcomeAnalyzer(TableRules rules) {
+        this.hitsSoft17 = rules.isDealerHitsSoft17();
+        // One map per drawing state: hard totals below 17, with or without an Ace
+        this.memo = new ArrayList<>(STAND_TOTAL * 2);
+        for (int i = 0; i < STAND_TOTAL * 2; i++) {
+            memo.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Builds the composition of a full shoe.
+     *
+     * @param decks The number of decks.
+     * @return The count of each card value in the shoe.
+     */
+    public static int[] fullComposition(int decks) {
+        int[] composition = new int[COMPOSITION_LENGTH];
+        for (int value = 2; value <= ACE; value++) {
+            composition[value] = 4 * decks;
+        }
+        composition[TEN] = 16 * decks;
+        return composition;
+    }
+
+    /**
+     * Calculates the distribution of the dealer's final result.
+     * The dealer's hole card and any further draws come from the given composition,
+     * which must not include the upcard.
+     *
+     * @param composition The count of each card value remaining in the shoe.
+     * @param upcard      The value of the dealer's upcard, 2-11.
+     * @return The probability of each outcome, indexed by {@link #TOTAL_17} + (total - 17),
+     *         {@link #BLACKJACK} and {@link #BUST}.
+     */
+    public double[] dealerOutcomes(int[] composition, int upcard) {
+        int[] counts = composition.clone();
+        long key = pack(counts);
+        int remaining = total(counts);
+        double[] result = new double[OUTCOMES];
+        if (remaining == 0) {
+            return result;
+        }
+
+        int hard = upcard == ACE ? 1 : upcard;
+        boolean ace = upcard == ACE;
+        for (int value = 2; value <= ACE; value++) {
+            if (counts[value] == 0) {
+                continue;
+            }
+            double p = (double) counts[value] / remaining;
+            if ((upcard == ACE && value == TEN) || (upcard == TEN && value == ACE)) {
+                result[BLACKJACK] += p;
+                continue;
+            }
+            counts[value]--;
+            accumulate(result, p, remove(key, value), counts, remaining - 1, hard, ace, value);
+            counts[value]++;
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the distribution of the dealer's final result given that the dealer, having checked the hole card,
+     * does not have Blackjack. This is what the players face when they act, since a dealer natural ends the round
+     * first.
+     *
+     * @param composition The count of each card value remaining in the shoe, not including the upcard.
+     * @param upcard      The value of the dealer's upcard, 2-11.
+     * @return The probability of each outcome, as for {@link #dealerOutcomes(int[], int)}, with none for
+     *         {@link #BLACKJACK}; all zero if the dealer is certain to have Blackjack.
+     */
+    public double[] peekedOutcomes(int[] composition, int upcard) {
+        double[] result = dealerOutcomes(composition, upcard);
+        double noBlackjack = 1 - result[BLACKJACK];
+        result[BLACKJACK] = 0;
+        for (int i = 0; i < OUTCOMES; i++) {
+            result[i] = noBlackjack > 0 ? result[i] / noBlackjack : 0;
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves whether the analyzed dealer hits soft 17.
+     *
+     * @return True if the dealer hits soft 17.
+     */
+    public boolean isDealerHitsSoft17() {
+        return hitsSoft17;
+    }
+
+    /**
+     * Clears all memoized results.
+     */
+    public void clearCache() {
+        for (Map<Long, double[]> map : memo) {
+            map.clear();
+        }
+    }
+
+    /**
+     * Retrieves the number of memoized sub-results.
+     *
+     * @return The cache size.
+     */
+    public int cacheSize() {
+        int size = 0;
+        for (Map<Long, double[]> map : memo) {
+            size += map.size();
+        }
+        return size;
+    }
+
+    /**
+     * Calculates the outcome distribution of a dealer who must draw from the given state.
+     *
+     * @param key       The packed composition.
+     * @param counts    The count of each card value; restored before returning.
+     * @param remaining The total number of cards in the composition.
+     * @param hard      The dealer's total counting every Ace as 1.
+     * @param ace       Whether the dealer holds an Ace.
+     * @return The probability of each outcome.
+     */
+    private double[] draw(long key, int[] counts, int remaining, int hard, boolean ace) {
+        Map<Long, double[]> cache = memo.get(hard * 2 + (ace ? 1 : 0));
+        double[] cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // If the shoe runs dry the remaining probability is left unassigned
+        double[] result = new double[OUTCOMES];
+        for (int value = 2; value <= ACE && remaining > 0; value++) {
+            if (counts[value] == 0) {
+                continue;
+            }
+            double p = (double) counts[value] / remaining;
+            counts[value]--;
+            accumulate(result, p, remove(key, value), counts, remaining - 1, hard, ace, value);
+            counts[value]++;
+        }
+        cache.put(key, result);
+        return result;
+    }
+
+    /**
+     * Adds the outcomes that follow drawing a card of the given value, weighted by its probability.
+     *
+     * @param result    The distribution to add to.
+     * @param p         The probability of drawing the card.
+     * @param key       The packed composition after the draw.
+     * @param counts    The count of each card value after the draw.
+     * @param remaining The number of cards left after the draw.
+     * @param hard      The dealer's hard total before the draw.
+     * @param ace       Whether the dealer held an Ace before the draw.
+     * @param value     The value of the drawn card.
+     */
+    private void accumulate(double[] result, double p, long key, int[] counts, int remaining,
+                            int hard, boolean ace, int value) {
+        int newHard = hard + (value == ACE ? 1 : value);
+        boolean newAce = ace || value == ACE;
+        boolean soft = newAce && newHard + 10 <= 21;
+        int best = soft ? newHard + 10 : newHard;
+        if (newHard > 21) {
+            result[BUST] += p;
+        } else if (best > STAND_TOTAL || (best == STAND_TOTAL && !(soft && hitsSoft17))) {
+            result[TOTAL_17 + best - STAND_TOTAL] += p;
+        } else {
+            double[] next = draw(key, counts, remaining, newHard, newAce);
+            for (int i = 0; i < OUTCOMES; i++) {
+                result[i] += p * next[i];
+            }
+        }
+    }
+
+    /**
+     * Packs a composition into a single long for use as a cache key.
+     *
+     * @param counts The count of each card value.
+     * @return The packed composition.
+     */
+    static long pack(int[] counts) {
+        long key = 0;
+        for (int value = 2; value <= ACE; value++) {
+            if (counts[value] < 0 || counts[value] > MAX_COUNT[value]) {
+                throw new IllegalArgumentException("Card count out of range for value " + value + ".");
+            }
+            key |= (long) counts[value] << SHIFT[value];
+        }
+        return key;
+    }
+
+    /**
+     * Removes one card of the given value from a packed composition.
+     *
+     * @param key   The packed composition.
+     * @param value The card value to remove, 2-11.
+     * @return The packed composition without that card.
+     */
+    static long remove(long key, int value) {
+        return key - (1L << SHIFT[value]);
+    }
+
+    /**
+     * Counts the cards in a composition.
+     *
+     * @param counts The count of each card value.
+     * @return The total number of cards.
+     */
+    static int total(int[] counts) {
+        int total = 0;
+        for (int value = 2; value <= ACE; value++) {
+            total += counts[value];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,32 @@
+package src;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A flight-recorder event timing one decision of a player's strategy.
+ * Only the decisions {@link EngineMetrics} samples are timed, one in {@value EngineMetrics#DECISION_SAMPLE_INTERVAL},
+ * and by default only those taking a millisecond or more are recorded.
+ *
+ * @author Kaden Godinez
+ */
+@Name("blackjack.Decision")
+@Label("Blackjack Decision")
+@Category("Blackjack")
+@Description("A sampled decision made by a player's strategy, and how long it took")
+@StackTrace(false)
+@Threshold("1 ms")
+public class DecisionEvent extends jdk.jfr.Event {
+    @Label("Action")
+    String action;
+
+    @Label("Player Total")
+    int playerTotal;
+
+    @Label("Dealer Upcard")
+    int dealerUpcard;
+}
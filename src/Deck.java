@@ -1,71 +1,44 @@
 package src;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a standard deck of 52 playing cards used in the Blackjack game.
  * Provides functionalities to shuffle the deck and deal cards.
+ * A Deck is a single-deck {@link Shoe} whose cut card is placed so that fewer than
+ * {@value #RESHUFFLE_THRESHOLD} cards remain when a reshuffle is due.
  *
  * @author kadengodinez
  */
-public class Deck {
-    private List<Card> cards;
+public class Deck extends Shoe {
+    /** The number of remaining cards below which the deck should be reshuffled. */
+    public static final int RESHUFFLE_THRESHOLD = 10;
+
+    private static final double PENETRATION =
+            (Card.CARDS_PER_DECK - RESHUFFLE_THRESHOLD + 1) / (double) Card.CARDS_PER_DECK;
 
     /**
      * Constructs a new Deck, initializing it with 52 standard playing cards.
      */
     public Deck() {
-        this.cards = new ArrayList<>();
-        initializeDeck();
-    }
-
-    /**
-     * Initializes the deck with 52 cards (13 ranks in each of the 4 suits).
-     */
-    private void initializeDeck() {
-        String[] suits = {"Hearts", "Diamonds", "Clubs", "Spades"};
-        String[] ranks = {
-                "Ace", "2", "3", "4", "5", "6", "7",
-                "8", "9", "10", "Jack", "Queen", "King"
-        };
-
-        for (String suit : suits) {
-            for (String rank : ranks) {
-                cards.add(new Card(suit, rank));
-            }
-        }
-    }
-
-    /**
-     * Shuffles the deck randomly.
-     */
-    public void shuffle() {
-        Collections.shuffle(cards);
-        System.out.println("The deck has been shuffled.");
+        super(1, PENETRATION);
     }
 
     /**
-     * Deals (removes and returns) the top card from the deck.
+     * Constructs a new Deck of 52 standard playing cards that shuffles with the given generator.
      *
-     * @return The top Card from the deck, or null if the deck is empty.
+     * @param random The generator used for shuffling.
      */
-    public Card dealCard() {
-        if (!cards.isEmpty()) {
-            return cards.remove(0);
-        } else {
-            System.out.println("The deck is empty. No more cards to deal.");
-            return null;
-        }
+    public Deck(RandomGenerator random) {
+        super(1, PENETRATION, random);
     }
 
     /**
-     * Retrieves the number of remaining cards in the deck.
+     * Constructs a new reseeding Deck of 52 standard playing cards (see {@link Shoe#Shoe(int, double, long)}).
      *
-     * @return The count of remaining cards.
+     * @param seed The seed of the sequence of shuffles.
      */
-    public int remainingCards() {
-        return cards.size();
+    public Deck(long seed) {
+        super(1, PENETRATION, seed);
     }
-}
\ No newline at end of file
+}
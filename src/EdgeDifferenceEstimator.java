@@ -0,0 +1,115 @@
+package src;
+
+/**
+ * A streaming estimate of the difference in house edge between two games played over the same shoes.
+ * Each observation is one shoe: each game's net winnings and initial bets over it. Because both games see the
+ * same cards, their results move together, and the difference is known far more precisely than either edge;
+ * this estimator keeps the covariance of all four quantities so that its confidence interval reflects that.
+ * The moments are updated in place with Welford's method and combined across workers with its pairwise form.
+ *
+ * @author Kaden Godinez
+ */
+public class EdgeDifferenceEstimator {
+    private static final int DIMENSIONS = 4;
+
+    private long count;
+    private final double[] means = new double[DIMENSIONS];
+    private final double[] comoments = new double[DIMENSIONS * DIMENSIONS];
+    private final double[] deltas = new double[DIMENSIONS];
+    private final double[] values = new double[DIMENSIONS];
+
+    /**
+     * Adds a shoe.
+     *
+     * @param net         The first game's net winnings over the shoe.
+     * @param bet         The first game's initial bets over the shoe.
+     * @param baselineNet The second (baseline) game's net winnings over the shoe.
+     * @param baselineBet The second game's initial bets over the shoe.
+     */
+    public void add(double net, double bet, double baselineNet, double baselineBet) {
+        count++;
+        values[0] = net;
+        values[1] = bet;
+        values[2] = baselineNet;
+        values[3] = baselineBet;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            deltas[i] = values[i] - means[i];
+            means[i] += deltas[i] / count;
+        }
+        for (int i = 0; i < DIMENSIONS; i++) {
+            for (int j = 0; j < DIMENSIONS; j++) {
+                comoments[i * DIMENSIONS + j] += deltas[i] * (values[j] - means[j]);
+            }
+        }
+    }
+
+    /**
+     * Adds the shoes of another estimator to this one.
+     *
+     * @param other The estimator to merge in.
+     * @return This EdgeDifferenceEstimator, for chaining.
+     */
+    public EdgeDifferenceEstimator merge(EdgeDifferenceEstimator other) {
+        if (other.count == 0) {
+            return this;
+        }
+        long total = count + other.count;
+        double weight = (double) count * other.count / total;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            deltas[i] = other.means[i] - means[i];
+        }
+        for (int i = 0; i < DIMENSIONS; i++) {
+            for (int j = 0; j < DIMENSIONS; j++) {
+                comoments[i * DIMENSIONS + j] += other.comoments[i * DIMENSIONS + j] + deltas[i] * deltas[j] * weight;
+            }
+            means[i] += deltas[i] * other.count / total;
+        }
+        count = total;
+        return this;
+    }
+
+    /**
+     * Retrieves the number of shoes observed.
+     *
+     * @return The shoe count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Estimates how much higher the first game's house edge is than the baseline's.
+     *
+     * @return The difference in house edge, e.g. 0.002 when the first game's edge is 0.2% higher.
+     */
+    public double getDifference() {
+        if (means[1] == 0 || means[3] == 0) {
+            return 0;
+        }
+        return -means[0] / means[1] + means[2] / means[3];
+    }
+
+    /**
+     * Calculates the half-width of the 95% confidence interval of the difference, by the delta method.
+     *
+     * @return The half-width, or infinity with fewer than two shoes.
+     */
+    public double getConfidenceHalfWidth() {
+        if (count < 2 || means[1] == 0 || means[3] == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        // Gradient of the difference with respect to each mean
+        double[] gradient = {
+                -1 / means[1], means[0] / (means[1] * means[1]),
+                1 / means[3], -means[2] / (means[3] * means[3])
+        };
+        double variance = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            for (int j = 0; j < DIMENSIONS; j++) {
+                variance += gradient[i] * gradient[j] * comoments[i * DIMENSIONS + j];
+            }
+        }
+        variance /= count - 1;
+        return EdgeEstimator.Z_95 * Math.sqrt(Math.max(variance, 0) / count);
+    }
+}
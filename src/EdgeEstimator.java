@@ -0,0 +1,150 @@
+package src;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A streaming estimate of the house edge with its confidence interval.
+ * Each observation is one table round: the amount the seats won or lost and the amount they bet to start it.
+ * The edge is the ratio of the two totals, so varying bet sizes (such as a counter's bet spread) are weighed
+ * correctly. The means, variances and covariance are updated in place with Welford's method, which stays
+ * accurate over billions of rounds where summing squares would not, and estimators from several workers are
+ * combined with the pairwise form of the same update.
+ * <p>
+ * Rounds are treated as independent. Seats at one table share the dealer's hand, which is why a whole
+ * table round, rather than each seat, is one observation.
+ *
+ * @author Kaden Godinez
+ */
+public class EdgeEstimator {
+    /** The normal quantile for a two-sided 95% confidence interval. */
+    public static final double Z_95 = 1.959964;
+
+    private long count;
+    private double meanNet;
+    private double meanBet;
+    private double sumSquaresNet;
+    private double sumSquaresBet;
+    private double sumProducts;
+
+    /**
+     * Adds a round.
+     *
+     * @param net The amount won over the round, negative for a loss.
+     * @param bet The initial bets placed on the round.
+     */
+    public void add(double net, double bet) {
+        count++;
+        double deltaNet = net - meanNet;
+        double deltaBet = bet - meanBet;
+        meanNet += deltaNet / count;
+        meanBet += deltaBet / count;
+        sumSquaresNet += deltaNet * (net - meanNet);
+        sumSquaresBet += deltaBet * (bet - meanBet);
+        sumProducts += deltaNet * (bet - meanBet);
+    }
+
+    /**
+     * Adds the rounds of another estimator to this one.
+     *
+     * @param other The estimator to merge in.
+     * @return This EdgeEstimator, for chaining.
+     */
+    public EdgeEstimator merge(EdgeEstimator other) {
+        if (other.count == 0) {
+            return this;
+        }
+        long total = count + other.count;
+        double deltaNet = other.meanNet - meanNet;
+        double deltaBet = other.meanBet - meanBet;
+        double weight = (double) count * other.count / total;
+        sumSquaresNet += other.sumSquaresNet + deltaNet * deltaNet * weight;
+        sumSquaresBet += other.sumSquaresBet + deltaBet * deltaBet * weight;
+        sumProducts += other.sumProducts + deltaNet * deltaBet * weight;
+        meanNet += deltaNet * other.count / total;
+        meanBet += deltaBet * other.count / total;
+        count = total;
+        return this;
+    }
+
+    /**
+     * Retrieves the number of rounds observed.
+     *
+     * @return The round count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Estimates the house edge: the fraction of each initial bet the house keeps on average.
+     *
+     * @return The house edge, e.g. 0.005 for 0.5%.
+     */
+    public double getHouseEdge() {
+        return meanBet == 0 ? 0 : -meanNet / meanBet;
+    }
+
+    /**
+     * Estimates the standard deviation of a round's result, per unit of initial bet.
+     *
+     * @return The standard deviation.
+     */
+    public double getStandardDeviation() {
+        return count < 2 || meanBet == 0 ? 0 : Math.sqrt(sumSquaresNet / (count - 1)) / meanBet;
+    }
+
+    /**
+     * Estimates the standard error of the house edge, using the delta method for a ratio of means.
+     *
+     * @return The standard error, or infinity with fewer than two rounds.
+     */
+    public double getStandardError() {
+        if (count < 2 || meanBet == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double ratio = meanNet / meanBet;
+        double variance = (sumSquaresNet - 2 * ratio * sumProducts + ratio * ratio * sumSquaresBet) / (count - 1);
+        return Math.sqrt(Math.max(variance, 0) / count) / meanBet;
+    }
+
+    /**
+     * Calculates the half-width of the 95% confidence interval of the house edge.
+     *
+     * @return The half-width, in the same units as {@link #getHouseEdge()}.
+     */
+    public double getConfidenceHalfWidth() {
+        return Z_95 * getStandardError();
+    }
+
+    /**
+     * Writes the estimator's state for a checkpoint.
+     *
+     * @param out The checkpoint being written.
+     * @throws IOException If the state cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(meanNet);
+        out.writeDouble(meanBet);
+        out.writeDouble(sumSquaresNet);
+        out.writeDouble(sumSquaresBet);
+        out.writeDouble(sumProducts);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The checkpoint being read.
+     * @throws IOException If the state cannot be read.
+     */
+    public void readState(DataInput in) throws IOException {
+        count = in.readLong();
+        meanNet = in.readDouble();
+        meanBet = in.readDouble();
+        sumSquaresNet = in.readDouble();
+        sumSquaresBet = in.readDouble();
+        sumProducts = in.readDouble();
+    }
+}
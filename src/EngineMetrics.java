@@ -0,0 +1,231 @@
+package src;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Counters for every table in the program, published over JMX and as JDK Flight Recorder events.
+ * Tables, shoes and players report to the shared {@link #INSTANCE} as they play. Every counter is a
+ * {@link LongAdder}, which gives each contending thread its own cell, so simulation workers on many cores can
+ * count without fighting over one value; a table adds to them once per round rather than once per card.
+ * Only one decision in {@value #DECISION_SAMPLE_INTERVAL} is timed, which keeps the clock reads off the hot path.
+ * <p>
+ * {@link #register()} makes the counters available to JMX clients such as JConsole under {@value #OBJECT_NAME}
+ * and adds a {@link ThroughputEvent} to every flight recording once a second. The other events,
+ * {@link DecisionEvent}, {@link ReshuffleEvent} and {@link SessionEvent}, are recorded as they happen and cost
+ * next to nothing when no recording is running.
+ *
+ * @author Kaden Godinez
+ */
+public final class EngineMetrics implements EngineMetricsMXBean {
+    /** The shared instance. */
+    public static final EngineMetrics INSTANCE = new EngineMetrics();
+    /** The JMX name the metrics are registered under. */
+    public static final String OBJECT_NAME = "blackjack:type=Engine";
+    /** Each player times one decision in this many. */
+    public static final int DECISION_SAMPLE_INTERVAL = 64;
+
+    private static final long RATE_WINDOW_NANOS = 1_000_000_000L;
+
+    private final LongAdder rounds = new LongAdder();
+    private final LongAdder hands = new LongAdder();
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder reshuffles = new LongAdder();
+    private final LongAdder sessions = new LongAdder();
+    private final LongAdder timedDecisions = new LongAdder();
+    private final LongAdder decisionNanos = new LongAdder();
+    private final AtomicLong tables = new AtomicLong();
+    private boolean registered;
+    private long sampledAt = System.nanoTime();
+    private long sampledRounds;
+    private long sampledHands;
+    private double roundsPerSecond;
+    private double handsPerSecond;
+
+    /**
+     * Constructs the EngineMetrics. Use {@link #INSTANCE} instead.
+     */
+    private EngineMetrics() {
+    }
+
+    /**
+     * Publishes the metrics over JMX and adds the periodic throughput event to flight recordings.
+     * Does nothing if they are already published.
+     *
+     * @throws IllegalStateException If the metrics cannot be registered with the platform MBean server.
+     */
+    public static synchronized void register() {
+        if (INSTANCE.registered) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+        FlightRecorder.addPeriodicEvent(ThroughputEvent.class, INSTANCE::emitThroughput);
+        INSTANCE.registered = true;
+    }
+
+    /**
+     * Opens a table.
+     *
+     * @return The table's identifier, unique within the program.
+     */
+    public long openTable() {
+        return tables.incrementAndGet();
+    }
+
+    /**
+     * Counts a settled round.
+     *
+     * @param handCount     The number of hands settled in the round.
+     * @param decisionCount The number of decisions made in the round.
+     */
+    public void recordRound(int handCount, int decisionCount) {
+        rounds.increment();
+        hands.add(handCount);
+        decisions.add(decisionCount);
+    }
+
+    /**
+     * Counts a decision that was timed.
+     *
+     * @param nanos The time the strategy took to decide.
+     */
+    public void recordDecisionTime(long nanos) {
+        timedDecisions.increment();
+        decisionNanos.add(nanos);
+    }
+
+    /**
+     * Counts a reshuffle and records it to any running flight recording.
+     *
+     * @param decks      The number of decks in the shoe.
+     * @param cardsDealt The number of cards dealt from the shoe before it was reshuffled.
+     * @param shoe       The number of the shoe now being dealt, counting from 1.
+     */
+    public void recordReshuffle(int decks, int cardsDealt, int shoe) {
+        reshuffles.increment();
+        ReshuffleEvent event = new ReshuffleEvent();
+        if (event.shouldCommit()) {
+            event.decks = decks;
+            event.cardsDealt = cardsDealt;
+            event.shoe = shoe;
+            event.commit();
+        }
+    }
+
+    /**
+     * Counts a finished session and records it to any running flight recording.
+     *
+     * @param table   The identifier of the table the session was played at.
+     * @param session The number of the session at that table, counting from 1.
+     * @param length  The number of rounds in the session.
+     */
+    public void recordSession(long table, long session, long length) {
+        sessions.increment();
+        SessionEvent event = new SessionEvent();
+        if (event.shouldCommit()) {
+            event.table = table;
+            event.session = session;
+            event.rounds = length;
+            event.commit();
+        }
+    }
+
+    @Override
+    public long getRounds() {
+        return rounds.sum();
+    }
+
+    @Override
+    public long getHands() {
+        return hands.sum();
+    }
+
+    @Override
+    public long getDecisions() {
+        return decisions.sum();
+    }
+
+    @Override
+    public long getReshuffles() {
+        return reshuffles.sum();
+    }
+
+    @Override
+    public long getTables() {
+        return tables.get();
+    }
+
+    @Override
+    public long getSessions() {
+        return sessions.sum();
+    }
+
+    @Override
+    public double getSessionsPerTable() {
+        long opened = tables.get();
+        return opened == 0 ? 0 : (double) sessions.sum() / opened;
+    }
+
+    @Override
+    public synchronized double getRoundsPerSecond() {
+        sample();
+        return roundsPerSecond;
+    }
+
+    @Override
+    public synchronized double getHandsPerSecond() {
+        sample();
+        return handsPerSecond;
+    }
+
+    @Override
+    public double getAverageDecisionNanos() {
+        long timed = timedDecisions.sum();
+        return timed == 0 ? 0 : (double) decisionNanos.sum() / timed;
+    }
+
+    /**
+     * Recalculates the rates if at least a second has passed since they were last calculated.
+     */
+    private synchronized void sample() {
+        long now = System.nanoTime();
+        long elapsed = now - sampledAt;
+        if (elapsed < RATE_WINDOW_NANOS) {
+            return;
+        }
+        long roundCount = rounds.sum();
+        long handCount = hands.sum();
+        roundsPerSecond = (roundCount - sampledRounds) * 1e9 / elapsed;
+        handsPerSecond = (handCount - sampledHands) * 1e9 / elapsed;
+        sampledAt = now;
+        sampledRounds = roundCount;
+        sampledHands = handCount;
+    }
+
+    /**
+     * Records the current throughput to every running flight recording. Called by the flight recorder.
+     */
+    private synchronized void emitThroughput() {
+        sample();
+        ThroughputEvent event = new ThroughputEvent();
+        event.roundsPerSecond = roundsPerSecond;
+        event.handsPerSecond = handsPerSecond;
+        event.rounds = rounds.sum();
+        event.hands = hands.sum();
+        event.reshuffles = reshuffles.sum();
+        event.tables = tables.get();
+        event.sessions = sessions.sum();
+        event.averageDecisionNanos = getAverageDecisionNanos();
+        event.commit();
+    }
+}
@@ -0,0 +1,79 @@
+package src;
+
+/**
+ * The management interface of the engine's {@link EngineMetrics}, as seen in JConsole or any other JMX client
+ * under the name {@value EngineMetrics#OBJECT_NAME}.
+ *
+ * @author Kaden Godinez
+ */
+public interface EngineMetricsMXBean {
+    /**
+     * Retrieves the number of table rounds settled since the program started.
+     *
+     * @return The round count.
+     */
+    long getRounds();
+
+    /**
+     * Retrieves the number of hands settled, counting every split hand.
+     *
+     * @return The hand count.
+     */
+    long getHands();
+
+    /**
+     * Retrieves the number of decisions made by every player's strategy.
+     *
+     * @return The decision count.
+     */
+    long getDecisions();
+
+    /**
+     * Retrieves the number of times a shoe was shuffled or loaded.
+     *
+     * @return The reshuffle count.
+     */
+    long getReshuffles();
+
+    /**
+     * Retrieves the number of tables opened.
+     *
+     * @return The table count.
+     */
+    long getTables();
+
+    /**
+     * Retrieves the number of sessions finished at every table.
+     *
+     * @return The session count.
+     */
+    long getSessions();
+
+    /**
+     * Retrieves the average number of sessions finished per table opened.
+     *
+     * @return The sessions per table.
+     */
+    double getSessionsPerTable();
+
+    /**
+     * Retrieves the rate at which rounds were settled over the last second or longer.
+     *
+     * @return The rounds per second.
+     */
+    double getRoundsPerSecond();
+
+    /**
+     * Retrieves the rate at which hands were settled over the last second or longer.
+     *
+     * @return The hands per second.
+     */
+    double getHandsPerSecond();
+
+    /**
+     * Retrieves the average time a strategy took to make a decision, from a sample of the decisions.
+     *
+     * @return The average decision latency in nanoseconds, or 0 if none has been timed.
+     */
+    double getAverageDecisionNanos();
+}
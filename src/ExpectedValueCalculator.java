@@ -0,0 +1,226 @@
+package src;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Computes the expected value of hitting or standing for a player hand against a dealer upcard,
+ * given the exact composition of the cards left in the shoe.
+ * <p>
+ * Standing is evaluated with a {@link DealerOutcomeAnalyzer}. Hitting is evaluated recursively over
+ * every card that could be drawn, with the player playing optimally afterwards. Results are kept in a
+ * transposition cache keyed by (composition, player hard total, Ace held, upcard) that evicts the least
+ * recently used entry once it reaches its capacity, so memory stays bounded over long sessions.
+ * <p>
+ * The dealer plays by the calculator's {@link TableRules}, hitting soft 17 if they say so. As at the {@link Table},
+ * the dealer checks for Blackjack before the player acts, so a dealer natural never meets a hit or stand decision:
+ * the values are conditional on the dealer not having Blackjack (see
+ * {@link DealerOutcomeAnalyzer#peekedOutcomes(int[], int)}), and a dealer's 21 made by drawing ties a player's 21.
+ * Expected values are in units of the original bet. Compositions use the layout described in
+ * {@link DealerOutcomeAnalyzer} and must exclude the player's cards and the dealer's upcard.
+ * A calculator is not thread-safe; use one per thread.
+ *
+ * @author Kaden Godinez
+ */
+public class ExpectedValueCalculator {
+    private static final int ACE = 11;
+
+    private final DealerOutcomeAnalyzer dealerAnalyzer;
+    private final int cacheCapacity;
+    private final Map<StateKey, Double> hitCache;
+
+    /**
+     * Constructs an ExpectedValueCalculator for a dealer who stands on soft 17.
+     *
+     * @param cacheCapacity The largest number of entries kept in the transposition cache.
+     *                      The dealer analyzer's cache is cleared whenever it grows past the same size.
+     */
+    public ExpectedValueCalculator(int cacheCapacity) {
+        this(TableRules.DEFAULT, cacheCapacity);
+    }
+
+    /**
+     * Constructs an ExpectedValueCalculator for a dealer playing by the given rules.
+     *
+     * @param rules         The table rules; only whether the dealer hits soft 17 matters.
+     * @param cacheCapacity The largest number of entries kept in the transposition cache.
+     *                      The dealer analyzer's cache is cleared whenever it grows past the same size.
+     */
+    public ExpectedValueCalculator(TableRules rules, int cacheCapacity) {
+        if (cacheCapacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive.");
+        }
+        this.dealerAnalyzer = new DealerOutcomeAnalyzer(rules);
+        this.cacheCapacity = cacheCapacity;
+        this.hitCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StateKey, Double> eldest) {
+                return size() > ExpectedValueCalculator.this.cacheCapacity;
+            }
+        };
+    }
+
+    /**
+     * Calculates the expected value of standing on the hand.
+     *
+     * @param hand         The player's hand.
+     * @param dealerUpcard The code of the dealer's face-up card.
+     * @param composition  The count of each card value remaining in the shoe.
+     * @return The expected value of standing, per unit bet.
+     */
+    public double standEv(Hand hand, int dealerUpcard, int[] composition) {
+        trimDealerCache();
+        if (hand.isBust()) {
+            return -1;
+        }
+        return standEv(composition, hand.calculateTotal(), Card.valueOf(dealerUpcard));
+    }
+
+    /**
+     * Calculates the expected value of taking one card and then playing on optimally.
+     *
+     * @param hand         The player's hand.
+     * @param dealerUpcard The code of the dealer's face-up card.
+     * @param composition  The count of each card value remaining in the shoe.
+     * @return The expected value of hitting, per unit bet.
+     */
+    public double hitEv(Hand hand, int dealerUpcard, int[] composition) {
+        trimDealerCache();
+        if (hand.isBust()) {
+            return -1;
+        }
+        int[] counts = composition.clone();
+        return hitEv(DealerOutcomeAnalyzer.pack(counts), counts, DealerOutcomeAnalyzer.total(counts),
+                hand.getHardTotal(), hand.hasAce(), Card.valueOf(dealerUpcard));
+    }
+
+    /**
+     * Chooses whichever of hitting or standing has the higher expected value.
+     *
+     * @param hand         The player's hand.
+     * @param dealerUpcard The code of the dealer's face-up card.
+     * @param composition  The count of each card value remaining in the shoe.
+     * @return HIT or STAND.
+     */
+    public Action bestAction(Hand hand, int dealerUpcard, int[] composition) {
+        return hitEv(hand, dealerUpcard, composition) > standEv(hand, dealerUpcard, composition)
+                ? Action.HIT : Action.STAND;
+    }
+
+    /**
+     * Retrieves the number of entries in the transposition cache.
+     *
+     * @return The cache size.
+     */
+    public int cacheSize() {
+        return hitCache.size();
+    }
+
+    /**
+     * Calculates the expected value of standing on a total.
+     *
+     * @param counts The count of each card value remaining.
+     * @param total  The player's total.
+     * @param upcard The dealer's upcard value.
+     * @return The expected value of standing.
+     */
+    private double standEv(int[] counts, int total, int upcard) {
+        double[] dealer = dealerAnalyzer.peekedOutcomes(counts, upcard);
+        double ev = dealer[DealerOutcomeAnalyzer.BUST];
+        for (int dealerTotal = 17; dealerTotal <= 21; dealerTotal++) {
+            double p = dealer[DealerOutcomeAnalyzer.TOTAL_17 + dealerTotal - 17];
+            if (total > dealerTotal) {
+                ev += p;
+            } else if (total < dealerTotal) {
+                ev -= p;
+            }
+        }
+        return ev;
+    }
+
+    /**
+     * Calculates the expected value of hitting from the given state, using the transposition cache.
+     *
+     * @param key       The packed composition.
+     * @param counts    The count of each card value; restored before returning.
+     * @param remaining The number of cards in the composition.
+     * @param hard      The player's total counting every Ace as 1.
+     * @param ace       Whether the player holds an Ace.
+     * @param upcard    The dealer's upcard value.
+     * @return The expected value of hitting.
+     */
+    private double hitEv(long key, int[] counts, int remaining, int hard, boolean ace, int upcard) {
+        StateKey state = new StateKey(key, (hard * 2 + (ace ? 1 : 0)) * 16 + upcard);
+        Double cached = hitCache.get(state);
+        if (cached != null) {
+            return cached;
+        }
+
+        double ev = 0;
+        for (int value = 2; value <= ACE && remaining > 0; value++) {
+            if (counts[value] == 0) {
+                continue;
+            }
+            double p = (double) counts[value] / remaining;
+            int newHard = hard + (value == ACE ? 1 : value);
+            if (newHard > 21) {
+                ev -= p;
+                continue;
+            }
+            boolean newAce = ace || value == ACE;
+            int total = newAce && newHard + 10 <= 21 ? newHard + 10 : newHard;
+            counts[value]--;
+            double stand = standEv(counts, total, upcard);
+            // Drawing to a 21 can never improve it, so only smaller totals are worth hitting
+            double best = total == 21 ? stand
+                    : Math.max(stand, hitEv(DealerOutcomeAnalyzer.remove(key, value), counts, remaining - 1,
+                    newHard, newAce, upcard));
+            counts[value]++;
+            ev += p * best;
+        }
+        hitCache.put(state, ev);
+        return ev;
+    }
+
+    /**
+     * Clears the dealer analyzer's cache once it grows past the capacity.
+     */
+    private void trimDealerCache() {
+        if (dealerAnalyzer.cacheSize() > cacheCapacity) {
+            dealerAnalyzer.clearCache();
+        }
+    }
+
+    /**
+     * Transposition cache key combining a packed composition with the player and dealer state.
+     */
+    private static final class StateKey {
+        private final long composition;
+        private final int state;
+
+        /**
+         * Constructs a StateKey.
+         *
+         * @param composition The packed composition.
+         * @param state       The packed player hard total, Ace flag and dealer upcard.
+         */
+        StateKey(long composition, int state) {
+            this.composition = composition;
+            this.state = state;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof StateKey)) {
+                return false;
+            }
+            StateKey key = (StateKey) other;
+            return composition == key.composition && state == key.state;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(composition * 31 + state);
+        }
+    }
+}
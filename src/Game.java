@@ -1,148 +1,358 @@
 package src;
 
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.util.Scanner;
 
 /**
  * Manages the flow of the Blackjack game.
  * Handles game initialization, player and dealer interactions, betting, and determining outcomes.
+ * One to seven players share a {@link Table}, taking their turns in seat order against a single dealer.
+ * The table's {@link TableRules} decide the number of decks and which doubles, splits and surrenders are allowed;
+ * by default the game is dealt from a single deck. With {@link #setContinuousShuffler(int)} it is dealt from a
+ * {@link ContinuousShuffler} instead, which takes the cards back after every round.
+ * What happens at the table is reported through a {@link ConsoleEventListener}; the game itself only
+ * prints prompts and round headings.
+ * <p>
+ * With a {@link Checkpoint}, the seats' money and the shoe are saved after every round, and a game that was
+ * interrupted picks up where it left off the next time it is started with the same checkpoint.
  *
  * @author Kaden Godinez
  */
 public class Game {
-    private Player player;
-    private Dealer dealer;
-    private Deck deck;
+    /** The rules of the classic single-deck console game. */
+    static final TableRules CLASSIC_RULES = TableRules.DEFAULT.withDecks(1);
+    /** How far into a multi-deck shoe the cut card is placed. */
+    private static final double SHOE_PENETRATION = 0.75;
+
+    private Table table;
+    private TableRules rules;
+    private CardSource deck;
     private Scanner scanner;
+    private PrintStream out;
+    private GameEventListener listener;
+    private Checkpoint checkpoint;
+    private long seed;
+    private int stagedCards = -1;
 
     /**
      * Constructs a new Game instance with a Scanner for user input.
      */
     public Game() {
-        this.scanner = new Scanner(System.in);
+        this(new Scanner(System.in), System.out, CLASSIC_RULES);
+    }
+
+    /**
+     * Constructs a new Game instance played at the console under the given rules.
+     *
+     * @param rules The table rules.
+     */
+    public Game(TableRules rules) {
+        this(new Scanner(System.in), System.out, rules);
     }
 
     /**
-     * Starts the Blackjack game by displaying the welcome message and initiating the game loop.
+     * Constructs a new Game instance that reads input from the given Scanner and writes to the given stream.
+     * Used by the {@link GameServer} to play a game over a network connection.
+     *
+     * @param scanner The Scanner object for user input.
+     * @param out     The stream all game output is written to.
+     * @param rules   The table rules.
+     */
+    public Game(Scanner scanner, PrintStream out, TableRules rules) {
+        this.scanner = scanner;
+        this.out = out;
+        this.rules = rules;
+        this.listener = new ConsoleEventListener(out);
+    }
+
+    /**
+     * Saves the game after every round, and resumes the game saved in the checkpoint, if any, when it starts.
+     *
+     * @param checkpoint The checkpoint, or null to play without saving.
+     */
+    public void setCheckpoint(Checkpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Deals the game from a {@link ContinuousShuffler} holding the rules' number of decks, in place of a deck or
+     * shoe, so there is never a reshuffle between rounds.
+     *
+     * @param staged The number of cards the machine keeps out of reach of returned cards.
+     */
+    public void setContinuousShuffler(int staged) {
+        if (staged < 0 || staged >= rules.getDecks() * Card.CARDS_PER_DECK) {
+            throw new IllegalArgumentException("Staged cards must be at least 0 and fewer than the "
+                    + rules.getDecks() * Card.CARDS_PER_DECK + " cards in the machine.");
+        }
+        this.stagedCards = staged;
+    }
+
+    /**
+     * Starts the Blackjack game by displaying the welcome message, seating the players and initiating the game loop.
+     * A game saved in the checkpoint is resumed instead of seating new players.
      */
     public void startGame() {
         displayWelcomeMessage();
-        System.out.print("Enter your starting money: ");
-        int startingMoney = getValidIntegerInput();
-        player = new Player(startingMoney, scanner); // Pass the shared Scanner
-        dealer = new Dealer();
-        deck = new Deck();
-        deck.shuffle();
+        DataInputStream saved = loadCheckpoint();
+        int seatCount;
+        try {
+            if (saved != null) {
+                seed = saved.readLong();
+                seatCount = saved.readByte();
+            } else {
+                seed = RandomStreams.randomSeed();
+                out.print("Enter the number of seats (1-" + Table.MAX_SEATS + "): ");
+                seatCount = getValidIntegerInput();
+                while (seatCount > Table.MAX_SEATS) {
+                    out.print("Please enter a number from 1 to " + Table.MAX_SEATS + ": ");
+                    seatCount = getValidIntegerInput();
+                }
+            }
+            Player[] players = new Player[seatCount];
+            for (int i = 0; i < seatCount; i++) {
+                int startingMoney = 0;
+                if (saved == null) {
+                    out.print(seatCount == 1 ? "Enter your starting money: "
+                            : "Seat " + (i + 1) + ", enter your starting money: ");
+                    startingMoney = getValidIntegerInput();
+                }
+                players[i] = new Player(startingMoney, new ConsoleStrategy(scanner, out)); // Pass the shared Scanner
+                if (seatCount > 1) {
+                    players[i].setName("Seat " + (i + 1));
+                }
+            }
+            if (stagedCards >= 0) {
+                deck = new ContinuousShuffler(rules.getDecks(), stagedCards, seed);
+            } else {
+                deck = rules.getDecks() == 1 ? new Deck(seed) : new Shoe(rules.getDecks(), SHOE_PENETRATION, seed);
+            }
+            table = new Table(rules, deck, new Dealer(), players);
+            if (saved != null) {
+                table.readState(saved);
+                out.println("Resuming your saved game.");
+                // The game was saved before the end-of-round reshuffle
+                if (deck.needsReshuffle()) {
+                    deck.shuffle();
+                }
+            } else {
+                deck.shuffle();
+            }
+        } catch (IOException e) {
+            out.println("The saved game could not be read: " + e.getMessage());
+            return;
+        }
+        table.setEventListener(listener);
         playGameLoop();
     }
 
+    /**
+     * Reads the saved game from the checkpoint.
+     *
+     * @return The saved game, or null if there is none or it cannot be resumed.
+     */
+    private DataInputStream loadCheckpoint() {
+        if (checkpoint == null) {
+            return null;
+        }
+        try {
+            return checkpoint.load();
+        } catch (IOException | IllegalArgumentException e) {
+            out.println("The saved game could not be resumed (" + e.getMessage() + "); starting a new game.");
+            return null;
+        }
+    }
+
+    /**
+     * Saves the game as soon as a round is settled, so the cards already seen are never dealt again:
+     * the shoe's seed, the number of seats and the table's state.
+     */
+    private void saveCheckpoint() {
+        if (checkpoint == null) {
+            return;
+        }
+        try {
+            checkpoint.save(state -> {
+                state.writeLong(seed);
+                state.writeByte(table.getSeatCount());
+                table.writeState(state);
+            });
+        } catch (IOException e) {
+            out.println("The game could not be saved: " + e.getMessage());
+        }
+    }
+
     /**
      * Displays the welcome message and game rules to the player.
      */
     private void displayWelcomeMessage() {
-        System.out.println("====================================");
-        System.out.println("       Welcome to Blackjack!");
-        System.out.println("====================================\n");
-        System.out.println("** How to Play Blackjack **");
-        System.out.println("1. The goal is to have a hand value as close to 21 as possible without exceeding it.");
-        System.out.println("2. Number cards are worth their face value.");
-        System.out.println("3. Face cards (King, Queen, Jack) are worth 10.");
-        System.out.println("4. Aces can be worth 1 or 11, whichever benefits your hand more.");
-        System.out.println("5. At the start, you and the dealer are dealt two cards each.");
-        System.out.println("   - One of the dealer's cards remains hidden.");
-        System.out.println("6. You can choose to 'Hit' to draw another card or 'Stay' to keep your current hand.");
-        System.out.println("7. After your turn, the dealer reveals the hidden card and plays.");
-        System.out.println("   - The dealer must hit until their total is at least 17.");
-        System.out.println("8. The player wins by having a higher total than the dealer without busting,");
-        System.out.println("   or if the dealer busts while the player does not.\n");
-        System.out.println("Enjoy the game!\n");
-    }
-
-    /**
-     * The main game loop handling rounds until the player decides to quit or runs out of money.
+        out.println("====================================");
+        out.println("       Welcome to Blackjack!");
+        out.println("====================================\n");
+        out.println("** How to Play Blackjack **");
+        out.println("1. The goal is to have a hand value as close to 21 as possible without exceeding it.");
+        out.println("2. Number cards are worth their face value.");
+        out.println("3. Face cards (King, Queen, Jack) are worth 10.");
+        out.println("4. Aces can be worth 1 or 11, whichever benefits your hand more.");
+        out.println("5. At the start, you and the dealer are dealt two cards each.");
+        out.println("   - One of the dealer's cards remains hidden.");
+        out.println("6. You can choose to 'Hit' to draw another card or 'Stay' to keep your current hand.");
+        out.println("7. After your turn, the dealer reveals the hidden card and plays.");
+        out.println("   - The dealer must hit until their total is at least 17.");
+        out.println("8. The player wins by having a higher total than the dealer without busting,");
+        out.println("   or if the dealer busts while the player does not.\n");
+        out.println("Enjoy the game!\n");
+    }
+
+    /**
+     * The main game loop handling rounds until the players decide to quit or run out of money.
+     * Players who have run out of money sit out while the others play on.
      */
     private void playGameLoop() {
-        while (player.getMoney() > 0) {
-            System.out.println("\nYou have $" + player.getMoney());
-            System.out.print("Enter your bet: ");
-            int bet = getValidIntegerInput();
-            player.placeBet(bet);
-
-            // Initialize hands by resetting them
-            player.getHand().reset();
-            dealer.getHand().reset();
-
-            // Deal initial cards
-            player.getHand().addCard(deck.dealCard());
-            dealer.getHand().addCard(deck.dealCard());
-            player.getHand().addCard(deck.dealCard());
-            dealer.getHand().addCard(deck.dealCard());
+        while (anyPlayerHasMoney()) {
+            placeBets();
+            Dealer dealer = table.getDealer();
+
+            // Deal initial cards around the table
+            table.dealInitialCards();
 
             // Display initial hands
-            System.out.println("\nYour hand:");
-            player.getHand().displayHand(false, true); // Show total
+            for (int i = 0; i < table.getSeatCount(); i++) {
+                if (table.isInPlay(i)) {
+                    Player player = table.getSeat(i);
+                    out.println(player.getName() == null ? "\nYour hand:" : "\n" + player.getName() + "'s hand:");
+                    player.getHand().displayHand(out, false, true); // Show total
+                }
+            }
 
-            System.out.println("\nDealer's hand:");
-            dealer.getHand().displayHand(true, false); // Hide first card, do not show total
+            out.println("\nDealer's hand:");
+            dealer.getHand().displayHand(out, true, false); // Hide first card, do not show total
+
+            // Insurance when the dealer shows an Ace
+            if (table.offersInsurance()) {
+                for (int i = 0; i < table.getSeatCount(); i++) {
+                    if (table.isInPlay(i) && table.getSeat(i).getName() != null) {
+                        out.println("\n" + table.getSeat(i).getName() + ":");
+                    }
+                    table.offerInsurance(i);
+                }
+            }
 
-            // Player's turn
-            System.out.println("\n--- Player's Turn ---");
-            player.playTurn(deck);
+            // Side bets are decided on the first two cards
+            table.settleSideBets();
 
-            // Check if player busted
-            if (player.getHand().calculateTotal() > 21) {
-                System.out.println("You lose this round.");
-                continue;
+            // Each seat's turn, in dealing order, unless the dealer has Blackjack
+            if (table.dealerHasBlackjack()) {
+                out.println("\nDealer checks the hole card... Blackjack!");
+            } else {
+                for (int i = 0; i < table.getSeatCount(); i++) {
+                    if (table.isInPlay(i)) {
+                        String name = table.getSeat(i).getName();
+                        out.println("\n--- " + (name == null ? "Player" : name) + "'s Turn ---");
+                        table.playSeat(i);
+                    }
+                }
             }
 
-            // Dealer's turn
-            System.out.println("\n--- Dealer's Turn ---");
-            dealer.revealHiddenCard();
-            dealer.playTurn(deck);
+            // Dealer's turn, unless every hand busted or surrendered
+            if (table.hasLiveHands()) {
+                out.println("\n--- Dealer's Turn ---");
+                table.playDealer();
+            }
 
-            // Determine winner
-            determineWinner();
+            // Determine winners
+            table.settle();
+            saveCheckpoint();
 
-            // Check if player wants to continue
-            if (!playerWantsToContinue()) {
+            // Check if the players want to continue
+            if (!anyPlayerHasMoney() || !playerWantsToContinue()) {
                 break;
             }
 
             // Reshuffle if deck is low
-            if (deck.remainingCards() < 10) {
-                System.out.println("\nThe deck is running low on cards.");
-                System.out.println("Reshuffling the deck...");
-                deck = new Deck();
+            if (deck.needsReshuffle()) {
+                out.println("\nThe deck is running low on cards.");
+                out.println("Reshuffling the deck...");
                 deck.shuffle();
             }
         }
 
-        System.out.println("\nGame over! You leave with $" + player.getMoney() + ".");
+        for (int i = 0; i < table.getSeatCount(); i++) {
+            Player player = table.getSeat(i);
+            out.println(player.getName() == null ? "\nGame over! You leave with $" + player.getMoney() + "."
+                    : "\nGame over! " + player.getName() + " leaves with $" + player.getMoney() + ".");
+        }
+        table.endSession();
+        if (checkpoint != null) {
+            try {
+                checkpoint.delete();
+            } catch (IOException e) {
+                out.println("The saved game could not be removed: " + e.getMessage());
+            }
+        }
+        out.flush();
         scanner.close(); // Close the Scanner when done
     }
 
     /**
-     * Determines the winner of the round based on the total points of the player and dealer.
-     * Updates the player's money accordingly.
+     * Asks every seat that still has money for its bet.
      */
-    private void determineWinner() {
-        int playerTotal = player.getHand().calculateTotal();
-        int dealerTotal = dealer.getHand().calculateTotal();
+    private void placeBets() {
+        for (int i = 0; i < table.getSeatCount(); i++) {
+            Player player = table.getSeat(i);
+            if (player.getMoney() <= 0) {
+                continue;
+            }
+            if (player.getName() == null) {
+                out.println("\nYou have $" + player.getMoney());
+                out.print("Enter your bet: ");
+            } else {
+                out.println("\n" + player.getName() + " has $" + player.getMoney());
+                out.print(player.getName() + ", enter your bet: ");
+            }
+            player.placeBet(getValidIntegerInput());
+            for (SideBet bet : SideBet.values()) {
+                if (rules.isSideBetOffered(bet) && player.getMoney() > 0) {
+                    out.print(bet.getName() + " side bet (0 for none): ");
+                    player.placeSideBet(bet, getValidIntegerInput(0));
+                }
+            }
+        }
+    }
 
-        System.out.println("\n--- Determining Winner ---");
-        System.out.println("Your total: " + playerTotal);
-        System.out.println("Dealer's total: " + dealerTotal);
+    /**
+     * Checks whether any seat still has money to bet.
+     *
+     * @return True if at least one player can place a bet.
+     */
+    private boolean anyPlayerHasMoney() {
+        for (int i = 0; i < table.getSeatCount(); i++) {
+            if (table.getSeat(i).getMoney() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        if (dealerTotal > 21) {
-            System.out.println("Dealer busted! You win $" + player.getCurrentBet() + ".");
-            player.addWinnings(player.getCurrentBet() * 2);
-        } else if (playerTotal > dealerTotal) {
-            System.out.println("You win! You gain $" + player.getCurrentBet() + ".");
-            player.addWinnings(player.getCurrentBet() * 2);
+    /**
+     * Calculates the amount returned to the player at the end of a round in which the player did not bust.
+     * A win pays even money, a tie returns the bet and a loss returns nothing.
+     * Used by the {@link Table} to settle every seat.
+     *
+     * @param playerTotal The player's final total.
+     * @param dealerTotal The dealer's final total.
+     * @param bet         The amount wagered.
+     * @return The amount returned to the player, including the original bet.
+     */
+    static int payout(int playerTotal, int dealerTotal, int bet) {
+        if (dealerTotal > 21 || playerTotal > dealerTotal) {
+            return bet * 2;
         } else if (playerTotal < dealerTotal) {
-            System.out.println("Dealer wins! You lose $" + player.getCurrentBet() + ".");
+            return 0;
         } else {
-            System.out.println("It's a tie! Your bet is returned.");
-            player.addWinnings(player.getCurrentBet());
+            return bet;
         }
     }
 
@@ -153,14 +363,15 @@ public class Game {
      */
     private boolean playerWantsToContinue() {
         while (true) {
-            System.out.print("\nDo you want to play another round? (y/n): ");
+            out.print("\nDo you want to play another round? (y/n): ");
+            out.flush();
             String input = scanner.nextLine().trim().toLowerCase();
             if (input.equals("y")) {
                 return true;
             } else if (input.equals("n")) {
                 return false;
             } else {
-                System.out.println("Invalid input. Please enter 'y' to continue or 'n' to quit.");
+                out.println("Invalid input. Please enter 'y' to continue or 'n' to quit.");
             }
         }
     }
@@ -172,16 +383,28 @@ public class Game {
      * @return A valid positive integer entered by the user.
      */
     private int getValidIntegerInput() {
+        return getValidIntegerInput(1);
+    }
+
+    /**
+     * Retrieves an integer of at least the given minimum from the user.
+     * Continues to prompt until a valid input is received.
+     *
+     * @param minimum The smallest acceptable value, 0 or 1.
+     * @return A valid integer entered by the user.
+     */
+    private int getValidIntegerInput(int minimum) {
         while (true) {
             try {
+                out.flush();
                 int input = Integer.parseInt(scanner.nextLine().trim());
-                if (input > 0) {
+                if (input >= minimum) {
                     return input;
                 } else {
-                    System.out.print("Please enter a positive integer: ");
+                    out.print(minimum > 0 ? "Please enter a positive integer: " : "Please enter 0 or more: ");
                 }
             } catch (NumberFormatException e) {
-                System.out.print("Invalid input. Please enter a valid integer: ");
+                out.print("Invalid input. Please enter a valid integer: ");
             }
         }
     }
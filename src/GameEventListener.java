@@ -0,0 +1,140 @@
+package src;
+
+/**
+ * Receives the events that happen during a game of Blackjack.
+ * The game classes report what happens through a listener instead of printing, so the same code
+ * can render to the console ({@link ConsoleEventListener}), run silently ({@link NoOpEventListener})
+ * or hand events to another thread ({@link AsyncEventListener}).
+ * <p>
+ * Event arguments are values captured when the event happens. Participants are passed only to
+ * identify who the event concerns; listeners should not read their changing state.
+ *
+ * @author Kaden Godinez
+ */
+public interface GameEventListener {
+    /**
+     * Called when a shoe has been gathered and shuffled.
+     *
+     * @param decks The number of decks in the shoe.
+     */
+    void onReshuffle(int decks);
+
+    /**
+     * Called when a card is requested from a shoe that has none left, just before a fresh shoe is shuffled.
+     *
+     * @param decks The number of decks in the shoe.
+     */
+    void onShoeEmpty(int decks);
+
+    /**
+     * Called when a card is added to a participant's hand.
+     *
+     * @param participant The participant receiving the card.
+     * @param handIndex   The index of the hand receiving the card, starting at 0.
+     * @param split       Whether the participant holds more than one hand after splitting.
+     * @param card        The card dealt.
+     * @param cardCount   The number of cards in the hand after the deal.
+     * @param total       The hand total after the deal.
+     */
+    void onCardDealt(Participant participant, int handIndex, boolean split, Card card, int cardCount, int total);
+
+    /**
+     * Called when an Ace in a participant's hand is counted as 1 instead of 11 to prevent a bust.
+     *
+     * @param participant The participant whose hand changed.
+     * @param handIndex   The index of the hand that changed, starting at 0.
+     * @param split       Whether the participant holds more than one hand after splitting.
+     * @param total       The hand total after the adjustment.
+     */
+    void onAceAdjusted(Participant participant, int handIndex, boolean split, int total);
+
+    /**
+     * Called when a participant decides what to do with their hand.
+     *
+     * @param participant The participant deciding.
+     * @param handIndex   The index of the hand the decision is for, starting at 0.
+     * @param split       Whether the participant holds more than one hand after splitting.
+     * @param action      The action chosen.
+     */
+    void onDecision(Participant participant, int handIndex, boolean split, Action action);
+
+    /**
+     * Called when a participant's hand goes over 21.
+     *
+     * @param participant The participant who busted.
+     * @param handIndex   The index of the hand that busted, starting at 0.
+     * @param split       Whether the participant holds more than one hand after splitting.
+     * @param total       The final hand total.
+     */
+    void onBust(Participant participant, int handIndex, boolean split, int total);
+
+    /**
+     * Called when the dealer turns over the hidden card.
+     *
+     * @param dealer   The dealer.
+     * @param holeCard The card that was hidden.
+     * @param upcard   The card that was face up.
+     * @param total    The dealer's total.
+     */
+    void onHoleCardRevealed(Dealer dealer, Card holeCard, Card upcard, int total);
+
+    /**
+     * Called when a player places a bet.
+     *
+     * @param player         The player betting.
+     * @param requested      The amount the player asked to bet.
+     * @param bet            The amount actually bet, capped at the player's money.
+     * @param remainingMoney The player's money after the bet.
+     */
+    void onBetPlaced(Player player, int requested, int bet, int remainingMoney);
+
+    /**
+     * Called when a player takes insurance against a dealer Blackjack.
+     *
+     * @param player         The player.
+     * @param amount         The insurance bet.
+     * @param remainingMoney The player's money after the insurance bet is taken.
+     */
+    void onInsuranceTaken(Player player, int amount, int remainingMoney);
+
+    /**
+     * Called when an insurance bet is decided, before any winnings are paid.
+     *
+     * @param player The player.
+     * @param amount The insurance bet.
+     * @param payout The amount returned to the player, including the bet; 0 if the dealer has no Blackjack.
+     */
+    void onInsuranceSettled(Player player, int amount, int payout);
+
+    /**
+     * Called when a side bet is decided on the first two cards, before any winnings are paid.
+     *
+     * @param player  The player.
+     * @param bet     The side bet.
+     * @param outcome The outcome, 0 for a loss (see {@link SideBet#getOutcomeName(int)}).
+     * @param amount  The amount wagered on the side bet.
+     * @param payout  The amount returned to the player, including the bet; 0 for a loss.
+     */
+    void onSideBetSettled(Player player, SideBet bet, int outcome, int amount, int payout);
+
+    /**
+     * Called when a hand is decided, before any winnings are paid.
+     * A player who split is settled once per hand.
+     *
+     * @param player      The player.
+     * @param playerTotal The hand's final total.
+     * @param dealerTotal The dealer's final total.
+     * @param bet         The amount wagered on the hand, including any double.
+     * @param payout      The amount returned to the player, including the bet.
+     */
+    void onRoundSettled(Player player, int playerTotal, int dealerTotal, int bet, int payout);
+
+    /**
+     * Called when winnings are added to a player's money.
+     *
+     * @param player  The player paid.
+     * @param amount  The amount paid.
+     * @param balance The player's money after the payment.
+     */
+    void onPayout(Player player, int amount, int balance);
+}
@@ -0,0 +1,140 @@
+package src;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hosts Blackjack games over TCP.
+ * Every connection gets its own table: a {@link Game} with its own player, dealer and deck,
+ * run on a virtual thread so that thousands of tables can wait on their players without
+ * tying up a platform thread each.
+ * <p>
+ * The protocol is the interactive game's own text: the server sends the same lines and prompts
+ * the console game prints, and the client answers each prompt with one line
+ * (an amount, {@code h}/{@code s}, or {@code y}/{@code n}). The server closes the connection when the game ends.
+ *
+ * @author Kaden Godinez
+ */
+public class GameServer implements AutoCloseable {
+    /** Pending connections the OS may queue while the accept loop catches up with a burst of clients. */
+    private static final int BACKLOG = 4096;
+
+    private final ServerSocket serverSocket;
+    private final TableRules rules;
+    private final ExecutorService sessions;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicLong completedSessions = new AtomicLong();
+
+    /**
+     * Constructs a GameServer listening on the given port, hosting the classic single-deck game.
+     *
+     * @param port The port to listen on, or 0 to pick a free port.
+     * @throws IOException If the port cannot be opened.
+     */
+    public GameServer(int port) throws IOException {
+        this(port, Game.CLASSIC_RULES);
+    }
+
+    /**
+     * Constructs a GameServer listening on the given port, hosting games under the given rules.
+     *
+     * @param port  The port to listen on, or 0 to pick a free port.
+     * @param rules The rules every table is played under.
+     * @throws IOException If the port cannot be opened.
+     */
+    public GameServer(int port, TableRules rules) throws IOException {
+        this.rules = rules;
+        this.serverSocket = new ServerSocket(port, BACKLOG);
+        this.sessions = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Retrieves the port the server is listening on.
+     *
+     * @return The local port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Retrieves the number of games currently in progress.
+     *
+     * @return The active session count.
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Retrieves the number of games that have finished.
+     *
+     * @return The completed session count.
+     */
+    public long getCompletedSessions() {
+        return completedSessions.get();
+    }
+
+    /**
+     * Accepts connections until the server is closed, starting a game on a new virtual thread for each one.
+     *
+     * @throws IOException If accepting a connection fails for a reason other than the server closing.
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            sessions.execute(() -> runSession(socket));
+        }
+    }
+
+    /**
+     * Plays one game over a connection and closes it when the game ends or the client disconnects.
+     *
+     * @param socket The client connection.
+     */
+    private void runSession(Socket socket) {
+        activeSessions.incrementAndGet();
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            Scanner in = new Scanner(socket.getInputStream(), StandardCharsets.UTF_8);
+            PrintStream out = new PrintStream(new BufferedOutputStream(socket.getOutputStream()), false,
+                    StandardCharsets.UTF_8);
+            new Game(in, out, rules).startGame();
+        } catch (IOException | NoSuchElementException e) {
+            // The client disconnected; the table simply closes
+        } finally {
+            activeSessions.decrementAndGet();
+            completedSessions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stops accepting connections and waits for the games in progress to finish.
+     *
+     * @throws IOException If the listening socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.close();
+    }
+}
@@ -1,34 +1,32 @@
 package src;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Represents a hand of playing cards for either the player or the dealer.
  * Manages the cards in the hand and calculates the total point value.
  * Handles Ace value adjustments to prevent busting.
+ * The hard total and Ace count are maintained incrementally, so totals are constant-time.
+ * Cards are stored as compact codes (see {@link Card}) rather than Card references.
  *
  * @author Kaden Godinez
  */
 public class Hand {
-    private List<Card> cards;
-    private boolean printAceAdjustmentMessages = true;
+    private static final int INITIAL_CAPACITY = 12;
+
+    private byte[] cards;
+    private int size;
+    private int hardTotal;
+    private int aces;
 
     /**
      * Constructs a new, empty Hand.
      */
     public Hand() {
-        this.cards = new ArrayList<>();
-    }
-
-    /**
-     * Sets whether Ace adjustment messages should be printed.
-     * Useful for controlling verbosity for the dealer.
-     *
-     * @param print True to print Ace adjustment messages, false to suppress them.
-     */
-    public void setPrintAceAdjustmentMessages(boolean print) {
-        this.printAceAdjustmentMessages = print;
+        this.cards = new byte[INITIAL_CAPACITY];
     }
 
     /**
@@ -39,83 +37,150 @@ public class Hand {
      */
     public int addCard(Card card) {
         if (card != null) {
-            cards.add(card);
-            return adjustForAce();
+            return addCode(card.getCode());
         }
         return calculateTotal();
     }
 
     /**
-     * Adjusts the value of Aces from 11 to 1 if the total exceeds 21.
+     * Adds a card to the hand by its code and adjusts for Aces if necessary.
+     * Updates the running totals in constant time.
      *
-     * @return The adjusted total point value of the hand.
+     * @param code The code of the card to add, or -1 for no card.
+     * @return The new total point value of the hand after adjustments.
      */
-    private int adjustForAce() {
-        int total = calculateTotal();
-        int aces = 0;
-        for (Card card : cards) {
-            if (card.getRank().equalsIgnoreCase("Ace")) {
-                aces++;
-            }
+    public int addCode(int code) {
+        if (code < 0) {
+            return calculateTotal();
         }
-
-        while (total > 21 && aces > 0) {
-            total -= 10;
-            aces--;
-            if (printAceAdjustmentMessages) {
-                System.out.println("Adjusting Ace value from 11 to 1 to prevent bust.");
-            }
+        if (size == cards.length) {
+            cards = Arrays.copyOf(cards, size * 2);
         }
+        cards[size++] = (byte) code;
 
-        return total;
+        int value = Card.valueOf(code);
+        if (value == 11) {
+            aces++;
+            value = 1;
+        }
+        hardTotal += value;
+        return calculateTotal();
     }
 
     /**
-     * Calculates the total point value of the hand without adjusting Aces.
+     * Calculates the total point value of the hand, counting one Ace as 11 when that does not bust the hand.
      *
      * @return The total point value of the hand.
      */
     public int calculateTotal() {
-        int total = 0;
-        for (Card card : cards) {
-            total += card.getValue();
-        }
-        return total;
+        return isSoft() ? hardTotal + 10 : hardTotal;
+    }
+
+    /**
+     * Retrieves the total of the hand with every Ace counted as 1.
+     *
+     * @return The hard total of the hand.
+     */
+    public int getHardTotal() {
+        return hardTotal;
+    }
+
+    /**
+     * Checks whether the hand is soft, meaning an Ace is currently counted as 11.
+     *
+     * @return True if the hand is soft.
+     */
+    public boolean isSoft() {
+        return aces > 0 && hardTotal <= 11;
+    }
+
+    /**
+     * Checks whether the hand holds at least one Ace, whether counted as 1 or 11.
+     *
+     * @return True if the hand contains an Ace.
+     */
+    public boolean hasAce() {
+        return aces > 0;
+    }
+
+    /**
+     * Checks whether the hand has gone over 21.
+     *
+     * @return True if the hand is bust.
+     */
+    public boolean isBust() {
+        return hardTotal > 21;
+    }
+
+    /**
+     * Checks whether the hand is a natural Blackjack (an Ace and a ten-value card).
+     *
+     * @return True if the hand is a two-card 21.
+     */
+    public boolean isBlackjack() {
+        return size == 2 && aces > 0 && hardTotal == 11;
     }
 
     /**
      * Displays the cards in the hand.
      * Optionally hides the first card and shows the total point value.
      *
+     * @param out           The stream to print to.
      * @param hideFirstCard Whether to hide the first card (useful for dealer's initial hand).
      * @param showTotal     Whether to display the total point value of the hand.
      */
-    public void displayHand(boolean hideFirstCard, boolean showTotal) {
-        for (int i = 0; i < cards.size(); i++) {
+    public void displayHand(PrintStream out, boolean hideFirstCard, boolean showTotal) {
+        for (int i = 0; i < size; i++) {
             if (i == 0 && hideFirstCard) {
-                System.out.println("Hidden Card");
+                out.println("Hidden Card");
             } else {
-                System.out.println(cards.get(i));
+                out.println(Card.of(cards[i]));
             }
         }
         if (showTotal) {
-            System.out.println("Total: " + calculateTotal());
+            out.println("Total: " + calculateTotal());
         }
     }
 
     /**
-     * Retrieves the list of cards in the hand.
+     * Retrieves the cards in the hand.
+     * Builds a new list from the stored card codes, so it is intended for display rather than the hot path.
      *
      * @return A List of Card objects in the hand.
      */
     public List<Card> getCards() {
-        return cards;
+        List<Card> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(Card.of(cards[i]));
+        }
+        return list;
+    }
+
+    /**
+     * Retrieves the code of the card at the given position in the hand.
+     *
+     * @param index The position of the card, starting at 0.
+     * @return The card code.
+     */
+    public int getCode(int index) {
+        return cards[index];
+    }
+
+    /**
+     * Retrieves the number of cards in the hand.
+     *
+     * @return The card count.
+     */
+    public int size() {
+        return size;
     }
 
     /**
      * Clears all cards from the hand, resetting it for a new round.
      */
     public void reset() {
-        cards.clear();
+        size = 0;
+        hardTotal = 0;
+        aces = 0;
     }
-}
\ No newline at end of file
+}
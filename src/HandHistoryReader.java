@@ -0,0 +1,98 @@
+package src;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Reads a hand-history file written by {@link HandHistoryWriter}.
+ * The file is memory-mapped rather than read through a stream, so scanning it costs no copying and
+ * any record can be reached directly by its index. Files larger than a single mapping allows are mapped
+ * one window at a time; windows hold a whole number of records, so no record straddles two of them.
+ * <p>
+ * Records are returned through a single reusable {@link HandRecord} view, which is only valid until
+ * the next record is read.
+ *
+ * @author Kaden Godinez
+ */
+public class HandHistoryReader implements Closeable {
+    /** The size of each mapped window: a whole number of records, well under the 2 GB mapping limit. */
+    private static final long WINDOW_SIZE = (1L << 30) / HandRecord.SIZE * HandRecord.SIZE;
+
+    private final FileChannel channel;
+    private final long recordCount;
+    private final HandRecord record = new HandRecord();
+    private MappedByteBuffer window;
+    private long windowStart = -1;
+
+    /**
+     * Opens a hand-history file for reading. Records appended after it is opened are not seen.
+     *
+     * @param path The history file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public HandHistoryReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        // A partly written trailing record is ignored
+        this.recordCount = channel.size() / HandRecord.SIZE;
+    }
+
+    /**
+     * Retrieves the number of complete records in the file.
+     *
+     * @return The record count.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Reads one record.
+     *
+     * @param index The record index, starting at 0.
+     * @return The shared record view, pointed at the record.
+     * @throws IOException If the file cannot be mapped.
+     */
+    public HandRecord get(long index) throws IOException {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + recordCount);
+        }
+        long position = index * HandRecord.SIZE;
+        long start = position / WINDOW_SIZE * WINDOW_SIZE;
+        if (start != windowStart) {
+            long size = Math.min(WINDOW_SIZE, recordCount * HandRecord.SIZE - start);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            windowStart = start;
+        }
+        return record.moveTo(window, (int) (position - start));
+    }
+
+    /**
+     * Passes every record in the file, in order, to an action.
+     *
+     * @param action The action, given the shared record view.
+     * @throws IOException If the file cannot be mapped.
+     */
+    public void forEach(Consumer<HandRecord> action) throws IOException {
+        for (long i = 0; i < recordCount; i++) {
+            action.accept(get(i));
+        }
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
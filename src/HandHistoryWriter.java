@@ -0,0 +1,158 @@
+package src;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends settled hands to a binary hand-history file.
+ * Every hand is one fixed-width {@value HandRecord#SIZE}-byte record (see {@link HandRecord} for the layout),
+ * gathered in a buffer and written to the file through a {@link FileChannel} a batch at a time.
+ * The file is only ever appended to, so several runs can share it, and it is read back with a
+ * {@link HandHistoryReader}.
+ * <p>
+ * Each simulation worker records through its own writer made with {@link #forStream(int)}, which has its own
+ * buffer but shares the file; whole batches are appended under a lock, so records from different workers
+ * never interleave within a record. Closing the writer that opened the file closes the file.
+ *
+ * @author Kaden Godinez
+ */
+public class HandHistoryWriter implements Closeable {
+    private static final int BUFFER_RECORDS = 1024;
+
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final ByteBuffer buffer;
+    private final long seed;
+    private final int stream;
+
+    /**
+     * Opens a hand-history file for appending, creating it if it does not exist.
+     *
+     * @param path The history file.
+     * @param seed The seed of the run being recorded, stored in every record.
+     * @throws IOException If the file cannot be opened.
+     */
+    public HandHistoryWriter(Path path, long seed) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND),
+                true, seed, 0);
+    }
+
+    /**
+     * Constructs a writer over an open channel.
+     *
+     * @param channel     The channel records are appended to.
+     * @param ownsChannel Whether closing this writer closes the channel.
+     * @param seed        The seed stored in every record.
+     * @param stream      The random stream number stored in every record.
+     */
+    private HandHistoryWriter(FileChannel channel, boolean ownsChannel, long seed, int stream) {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.seed = seed;
+        this.stream = stream;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * HandRecord.SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Creates a writer for another random stream of the same run, appending to the same file.
+     * Must be closed (or flushed) before the writer that opened the file is closed.
+     *
+     * @param stream The stream number, such as a simulation worker's index.
+     * @return A writer with its own buffer.
+     */
+    public HandHistoryWriter forStream(int stream) {
+        return new HandHistoryWriter(channel, false, seed, stream);
+    }
+
+    /**
+     * Records one settled hand.
+     *
+     * @param round      The round number at the table, starting at 0.
+     * @param shoe       The number of shuffles of the shoe before the round, identifying the shoe it was dealt from.
+     * @param seat       The seat index.
+     * @param hand       The hand index within the seat, above 0 only after a split.
+     * @param flags      The hand's {@link HandRecord} flags.
+     * @param bet        The amount wagered on the hand, including any double.
+     * @param payout     The amount returned for the hand, including the bet.
+     * @param decisions  The hand's decisions, packed as by {@link Player#getDecisions(int)}.
+     * @param playerHand The player's final cards.
+     * @param dealerHand The dealer's final cards.
+     * @throws UncheckedIOException If a full buffer cannot be written.
+     */
+    public void record(long round, int shoe, int seat, int hand, int flags, int bet, int payout, long decisions,
+                       Hand playerHand, Hand dealerHand) {
+        if (!buffer.hasRemaining()) {
+            flushUnchecked();
+        }
+        buffer.putLong(seed);
+        buffer.putLong(round);
+        buffer.putInt(shoe);
+        buffer.put((byte) stream);
+        buffer.put((byte) seat);
+        buffer.put((byte) hand);
+        buffer.put((byte) flags);
+        buffer.putInt(bet);
+        buffer.putInt(payout);
+        buffer.putLong(decisions);
+        putCards(playerHand);
+        putCards(dealerHand);
+    }
+
+    /**
+     * Writes a card count followed by a fixed number of card slots, truncating a longer hand.
+     *
+     * @param hand The hand to write.
+     */
+    private void putCards(Hand hand) {
+        int count = Math.min(hand.size(), HandRecord.MAX_CARDS);
+        buffer.put((byte) hand.size());
+        for (int i = 0; i < HandRecord.MAX_CARDS; i++) {
+            buffer.put(i < count ? (byte) hand.getCode(i) : (byte) -1);
+        }
+    }
+
+    /**
+     * Appends the buffered records to the file.
+     *
+     * @throws IOException If the records cannot be written.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        synchronized (channel) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes from a recording method that cannot throw checked exceptions.
+     */
+    private void flushUnchecked() {
+        try {
+            flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write hand history", e);
+        }
+    }
+
+    /**
+     * Flushes the buffered records and, for the writer that opened the file, closes it.
+     *
+     * @throws IOException If the records cannot be written or the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (ownsChannel) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package src;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A view of one hand in a binary hand-history file.
+ * A HandRecord does not copy the record; it reads the fields straight out of the underlying buffer,
+ * and a {@link HandHistoryReader} moves a single view from record to record, so scanning a file allocates nothing.
+ * <p>
+ * Each record is {@value #SIZE} bytes, little-endian:
+ * <pre>
+ *  0  long  seed of the run
+ *  8  long  round number at the table
+ * 16  int   shoe number (shuffles before the round)
+ * 20  byte  random stream (simulation worker)
+ * 21  byte  seat
+ * 22  byte  hand within the seat (after splits)
+ * 23  byte  flags: natural, surrendered, insurance taken, dealer Blackjack
+ * 24  int   bet, including any double
+ * 28  int   payout, including the bet
+ * 32  long  decisions, four bits each in order from the lowest bits, holding the Action ordinal plus one
+ * 40  byte  player card count, then {@value #MAX_CARDS} card codes (-1 for an unused slot)
+ * 52  byte  dealer card count, then {@value #MAX_CARDS} card codes
+ * </pre>
+ * Hands longer than {@value #MAX_CARDS} cards keep their true count but only their first cards.
+ *
+ * @author Kaden Godinez
+ */
+public class HandRecord {
+    /** The size of a record in bytes. */
+    public static final int SIZE = 64;
+    /** The most cards stored for each hand. */
+    public static final int MAX_CARDS = 11;
+    /** The most decisions stored for each hand. */
+    public static final int MAX_DECISIONS = 16;
+
+    /** Flag: the hand was a natural Blackjack. */
+    public static final int NATURAL = 1;
+    /** Flag: the hand was surrendered. */
+    public static final int SURRENDERED = 1 << 1;
+    /** Flag: the seat took insurance (set on the seat's first hand only). */
+    public static final int INSURANCE = 1 << 2;
+    /** Flag: the dealer had a natural Blackjack. */
+    public static final int DEALER_BLACKJACK = 1 << 3;
+
+    private static final int PLAYER_CARDS = 40;
+    private static final int DEALER_CARDS = PLAYER_CARDS + 1 + MAX_CARDS;
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    /**
+     * Points this view at a record.
+     *
+     * @param buffer The buffer holding the record, in little-endian order.
+     * @param offset The position of the record in the buffer.
+     * @return This view, for chaining.
+     */
+    HandRecord moveTo(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * Retrieves the seed of the run the hand was played in.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return buffer.getLong(offset);
+    }
+
+    /**
+     * Retrieves the round number at the table.
+     *
+     * @return The round number, starting at 0.
+     */
+    public long getRound() {
+        return buffer.getLong(offset + 8);
+    }
+
+    /**
+     * Retrieves the number of shuffles before the round, which identifies the shoe the hand was dealt from.
+     *
+     * @return The shoe number.
+     */
+    public int getShoe() {
+        return buffer.getInt(offset + 16);
+    }
+
+    /**
+     * Retrieves the random stream the hand was dealt from, such as the simulation worker's index.
+     *
+     * @return The stream number.
+     */
+    public int getStream() {
+        return buffer.get(offset + 20) & 0xFF;
+    }
+
+    /**
+     * Retrieves the seat the hand was played in.
+     *
+     * @return The seat index.
+     */
+    public int getSeat() {
+        return buffer.get(offset + 21);
+    }
+
+    /**
+     * Retrieves the hand's index within its seat.
+     *
+     * @return 0, or more for hands created by splitting.
+     */
+    public int getHandIndex() {
+        return buffer.get(offset + 22);
+    }
+
+    /**
+     * Checks one of the record's flags.
+     *
+     * @param flag The flag, such as {@link #NATURAL}.
+     * @return True if the flag is set.
+     */
+    public boolean hasFlag(int flag) {
+        return (buffer.get(offset + 23) & flag) != 0;
+    }
+
+    /**
+     * Retrieves the amount wagered on the hand.
+     *
+     * @return The bet, including any double.
+     */
+    public int getBet() {
+        return buffer.getInt(offset + 24);
+    }
+
+    /**
+     * Retrieves the amount returned for the hand.
+     *
+     * @return The payout, including the bet; 0 for a loss.
+     */
+    public int getPayout() {
+        return buffer.getInt(offset + 28);
+    }
+
+    /**
+     * Counts the decisions recorded for the hand.
+     *
+     * @return The number of decisions.
+     */
+    public int getDecisionCount() {
+        long decisions = buffer.getLong(offset + 32);
+        return (Long.SIZE - Long.numberOfLeadingZeros(decisions) + 3) / 4;
+    }
+
+    /**
+     * Retrieves one of the hand's decisions.
+     *
+     * @param index The decision index, in the order they were made.
+     * @return The Action taken.
+     */
+    public Action getDecision(int index) {
+        long decisions = buffer.getLong(offset + 32);
+        return Action.of((int) (decisions >>> (4 * index) & 0xF) - 1);
+    }
+
+    /**
+     * Retrieves the number of cards in the player's hand.
+     *
+     * @return The card count, which may exceed the number of stored cards.
+     */
+    public int getPlayerCardCount() {
+        return buffer.get(offset + PLAYER_CARDS);
+    }
+
+    /**
+     * Retrieves one of the player's cards.
+     *
+     * @param index The card index, below {@link #MAX_CARDS}.
+     * @return The card code (see {@link Card}).
+     */
+    public int getPlayerCard(int index) {
+        return buffer.get(offset + PLAYER_CARDS + 1 + index);
+    }
+
+    /**
+     * Retrieves the number of cards in the dealer's hand.
+     *
+     * @return The card count, which may exceed the number of stored cards.
+     */
+    public int getDealerCardCount() {
+        return buffer.get(offset + DEALER_CARDS);
+    }
+
+    /**
+     * Retrieves one of the dealer's cards.
+     *
+     * @param index The card index, below {@link #MAX_CARDS}.
+     * @return The card code (see {@link Card}).
+     */
+    public int getDealerCard(int index) {
+        return buffer.get(offset + DEALER_CARDS + 1 + index);
+    }
+
+    /**
+     * Describes the hand on one line, for replaying a history as text.
+     *
+     * @return The description.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append("Round ").append(getRound()).append(" (shoe ").append(getShoe())
+                .append(", stream ").append(getStream()).append("), seat ").append(getSeat() + 1);
+        if (getHandIndex() > 0) {
+            text.append(" hand ").append(getHandIndex() + 1);
+        }
+        text.append(": ");
+        appendCards(text, getPlayerCardCount(), true);
+        text.append(" [");
+        for (int i = 0; i < getDecisionCount(); i++) {
+            text.append(i == 0 ? "" : " ").append(getDecision(i));
+        }
+        text.append("] vs dealer ");
+        appendCards(text, getDealerCardCount(), false);
+        text.append(", bet $").append(getBet()).append(", paid $").append(getPayout());
+        if (hasFlag(NATURAL)) {
+            text.append(", Blackjack");
+        }
+        if (hasFlag(SURRENDERED)) {
+            text.append(", surrendered");
+        }
+        if (hasFlag(INSURANCE)) {
+            text.append(", insured");
+        }
+        return text.toString();
+    }
+
+    /**
+     * Appends a hand's stored cards as card short names.
+     *
+     * @param text   The text to append to.
+     * @param count  The number of cards in the hand.
+     * @param player Whether to read the player's cards rather than the dealer's.
+     */
+    private void appendCards(StringBuilder text, int count, boolean player) {
+        int stored = Math.min(count, MAX_CARDS);
+        for (int i = 0; i < stored; i++) {
+            int code = player ? getPlayerCard(i) : getDealerCard(i);
+            text.append(i == 0 ? "" : " ").append(Card.of(code).getShortName());
+        }
+        if (count > stored) {
+            text.append(" +").append(count - stored);
+        }
+    }
+}
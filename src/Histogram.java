@@ -0,0 +1,181 @@
+package src;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Counts whole-number values in fixed-width buckets.
+ * The buckets are allocated once, so recording a value is a division and an increment. Values below the
+ * first bucket are counted in it, and values beyond the last bucket in the last, so every value is counted.
+ *
+ * @author Kaden Godinez
+ */
+public class Histogram {
+    private final long min;
+    private final long width;
+    private final long[] counts;
+    private long total;
+
+    /**
+     * Constructs an empty Histogram.
+     *
+     * @param min     The lowest value of the first bucket.
+     * @param width   The range of values each bucket covers.
+     * @param buckets The number of buckets.
+     */
+    public Histogram(long min, long width, int buckets) {
+        if (width < 1 || buckets < 1) {
+            throw new IllegalArgumentException("A histogram needs at least one bucket of positive width.");
+        }
+        this.min = min;
+        this.width = width;
+        this.counts = new long[buckets];
+    }
+
+    /**
+     * Counts a value.
+     *
+     * @param value The value.
+     */
+    public void record(long value) {
+        long bucket = Math.floorDiv(value - min, width);
+        counts[(int) Math.max(0, Math.min(counts.length - 1, bucket))]++;
+        total++;
+    }
+
+    /**
+     * Adds the counts of another histogram with the same buckets to this one.
+     *
+     * @param other The histogram to merge in.
+     * @return This Histogram, for chaining.
+     */
+    public Histogram merge(Histogram other) {
+        if (other.min != min || other.width != width || other.counts.length != counts.length) {
+            throw new IllegalArgumentException("Only histograms with the same buckets can be merged.");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        return this;
+    }
+
+    /**
+     * Retrieves the number of buckets.
+     *
+     * @return The bucket count.
+     */
+    public int getBuckets() {
+        return counts.length;
+    }
+
+    /**
+     * Retrieves the lowest value counted in a bucket (other than the first, which also counts lower values).
+     *
+     * @param bucket The bucket index.
+     * @return The bucket's lower bound.
+     */
+    public long getBucketStart(int bucket) {
+        return min + bucket * width;
+    }
+
+    /**
+     * Retrieves the number of values counted in a bucket.
+     *
+     * @param bucket The bucket index.
+     * @return The bucket's count.
+     */
+    public long getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * Retrieves the number of values counted.
+     *
+     * @return The total count.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Calculates the fraction of values at or above a threshold, counting whole buckets.
+     *
+     * @param value The threshold, best given as a bucket's lower bound.
+     * @return The fraction of values in buckets starting at or above the threshold.
+     */
+    public double fractionAtLeast(long value) {
+        if (total == 0) {
+            return 0;
+        }
+        long above = 0;
+        for (int i = counts.length - 1; i >= 0 && getBucketStart(i) >= value; i--) {
+            above += counts[i];
+        }
+        return (double) above / total;
+    }
+
+    /**
+     * Finds the bucket holding the value at a percentile of the values counted, ranking values as a sorted list
+     * of them would.
+     *
+     * @param percentile The percentile to look up, between 0 and 100.
+     * @return The lower bound of the bucket holding that value, or the first bucket's if the histogram is empty.
+     */
+    public long percentile(double percentile) {
+        long rank = Math.round(percentile / 100.0 * (total - 1));
+        long counted = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counted += counts[i];
+            if (counted > rank) {
+                return getBucketStart(i);
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Finds the highest bucket that has any values in it.
+     *
+     * @return The bucket index, or -1 if the histogram is empty.
+     */
+    public int getHighestBucket() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Writes the counts for a checkpoint.
+     *
+     * @param out The checkpoint being written.
+     * @throws IOException If the counts cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(counts.length);
+        for (long count : counts) {
+            out.writeLong(count);
+        }
+    }
+
+    /**
+     * Restores the counts written by {@link #writeState(DataOutput)} to a histogram with the same buckets.
+     *
+     * @param in The checkpoint being read.
+     * @throws IOException If the counts cannot be read or were written for a different number of buckets.
+     */
+    public void readState(DataInput in) throws IOException {
+        if (in.readInt() != counts.length) {
+            throw new IOException("Checkpoint was written for a different histogram.");
+        }
+        total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = in.readLong();
+            total += counts[i];
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package src;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A load-generating client for the {@link GameServer}.
+ * Opens many connections at once, each on its own virtual thread, and plays a fixed number of rounds
+ * on each by answering the server's prompts: it bets a fixed amount, hits below 17 and stays otherwise.
+ * Each connection takes a single seat. A session ends by answering {@code n},
+ * or by disconnecting at the next bet prompt.
+ *
+ * @author Kaden Godinez
+ */
+public class LoadGenerator {
+    private static final int STARTING_MONEY = 1_000_000;
+    private static final int BET = 10;
+    private static final int STAND_TOTAL = 17;
+    private static final int READ_TIMEOUT_MILLIS = 30_000;
+
+    private final String host;
+    private final int port;
+    private final AtomicLong roundsPlayed = new AtomicLong();
+    private final AtomicLong failedSessions = new AtomicLong();
+
+    /**
+     * Constructs a LoadGenerator for the given server.
+     *
+     * @param host The server host name.
+     * @param port The server port.
+     */
+    public LoadGenerator(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Runs the given number of concurrent sessions to completion and prints a summary.
+     *
+     * @param clients The number of concurrent connections.
+     * @param rounds  The number of rounds each connection plays.
+     */
+    public void run(int clients, int rounds) {
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.execute(() -> playSession(rounds));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println("Sessions: " + clients + " (" + failedSessions.get() + " failed)");
+        System.out.println("Rounds played: " + roundsPlayed.get());
+        System.out.printf("Elapsed time: %.3f s%n", seconds);
+        System.out.printf("Rounds/sec: %.0f%n", roundsPlayed.get() / seconds);
+    }
+
+    /**
+     * Plays one session, answering each prompt as it arrives.
+     * A prompt is any output that ends in ": ". A server that goes quiet for longer than
+     * the read timeout fails the session rather than hanging the run.
+     *
+     * @param rounds The number of rounds to play before quitting.
+     */
+    private void playSession(int rounds) {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            StringBuilder buffer = new StringBuilder();
+            int total = 0;
+            int played = 0;
+            int c;
+            while ((c = in.read()) != -1) {
+                buffer.append((char) c);
+                if (c == '\n') {
+                    String line = buffer.toString().trim();
+                    if (line.startsWith("Total: ")) {
+                        total = Integer.parseInt(line.substring("Total: ".length()));
+                    }
+                    buffer.setLength(0);
+                    continue;
+                }
+                if (c != ' ' || buffer.length() < 2 || buffer.charAt(buffer.length() - 2) != ':') {
+                    continue;
+                }
+                String prompt = buffer.toString();
+                String answer;
+                if (prompt.contains("number of seats")) {
+                    answer = "1";
+                } else if (prompt.contains("starting money")) {
+                    answer = String.valueOf(STARTING_MONEY);
+                } else if (prompt.contains("bet")) {
+                    if (played == rounds) {
+                        break;
+                    }
+                    played++;
+                    answer = String.valueOf(BET);
+                } else if (prompt.contains("insurance")) {
+                    answer = "n";
+                } else if (prompt.contains("(h/s")) {
+                    answer = total < STAND_TOTAL ? "h" : "s";
+                } else if (prompt.contains("(y/n)")) {
+                    answer = played < rounds ? "y" : "n";
+                } else {
+                    continue;
+                }
+                buffer.setLength(0);
+                out.write((answer + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+            roundsPlayed.addAndGet(played);
+        } catch (IOException | RuntimeException e) {
+            failedSessions.incrementAndGet();
+        }
+    }
+}
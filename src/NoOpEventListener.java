@@ -0,0 +1,72 @@
+package src;
+
+/**
+ * A GameEventListener that ignores every event.
+ * Used by default and by the headless simulator. The methods are empty, so once the JIT
+ * inlines them the event calls cost nothing.
+ *
+ * @author Kaden Godinez
+ */
+public final class NoOpEventListener implements GameEventListener {
+    /** The shared instance. */
+    public static final NoOpEventListener INSTANCE = new NoOpEventListener();
+
+    /**
+     * Constructs the NoOpEventListener. Use {@link #INSTANCE} instead.
+     */
+    private NoOpEventListener() {
+    }
+
+    @Override
+    public void onReshuffle(int decks) {
+    }
+
+    @Override
+    public void onShoeEmpty(int decks) {
+    }
+
+    @Override
+    public void onCardDealt(Participant participant, int handIndex, boolean split, Card card, int cardCount,
+                            int total) {
+    }
+
+    @Override
+    public void onAceAdjusted(Participant participant, int handIndex, boolean split, int total) {
+    }
+
+    @Override
+    public void onDecision(Participant participant, int handIndex, boolean split, Action action) {
+    }
+
+    @Override
+    public void onBust(Participant participant, int handIndex, boolean split, int total) {
+    }
+
+    @Override
+    public void onHoleCardRevealed(Dealer dealer, Card holeCard, Card upcard, int total) {
+    }
+
+    @Override
+    public void onBetPlaced(Player player, int requested, int bet, int remainingMoney) {
+    }
+
+    @Override
+    public void onInsuranceTaken(Player player, int amount, int remainingMoney) {
+    }
+
+    @Override
+    public void onInsuranceSettled(Player player, int amount, int payout) {
+    }
+
+    @Override
+    public void onSideBetSettled(Player player, SideBet bet, int outcome, int amount, int payout) {
+    }
+
+    @Override
+    public void onRoundSettled(Player player, int playerTotal, int dealerTotal, int bet, int payout) {
+    }
+
+    @Override
+    public void onPayout(Player player, int amount, int balance) {
+    }
+}
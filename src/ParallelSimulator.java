@@ -0,0 +1,366 @@
+package src;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs a headless simulation across several cores.
+ * The requested rounds are divided among a fixed number of workers. Each worker owns its
+ * own {@link Simulator} (and so its own table, shoe and random stream) and produces a
+ * {@link SimulationStats}; the workers' stats are merged in worker order once all have finished.
+ * For a given seed and thread count the result is always the same.
+ * <p>
+ * With a target precision or a progress listener, the rounds are played in epochs of about
+ * {@value #EPOCH_ROUNDS} rounds. After each epoch the workers' stats are merged and reported, and the run stops
+ * early once the 95% confidence interval of the house edge is as narrow as asked. Epochs always end on the same
+ * rounds, so an early-stopped run is as reproducible as a full one.
+ * <p>
+ * With a {@link Checkpoint}, the run is also saved after every epoch and, if the checkpoint already holds a
+ * saved run, resumed from it. A resumed run finishes exactly as it would have without the interruption, and a
+ * finished run deletes its checkpoint.
+ * When hands are recorded, each worker writes through its own stream of the shared {@link HandHistoryWriter}.
+ * <p>
+ * With {@link #setShufflers(int)}, the workers' shoes are shuffled ahead of time on threads of a
+ * {@link ShoePipeline}, without changing the results. With {@link #setContinuousShuffler(int)}, every worker's
+ * table is dealt from a {@link ContinuousShuffler} instead of a shoe.
+ *
+ * @author Kaden Godinez
+ */
+public class ParallelSimulator {
+    /** The approximate number of table rounds between progress reports and precision checks. */
+    public static final long EPOCH_ROUNDS = 1_000_000;
+
+    private final TableRules rules;
+    private final double penetration;
+    private final int bet;
+    private final int sessionLength;
+    private final int seats;
+    private final int threads;
+    private final PlayerStrategy strategy;
+    private CountingSystem counting;
+    private int maxBetUnits;
+    private HandHistoryWriter history;
+    private double targetPrecision;
+    private Consumer<SimulationStats> progress;
+    private Checkpoint checkpoint;
+    private int shufflers;
+    private boolean continuousShuffling;
+    private int stagedCards;
+
+    /**
+     * Constructs a ParallelSimulator.
+     *
+     * @param rules         The table rules, including the number of decks in each worker's shoe.
+     * @param penetration   The fraction of the shoe dealt before reshuffling.
+     * @param bet           The amount wagered on each round.
+     * @param sessionLength The number of rounds in a session, used for the bankroll distribution.
+     * @param seats         The number of seats at each worker's table.
+     * @param threads       The number of workers to split the rounds across.
+     * @param strategy      The strategy that makes the player's decisions; shared by all workers.
+     */
+    public ParallelSimulator(TableRules rules, double penetration, int bet, int sessionLength, int seats, int threads,
+                             PlayerStrategy strategy) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive.");
+        }
+        this.rules = rules;
+        this.penetration = penetration;
+        this.bet = bet;
+        this.sessionLength = sessionLength;
+        this.seats = seats;
+        this.threads = threads;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Has every worker count its shoe with the given system and spread its bets with the true count.
+     *
+     * @param system   The counting system, or null for flat betting.
+     * @param maxUnits The largest bet, in units of the base bet.
+     */
+    public void setCounting(CountingSystem system, int maxUnits) {
+        this.counting = system;
+        this.maxBetUnits = maxUnits;
+    }
+
+    /**
+     * Records every hand played by every worker, tagged with the worker's index as its stream.
+     *
+     * @param history The hand-history writer, or null to record nothing.
+     */
+    public void setHandHistory(HandHistoryWriter history) {
+        this.history = history;
+    }
+
+    /**
+     * Stops the run early once the house edge is known to the given precision.
+     *
+     * @param halfWidth The target half-width of the 95% confidence interval of the house edge,
+     *                  e.g. 0.0005 for &plusmn;0.05%, or 0 to always play every round.
+     */
+    public void setTargetPrecision(double halfWidth) {
+        if (halfWidth < 0) {
+            throw new IllegalArgumentException("Target precision must not be negative.");
+        }
+        this.targetPrecision = halfWidth;
+    }
+
+    /**
+     * Reports the stats gathered so far after every epoch.
+     *
+     * @param progress The listener given the merged stats, or null for no reports.
+     */
+    public void setProgressListener(Consumer<SimulationStats> progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Saves the run after every epoch and resumes it from the checkpoint if one was saved.
+     * The checkpoint is deleted once the run finishes, so running the same command again starts a new run.
+     * The checkpoint's key should identify the seed and settings of the run.
+     *
+     * @param checkpoint The checkpoint, or null to run without one.
+     */
+    public void setCheckpoint(Checkpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Shuffles every worker's shoes ahead of time on the given number of background threads.
+     *
+     * @param threads The number of shuffler threads, or 0 for every worker to shuffle its own shoes.
+     */
+    public void setShufflers(int threads) {
+        if (threads < 0) {
+            throw new IllegalArgumentException("Shuffler count must not be negative.");
+        }
+        this.shufflers = threads;
+    }
+
+    /**
+     * Deals every worker's table from a {@link ContinuousShuffler} in place of a shoe, so the penetration
+     * is not used. Cannot be combined with background shufflers, which need shoes.
+     *
+     * @param staged The number of cards each machine keeps out of reach of returned cards.
+     */
+    public void setContinuousShuffler(int staged) {
+        if (staged < 0) {
+            throw new IllegalArgumentException("Staged card count must not be negative.");
+        }
+        this.continuousShuffling = true;
+        this.stagedCards = staged;
+    }
+
+    /**
+     * Simulates the given number of table rounds across all workers and merges their results.
+     *
+     * @param rounds  The total number of table rounds to simulate, or the most to simulate with a target precision.
+     * @param streams The source of each worker's random stream.
+     * @return The combined results of the run.
+     * @throws UncheckedIOException If the checkpoint cannot be read or written.
+     * @throws IllegalStateException If continuous shufflers are to be used with background shufflers.
+     */
+    public SimulationResult run(long rounds, RandomStreams streams) {
+        if (continuousShuffling && shufflers > 0) {
+            throw new IllegalStateException("Continuous shufflers cannot be used with background shufflers.");
+        }
+        RandomGenerator[] randoms = streams.split(threads);
+        Simulator[] simulators = new Simulator[threads];
+        HandHistoryWriter[] writers = new HandHistoryWriter[threads];
+        for (int i = 0; i < threads; i++) {
+            Simulator simulator = continuousShuffling
+                    ? new Simulator(rules, new ContinuousShuffler(rules.getDecks(), stagedCards, randoms[i].nextLong()),
+                            bet, sessionLength, seats, strategy)
+                    : new Simulator(rules, penetration, bet, sessionLength, seats, randoms[i], strategy);
+            if (counting != null) {
+                simulator.useCounting(counting, maxBetUnits);
+            }
+            if (history != null) {
+                writers[i] = history.forStream(i);
+                simulator.setHandHistory(writers[i]);
+            }
+            simulators[i] = simulator;
+        }
+        boolean epochs = targetPrecision > 0 || progress != null || checkpoint != null;
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        ShoePipeline pipeline = shufflers > 0 ? new ShoePipeline(shufflers) : null;
+        try {
+            SimulationStats stats = new SimulationStats();
+            long played = resume(stats, simulators);
+            if (pipeline != null) {
+                // Only once the shoes are restored, so the pipeline starts from the right shoes
+                for (Simulator simulator : simulators) {
+                    simulator.usePipeline(pipeline);
+                }
+            }
+            while (played < rounds) {
+                long epoch = epochs ? Math.min(rounds - played, epochRounds()) : rounds;
+                stats.merge(pool.invoke(new WorkerTask(simulators, epoch, 0, threads)));
+                played += epoch;
+                if (checkpoint != null) {
+                    save(played, stats, simulators);
+                }
+                if (progress != null) {
+                    progress.accept(stats);
+                }
+                if (targetPrecision > 0 && stats.getEdge().getConfidenceHalfWidth() <= targetPrecision) {
+                    break;
+                }
+            }
+            flush(writers);
+            if (checkpoint != null) {
+                checkpoint.delete();
+            }
+            return new SimulationResult(stats, System.nanoTime() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete checkpoint", e);
+        } finally {
+            pool.shutdown();
+            if (pipeline != null) {
+                pipeline.close();
+            }
+        }
+    }
+
+    /**
+     * Restores a saved run from the checkpoint, if there is one.
+     *
+     * @param stats      The stats to restore the saved stats into.
+     * @param simulators The workers' simulators, restored to where they stopped.
+     * @return The number of table rounds already played.
+     */
+    private long resume(SimulationStats stats, Simulator[] simulators) {
+        if (checkpoint == null) {
+            return 0;
+        }
+        try {
+            DataInputStream in = checkpoint.load();
+            if (in == null) {
+                return 0;
+            }
+            long played = in.readLong();
+            stats.readState(in);
+            if (in.readInt() != simulators.length) {
+                throw new IOException("Checkpoint was written for a different number of threads.");
+            }
+            for (Simulator simulator : simulators) {
+                simulator.readState(in);
+            }
+            return played;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read checkpoint", e);
+        }
+    }
+
+    /**
+     * Saves the run to the checkpoint at the end of an epoch.
+     *
+     * @param played     The number of table rounds played.
+     * @param stats      The stats gathered so far.
+     * @param simulators The workers' simulators.
+     */
+    private void save(long played, SimulationStats stats, Simulator[] simulators) {
+        try {
+            checkpoint.save(out -> {
+                out.writeLong(played);
+                stats.writeState(out);
+                out.writeInt(simulators.length);
+                for (Simulator simulator : simulators) {
+                    simulator.writeState(out);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write checkpoint", e);
+        }
+    }
+
+    /**
+     * Sizes an epoch so that every worker plays the same whole number of sessions.
+     *
+     * @return The number of table rounds in a full epoch.
+     */
+    private long epochRounds() {
+        long perWorker = (EPOCH_ROUNDS / threads + sessionLength - 1) / sessionLength * sessionLength;
+        return perWorker * threads;
+    }
+
+    /**
+     * Writes out the hands the workers have recorded but not yet written.
+     *
+     * @param writers Each worker's hand-history writer; null entries are skipped.
+     */
+    private static void flush(HandHistoryWriter[] writers) {
+        try {
+            for (HandHistoryWriter writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write hand history", e);
+        }
+    }
+
+    /**
+     * Calculates how many rounds a worker simulates, spreading any remainder over the first workers.
+     *
+     * @param rounds The total number of rounds.
+     * @param worker The index of the worker.
+     * @return The worker's share of the rounds.
+     */
+    private long roundsFor(long rounds, int worker) {
+        return rounds / threads + (worker < rounds % threads ? 1 : 0);
+    }
+
+    /**
+     * Fork/join task covering a range of workers.
+     * Splits the range in half until a single worker remains, then runs that worker's share of the rounds.
+     */
+    private class WorkerTask extends RecursiveTask<SimulationStats> {
+        /** Tasks are serializable only through ForkJoinTask; they are never actually serialized. */
+        private static final long serialVersionUID = 1L;
+
+        private final transient Simulator[] simulators;
+        private final long rounds;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructs a WorkerTask for workers {@code from} (inclusive) to {@code to} (exclusive).
+         *
+         * @param simulators The simulator of every worker, which keeps its shoe from one epoch to the next.
+         * @param rounds     The total number of rounds across all workers.
+         * @param from       The first worker in the range.
+         * @param to         The end of the worker range.
+         */
+        WorkerTask(Simulator[] simulators, long rounds, int from, int to) {
+            this.simulators = simulators;
+            this.rounds = rounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Runs the workers in the range and merges their stats, lower worker indices first.
+         *
+         * @return The merged stats of the range.
+         */
+        @Override
+        protected SimulationStats compute() {
+            if (to - from == 1) {
+                return simulators[from].simulate(roundsFor(rounds, from));
+            }
+            int mid = (from + to) >>> 1;
+            WorkerTask right = new WorkerTask(simulators, rounds, mid, to);
+            right.fork();
+            SimulationStats left = new WorkerTask(simulators, rounds, from, mid).compute();
+            return left.merge(right.join());
+        }
+    }
+}
@@ -4,11 +4,14 @@ package src;
  * Abstract class representing a participant in the Blackjack game.
  * Can be a player or the dealer.
  * Provides a Hand and defines the playTurn method to be implemented by subclasses.
+ * Reports what happens to the hand through a {@link GameEventListener} and plays by the table's {@link TableRules}.
  *
  * @author Kaden Godinez
  */
 public abstract class Participant {
     protected Hand hand;
+    protected GameEventListener listener = NoOpEventListener.INSTANCE;
+    protected TableRules rules = TableRules.DEFAULT;
 
     /**
      * Constructs a Participant with an empty Hand.
@@ -26,11 +29,79 @@ public abstract class Participant {
         return hand;
     }
 
+    /**
+     * Retrieves the number of hands the participant holds this round.
+     *
+     * @return 1; a player holds more after splitting.
+     */
+    public int getHandCount() {
+        return 1;
+    }
+
+    /**
+     * Retrieves the index of the hand being played.
+     *
+     * @return 0; a player who split may be playing a later hand.
+     */
+    public int getCurrentHandIndex() {
+        return 0;
+    }
+
+    /**
+     * Sets the listener that receives this participant's events.
+     *
+     * @param listener The listener to report to.
+     */
+    public void setEventListener(GameEventListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the rules the participant plays by.
+     *
+     * @param rules The table rules.
+     */
+    public void setRules(TableRules rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Adds a card to the participant's hand and reports it.
+     *
+     * @param card The Card to add, or null for no card.
+     * @return The hand total after the card is added.
+     */
+    public int receiveCard(Card card) {
+        return receiveCode(card == null ? -1 : card.getCode());
+    }
+
+    /**
+     * Adds a card to the participant's hand by its code and reports it,
+     * along with any Ace that is now counted as 1 to prevent a bust.
+     *
+     * @param code The code of the card to add, or -1 for no card.
+     * @return The hand total after the card is added.
+     */
+    public int receiveCode(int code) {
+        boolean wasSoft = hand.isSoft();
+        int total = hand.addCode(code);
+        if (code >= 0) {
+            int handIndex = getCurrentHandIndex();
+            boolean split = getHandCount() > 1;
+            listener.onCardDealt(this, handIndex, split, Card.of(code), hand.size(), total);
+            if (hand.hasAce() && !hand.isSoft() && !hand.isBust() && (wasSoft || Card.isAce(code))) {
+                listener.onAceAdjusted(this, handIndex, split, total);
+            }
+        }
+        return total;
+    }
+
     /**
      * Defines the actions taken by the participant during their turn.
      * Must be implemented by subclasses.
      *
-     * @param deck The Deck from which to draw cards.
+     * @param deck         The card source from which to draw cards.
+     * @param dealerUpcard The dealer's face-up card.
      */
-    public abstract void playTurn(Deck deck);
+    public abstract void playTurn(CardSource deck, Card dealerUpcard);
 }
\ No newline at end of file
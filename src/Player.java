@@ -1,28 +1,92 @@
 package src;
 
+import java.util.Arrays;
 import java.util.Scanner;
 
 /**
- * Represents a human player in the Blackjack game.
+ * Represents a player in the Blackjack game.
  * Manages the player's money, current bet, and decision-making during their turn.
+ * Decisions are delegated to a {@link PlayerStrategy}, and bet sizes to a {@link BettingStrategy}.
+ * <p>
+ * Splitting gives the player several hands in one round, each with its own bet; they are played in order,
+ * and {@link #getHand()} returns the hand being played. The table rules decide when doubling, splitting
+ * and surrendering are allowed.
  *
  * @author Kaden Godinez
  */
 public class Player extends Participant {
     private int money;
     private int currentBet;
-    private Scanner scanner; // Shared Scanner instance
+    private PlayerStrategy strategy;
+    private BettingStrategy betting = BettingStrategy.FLAT;
+    private String name;
+    private Hand[] hands;
+    private int[] bets;
+    private boolean[] surrendered;
+    private long[] decisions;
+    private int[] decisionCounts;
+    private int handCount;
+    private int currentHand;
+    private int insuranceBet;
+    private final int[] sideBets = new int[SideBet.values().length];
+    private int sideBetTotal;
+    private long decisionsMade;
 
     /**
-     * Constructs a Player with the specified starting money and Scanner.
+     * Constructs a Player with the specified starting money who makes decisions at the console.
      *
      * @param startingMoney The initial amount of money the player has.
      * @param scanner        The Scanner object for user input.
      */
     public Player(int startingMoney, Scanner scanner) {
+        this(startingMoney, new ConsoleStrategy(scanner));
+    }
+
+    /**
+     * Constructs a Player with the specified starting money and decision strategy.
+     *
+     * @param startingMoney The initial amount of money the player has.
+     * @param strategy      The strategy consulted for each decision.
+     */
+    public Player(int startingMoney, PlayerStrategy strategy) {
         super();
         this.money = startingMoney;
-        this.scanner = scanner;
+        this.strategy = strategy;
+        allocateHands(rules.getMaxSplitHands());
+    }
+
+    /**
+     * Sets the rules the player plays by, making room for as many split hands as they allow.
+     *
+     * @param rules The table rules.
+     */
+    @Override
+    public void setRules(TableRules rules) {
+        super.setRules(rules);
+        if (rules.getMaxSplitHands() != hands.length) {
+            allocateHands(rules.getMaxSplitHands());
+        }
+    }
+
+    /**
+     * Creates the hand slots for a round, keeping the first hand.
+     *
+     * @param maxHands The most hands the player can hold.
+     */
+    private void allocateHands(int maxHands) {
+        Hand first = hand;
+        hands = new Hand[maxHands];
+        hands[0] = first;
+        for (int i = 1; i < maxHands; i++) {
+            hands[i] = new Hand();
+        }
+        bets = new int[maxHands];
+        surrendered = new boolean[maxHands];
+        decisions = new long[maxHands];
+        decisionCounts = new int[maxHands];
+        handCount = 1;
+        currentHand = 0;
+        hand = first;
     }
 
     /**
@@ -35,24 +99,60 @@ public class Player extends Participant {
     }
 
     /**
-     * Places a bet for the current round.
+     * Sets the player's money, as when restoring a checkpoint between rounds.
+     *
+     * @param money The player's money.
+     */
+    public void setMoney(int money) {
+        this.money = money;
+    }
+
+    /**
+     * Retrieves the name the player is announced by at a table with several seats.
+     *
+     * @return The player's name, or null for the only player at the table.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name the player is announced by at a table with several seats.
+     *
+     * @param name The player's name, or null for the only player at the table.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Sets how the player sizes bets. The default bets exactly the amount asked for.
+     *
+     * @param betting The betting strategy.
+     */
+    public void setBettingStrategy(BettingStrategy betting) {
+        this.betting = betting;
+    }
+
+    /**
+     * Places a bet for the current round, sized by the player's betting strategy.
      * Adjusts the bet if it exceeds the player's available money.
      *
-     * @param betAmount The amount the player wishes to bet.
+     * @param baseBet The amount the player asks to bet, which a betting strategy may scale.
      */
-    public void placeBet(int betAmount) {
+    public void placeBet(int baseBet) {
+        int betAmount = betting.nextBet(baseBet);
         if (betAmount > money) {
-            System.out.println("Insufficient funds. Placing maximum bet of $" + money + ".");
             currentBet = money;
         } else {
             currentBet = betAmount;
         }
         money -= currentBet;
-        System.out.println("Current Bet: $" + currentBet + ", Remaining Money: $" + money + ".");
+        listener.onBetPlaced(this, betAmount, currentBet, money);
     }
 
     /**
-     * Retrieves the current bet amount.
+     * Retrieves the current bet amount, the bet placed before the cards were dealt.
      *
      * @return The current bet.
      */
@@ -60,6 +160,54 @@ public class Player extends Participant {
         return currentBet;
     }
 
+    /**
+     * Clears the current bet once the round is settled, so the player sits out until the next bet is placed.
+     */
+    public void clearBet() {
+        currentBet = 0;
+        insuranceBet = 0;
+        if (sideBetTotal > 0) {
+            Arrays.fill(sideBets, 0);
+            sideBetTotal = 0;
+        }
+    }
+
+    /**
+     * Places a side bet for the current round, capped at the player's available money.
+     * Side bets are settled by {@link Table#settleSideBets()} on the first two cards.
+     *
+     * @param bet    The side bet.
+     * @param amount The amount to wager; 0 places nothing.
+     */
+    public void placeSideBet(SideBet bet, int amount) {
+        int placed = Math.min(amount, money);
+        if (placed <= 0) {
+            return;
+        }
+        sideBets[bet.ordinal()] += placed;
+        sideBetTotal += placed;
+        money -= placed;
+    }
+
+    /**
+     * Retrieves the amount placed on a side bet this round.
+     *
+     * @param bet The side bet.
+     * @return The amount wagered, or 0 if the bet was not placed.
+     */
+    public int getSideBet(SideBet bet) {
+        return sideBets[bet.ordinal()];
+    }
+
+    /**
+     * Retrieves the amount placed on all side bets this round.
+     *
+     * @return The total of the side bets.
+     */
+    public int getSideBetTotal() {
+        return sideBetTotal;
+    }
+
     /**
      * Adds winnings to the player's money.
      *
@@ -67,55 +215,314 @@ public class Player extends Participant {
      */
     public void addWinnings(int amount) {
         money += amount;
-        System.out.println("Added winnings: $" + amount + ", New Money Total: $" + money + ".");
+        listener.onPayout(this, amount, money);
+    }
+
+    /**
+     * Clears all hands for a new round, leaving the player with a single empty hand for the current bet.
+     */
+    public void resetHands() {
+        for (int i = 0; i < handCount; i++) {
+            hands[i].reset();
+            surrendered[i] = false;
+            decisions[i] = 0;
+            decisionCounts[i] = 0;
+        }
+        handCount = 1;
+        currentHand = 0;
+        hand = hands[0];
+        bets[0] = currentBet;
     }
 
     /**
-     * Prompts the player to decide whether to hit or stay.
-     * Continues to prompt until a valid input ('h' or 's') is received.
+     * Retrieves the number of hands the player holds this round.
      *
-     * @return The player's decision: "h" for hit or "s" for stay.
+     * @return 1, or more after splitting.
      */
-    public String decideHitOrStay() {
-        String decision = "";
-        while (true) {
-            System.out.print("Do you want to hit or stay? (h/s): ");
-            decision = scanner.nextLine().trim().toLowerCase();
-            if (decision.equals("h") || decision.equals("s")) {
-                break;
-            } else {
-                System.out.println("Invalid input. Please enter 'h' to hit or 's' to stay.");
-            }
+    @Override
+    public int getHandCount() {
+        return handCount;
+    }
+
+    /**
+     * Retrieves the index of the hand being played.
+     *
+     * @return The current hand index, starting at 0.
+     */
+    @Override
+    public int getCurrentHandIndex() {
+        return currentHand;
+    }
+
+    /**
+     * Retrieves one of the player's hands.
+     *
+     * @param index The hand index, starting at 0.
+     * @return The Hand.
+     */
+    public Hand getHand(int index) {
+        return hands[index];
+    }
+
+    /**
+     * Retrieves the amount wagered on one of the player's hands, including any double.
+     *
+     * @param index The hand index, starting at 0.
+     * @return The hand's bet.
+     */
+    public int getBet(int index) {
+        return bets[index];
+    }
+
+    /**
+     * Checks whether one of the player's hands was surrendered.
+     *
+     * @param index The hand index, starting at 0.
+     * @return True if the hand was surrendered.
+     */
+    public boolean isSurrendered(int index) {
+        return surrendered[index];
+    }
+
+    /**
+     * Retrieves the decisions made on one of the player's hands this round, packed four bits to a decision
+     * in the order they were made, starting from the lowest bits. Each holds the {@link Action} ordinal plus one,
+     * so an unused slot is 0. Only the first {@value HandRecord#MAX_DECISIONS} decisions are kept.
+     *
+     * @param index The hand index, starting at 0.
+     * @return The packed decisions.
+     */
+    public long getDecisions(int index) {
+        return decisions[index];
+    }
+
+    /**
+     * Retrieves the number of decisions made on one of the player's hands this round, up to
+     * {@value HandRecord#MAX_DECISIONS}.
+     *
+     * @param index The hand index, starting at 0.
+     * @return The decision count.
+     */
+    public int getDecisionCount(int index) {
+        return decisionCounts[index];
+    }
+
+    /**
+     * Checks whether one of the player's hands is a natural Blackjack. Hands formed by splitting never are.
+     *
+     * @param index The hand index, starting at 0.
+     * @return True for a two-card 21 dealt to an unsplit hand.
+     */
+    public boolean isNatural(int index) {
+        return handCount == 1 && hands[index].isBlackjack();
+    }
+
+    /**
+     * Retrieves the insurance bet placed this round.
+     *
+     * @return The insurance bet, or 0 if none was taken.
+     */
+    public int getInsuranceBet() {
+        return insuranceBet;
+    }
+
+    /**
+     * Retrieves the total amount at risk this round: every hand's bet plus any insurance and side bets.
+     *
+     * @return The total wagered.
+     */
+    public int getTotalWagered() {
+        int total = insuranceBet + sideBetTotal;
+        for (int i = 0; i < handCount; i++) {
+            total += bets[i];
         }
-        return decision;
+        return total;
     }
 
     /**
-     * Executes the player's turn, allowing them to hit or stay until they choose to stay or bust.
+     * Offers insurance against a dealer Blackjack. If the strategy accepts and the player can afford it,
+     * half the current bet is placed as an insurance bet.
      *
-     * @param deck The Deck from which to draw cards.
+     * @return True if insurance was taken.
+     */
+    public boolean offerInsurance() {
+        int amount = currentBet / 2;
+        if (amount == 0 || amount > money || !strategy.takeInsurance(hand)) {
+            return false;
+        }
+        insuranceBet = amount;
+        money -= amount;
+        listener.onInsuranceTaken(this, amount, money);
+        return true;
+    }
+
+    /**
+     * Executes the player's turn, playing each hand in order until it stands, busts, doubles or surrenders.
+     * Each decision is made by the player's strategy from the actions the table rules allow.
+     * A hand created by splitting draws its second card when its turn comes; split Aces draw one card only.
+     *
+     * @param deck         The card source from which to draw cards.
+     * @param dealerUpcard The dealer's face-up card.
      */
     @Override
-    public void playTurn(Deck deck) {
-        while (hand.calculateTotal() < 21) {
-            String decision = decideHitOrStay();
-            if (decision.equals("h")) {
-                Card newCard = deck.dealCard();
-                if (newCard == null) {
-                    System.out.println("No more cards in the deck.");
-                    break;
+    public void playTurn(CardSource deck, Card dealerUpcard) {
+        int upcard = dealerUpcard.getCode();
+        for (currentHand = 0; currentHand < handCount; currentHand++) {
+            hand = hands[currentHand];
+            playHand(deck, upcard);
+        }
+        currentHand = 0;
+        hand = hands[0];
+    }
+
+    /**
+     * Plays the current hand to the end.
+     *
+     * @param deck   The card source from which to draw cards.
+     * @param upcard The code of the dealer's face-up card.
+     */
+    private void playHand(CardSource deck, int upcard) {
+        while (true) {
+            if (hand.size() == 1) {
+                // A split hand draws its second card; split Aces stop there
+                receiveCode(deck.dealCode());
+                if (Card.isAce(hand.getCode(0))) {
+                    return;
                 }
-                System.out.println("You drew: " + newCard);
-                hand.addCard(newCard);
-                System.out.println("Total: " + hand.calculateTotal());
-                if (hand.calculateTotal() > 21) {
-                    System.out.println("You busted!");
+            }
+            if (hand.calculateTotal() >= 21) {
+                return;
+            }
+            int allowed = allowedActions();
+            Action decision = decisionsMade++ % EngineMetrics.DECISION_SAMPLE_INTERVAL == 0
+                    ? timedDecide(upcard, allowed) : strategy.decide(hand, upcard, allowed);
+            if (!decision.isAllowed(allowed)) {
+                throw new IllegalStateException("Strategy chose " + decision + ", which is not allowed here.");
+            }
+            listener.onDecision(this, currentHand, handCount > 1, decision);
+            recordDecision(decision);
+            switch (decision) {
+                case HIT:
+                    if (!draw(deck)) {
+                        return;
+                    }
                     break;
-                }
-            } else {
-                System.out.println("You chose to stay.");
-                break;
+                case DOUBLE:
+                    money -= bets[currentHand];
+                    bets[currentHand] *= 2;
+                    draw(deck);
+                    return;
+                case SPLIT:
+                    split();
+                    break;
+                case SURRENDER:
+                    surrendered[currentHand] = true;
+                    return;
+                default:
+                    return;
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Has the strategy decide for the current hand, timing the decision for the engine metrics
+     * and any running flight recording.
+     *
+     * @param upcard  The code of the dealer's face-up card.
+     * @param allowed The actions the table rules allow, as a bit set.
+     * @return The strategy's decision.
+     */
+    private Action timedDecide(int upcard, int allowed) {
+        DecisionEvent event = new DecisionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Action decision = strategy.decide(hand, upcard, allowed);
+        EngineMetrics.INSTANCE.recordDecisionTime(System.nanoTime() - start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.action = decision.name();
+            event.playerTotal = hand.calculateTotal();
+            event.dealerUpcard = Card.valueOf(upcard);
+            event.commit();
+        }
+        return decision;
+    }
+
+    /**
+     * Adds a decision to the current hand's packed decisions.
+     *
+     * @param decision The action taken.
+     */
+    private void recordDecision(Action decision) {
+        int count = decisionCounts[currentHand];
+        if (count < HandRecord.MAX_DECISIONS) {
+            decisions[currentHand] |= (long) (decision.ordinal() + 1) << (4 * count);
+            decisionCounts[currentHand] = count + 1;
+        }
+    }
+
+    /**
+     * Draws a card into the current hand, reporting a bust.
+     *
+     * @param deck The card source from which to draw.
+     * @return True if the hand can keep playing; false if it busted or the shoe ran out.
+     */
+    private boolean draw(CardSource deck) {
+        int code = deck.dealCode();
+        if (code < 0) {
+            return false;
+        }
+        receiveCode(code);
+        if (hand.isBust()) {
+            listener.onBust(this, currentHand, handCount > 1, hand.calculateTotal());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Moves the second card of the current pair into a new hand with a matching bet.
+     * The new hand is played after the hands already in front of it.
+     */
+    private void split() {
+        int first = hand.getCode(0);
+        int second = hand.getCode(1);
+        hand.reset();
+        hand.addCode(first);
+        Hand next = hands[handCount];
+        next.reset();
+        next.addCode(second);
+        bets[handCount] = bets[currentHand];
+        surrendered[handCount] = false;
+        decisions[handCount] = 0;
+        decisionCounts[handCount] = 0;
+        money -= bets[currentHand];
+        handCount++;
+    }
+
+    /**
+     * Works out which actions the table rules and the player's money allow for the current hand.
+     *
+     * @return A mask of allowed actions.
+     */
+    private int allowedActions() {
+        int allowed = Action.HIT_OR_STAND;
+        if (hand.size() != 2) {
+            return allowed;
+        }
+        boolean canAfford = money >= bets[currentHand];
+        boolean split = handCount > 1;
+        if (canAfford && (!split || rules.isDoubleAfterSplit())) {
+            allowed |= Action.DOUBLE.mask();
+        }
+        int first = hand.getCode(0);
+        if (canAfford && handCount < hands.length && Card.valueOf(first) == Card.valueOf(hand.getCode(1))
+                && !(split && Card.isAce(first))) {
+            allowed |= Action.SPLIT.mask();
+        }
+        if (!split && rules.isSurrender()) {
+            allowed |= Action.SURRENDER.mask();
+        }
+        return allowed;
+    }
+}
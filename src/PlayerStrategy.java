@@ -0,0 +1,33 @@
+package src;
+
+/**
+ * Decides what a player does with their hand.
+ * Consulted by {@link Player#playTurn(CardSource, Card)} for each decision, including in the headless
+ * {@link Simulator}.
+ * Implementations used by the simulator must be safe to share between threads.
+ *
+ * @author Kaden Godinez
+ */
+public interface PlayerStrategy {
+    /**
+     * Chooses the next action for the given hand.
+     *
+     * @param hand           The player's current hand.
+     * @param dealerUpcard   The code of the dealer's face-up card (see {@link Card}).
+     * @param allowedActions The actions open to the player, as a mask of {@link Action#mask()} bits.
+     *                       Always includes hit and stand.
+     * @return The action to take, which must be one of the allowed actions.
+     */
+    Action decide(Hand hand, int dealerUpcard, int allowedActions);
+
+    /**
+     * Decides whether to take insurance when the dealer shows an Ace.
+     * Basic strategy never does, so that is the default.
+     *
+     * @param hand The player's first two cards.
+     * @return True to place an insurance bet of half the original bet.
+     */
+    default boolean takeInsurance(Hand hand) {
+        return false;
+    }
+}
@@ -0,0 +1,135 @@
+package src;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Creates reproducible random number streams for shuffling.
+ * All streams are split from a single root generator created from an explicit seed,
+ * so a run can be replayed exactly by reusing its seed. Each thread should use its own
+ * stream, which avoids the contention of a shared {@link java.util.Random}.
+ *
+ * @author Kaden Godinez
+ */
+public class RandomStreams {
+    /** The algorithm used when none is specified. */
+    public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+    /** The odd constant SplitMix64 adds to its state for every number: 2^64 divided by the golden ratio. */
+    public static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final RandomGeneratorFactory<RandomGenerator> SHOE_FACTORY =
+            RandomGeneratorFactory.of(DEFAULT_ALGORITHM);
+
+    private final long seed;
+    private final SplittableGenerator root;
+
+    /**
+     * Constructs RandomStreams using the default algorithm and the given seed.
+     *
+     * @param seed The seed for the root generator.
+     */
+    public RandomStreams(long seed) {
+        this(DEFAULT_ALGORITHM, seed);
+    }
+
+    /**
+     * Constructs RandomStreams using the named algorithm and the given seed.
+     *
+     * @param algorithm The name of a splittable {@link RandomGenerator} algorithm,
+     *                  such as "L64X128MixRandom" or "SplittableRandom".
+     * @param seed      The seed for the root generator.
+     */
+    public RandomStreams(String algorithm, long seed) {
+        RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(algorithm);
+        if (!factory.isSplittable()) {
+            throw new IllegalArgumentException("Random algorithm " + algorithm + " is not splittable.");
+        }
+        this.seed = seed;
+        this.root = (SplittableGenerator) factory.create(seed);
+    }
+
+    /**
+     * Picks a fresh seed for runs that were not given one.
+     * The seed should be reported so the run can be replayed.
+     *
+     * @return A randomly chosen seed.
+     */
+    public static long randomSeed() {
+        return new SplittableRandom().nextLong();
+    }
+
+    /**
+     * Creates the generator for one shoe of a reseeding {@link Shoe}. The generator depends only on the seed
+     * and the shoe number, so any shoe can be dealt again without replaying the shoes before it.
+     *
+     * @param seed The shoe sequence's seed.
+     * @param shoe The shoe number, starting at 0.
+     * @return A new generator for shuffling that shoe.
+     */
+    public static RandomGenerator forShoe(long seed, long shoe) {
+        // The algorithm scrambles its seed, so distinct inputs give unrelated streams
+        return SHOE_FACTORY.create(seed ^ shoe * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Works out the starting state of one round's random numbers for a {@link ContinuousShuffler}, which needs a
+     * new stream every round. Like {@link #forShoe(long, long)}, the stream depends only on the seed and the round
+     * number, but no generator is created: the machine steps the state itself, adding {@link #GOLDEN_GAMMA} and
+     * scrambling the sum with {@link #mix64(long)} for every number, as a {@link SplittableRandom} does.
+     *
+     * @param seed  The machine's seed.
+     * @param round The round number.
+     * @return The round's starting state.
+     */
+    public static long roundState(long seed, long round) {
+        return mix64(seed ^ round * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Scrambles 64 bits with the SplitMix64 finalizer, so nearby inputs give unrelated outputs.
+     *
+     * @param z The bits to scramble.
+     * @return The scrambled bits.
+     */
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Retrieves the seed of the root generator.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Splits off the next independent stream from the root generator.
+     * Streams are handed out in a fixed order, so the n-th call always yields the same stream for a given seed.
+     *
+     * @return A new generator for use by a single thread.
+     */
+    public synchronized SplittableGenerator nextStream() {
+        return root.split();
+    }
+
+    /**
+     * Splits off several independent streams at once, one per worker.
+     *
+     * @param count The number of streams to create.
+     * @return An array of new generators.
+     */
+    public synchronized SplittableGenerator[] split(int count) {
+        SplittableGenerator[] streams = new SplittableGenerator[count];
+        for (int i = 0; i < count; i++) {
+            streams[i] = root.split();
+        }
+        return streams;
+    }
+}
@@ -0,0 +1,33 @@
+package src;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight-recorder event marking a shoe being shuffled or loaded.
+ * A simulation can reshuffle many thousands of times a second, so the event is off unless a recording enables it.
+ *
+ * @author Kaden Godinez
+ */
+@Name("blackjack.Reshuffle")
+@Label("Blackjack Reshuffle")
+@Category("Blackjack")
+@Description("A shoe was shuffled or replaced with a shuffled shoe")
+@StackTrace(false)
+@Enabled(false)
+public class ReshuffleEvent extends jdk.jfr.Event {
+    @Label("Decks")
+    int decks;
+
+    @Label("Cards Dealt")
+    @Description("Cards dealt from the shoe before the reshuffle")
+    int cardsDealt;
+
+    @Label("Shoe")
+    @Description("The number of the shoe now being dealt, counting from 1")
+    int shoe;
+}
@@ -0,0 +1,33 @@
+package src;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight-recorder event marking the end of a session at a table, from which the sessions played at each table
+ * can be counted.
+ * A simulation can finish many thousands of sessions a second, so the event is off unless a recording enables it.
+ *
+ * @author Kaden Godinez
+ */
+@Name("blackjack.Session")
+@Label("Blackjack Session")
+@Category("Blackjack")
+@Description("A session of rounds finished at a table")
+@StackTrace(false)
+@Enabled(false)
+public class SessionEvent extends jdk.jfr.Event {
+    @Label("Table")
+    long table;
+
+    @Label("Session")
+    @Description("The number of the session at its table, counting from 1")
+    long session;
+
+    @Label("Rounds")
+    long rounds;
+}
@@ -0,0 +1,130 @@
+package src;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Follows the results of a number of seats through a session, for the bankroll, drawdown and streak statistics.
+ * Each seat keeps its session's net result, initial bets and lowest point, and its current winning or losing streak,
+ * which carries on from one session to the next.
+ *
+ * @author Kaden Godinez
+ */
+public class SessionTracker {
+    private final int bet;
+    private final long[] sessionNet;
+    private final long[] sessionWagered;
+    private final long[] sessionLow;
+    private final int[] streaks;
+
+    /**
+     * Constructs a SessionTracker.
+     *
+     * @param seats The number of seats to follow.
+     * @param bet   The betting unit, in which session results and drawdowns are measured.
+     */
+    public SessionTracker(int seats, int bet) {
+        this.bet = bet;
+        this.sessionNet = new long[seats];
+        this.sessionWagered = new long[seats];
+        this.sessionLow = new long[seats];
+        this.streaks = new int[seats];
+    }
+
+    /**
+     * Clears every seat's session results.
+     */
+    public void startSession() {
+        Arrays.fill(sessionNet, 0);
+        Arrays.fill(sessionWagered, 0);
+        Arrays.fill(sessionLow, 0);
+    }
+
+    /**
+     * Adds a seat's initial bet on a round to its session.
+     *
+     * @param seat   The seat index.
+     * @param amount The initial bet.
+     */
+    public void recordBet(int seat, int amount) {
+        sessionWagered[seat] += amount;
+    }
+
+    /**
+     * Adds a seat's result on a round to its session and its streak.
+     *
+     * @param stats The stats to record any streak the round ends to.
+     * @param seat  The seat index.
+     * @param net   The seat's net result for the round.
+     */
+    public void recordResult(SimulationStats stats, int seat, long net) {
+        sessionNet[seat] += net;
+        sessionLow[seat] = Math.min(sessionLow[seat], sessionNet[seat]);
+        recordStreak(stats, seat, net);
+    }
+
+    /**
+     * Records the session result and drawdown of the first seats.
+     *
+     * @param stats  The stats to record the sessions to.
+     * @param length The number of rounds in the session.
+     * @param seats  The number of seats, counted from the first, that played the session.
+     */
+    public void endSession(SimulationStats stats, int length, int seats) {
+        for (int seat = 0; seat < seats; seat++) {
+            stats.recordSession(length, sessionWagered[seat], sessionNet[seat], bet);
+            // Round up, so any loss beyond a whole number of units counts as reaching the next unit
+            stats.recordDrawdown((-sessionLow[seat] + bet - 1) / bet);
+        }
+    }
+
+    /**
+     * Extends a seat's current winning or losing streak, recording the streak it ends, if any.
+     *
+     * @param stats The stats to record to.
+     * @param seat  The seat index.
+     * @param net   The seat's net result for the round; 0 for a push, which leaves the streak alone.
+     */
+    private void recordStreak(SimulationStats stats, int seat, long net) {
+        int streak = streaks[seat];
+        if (net > 0) {
+            if (streak < 0) {
+                stats.recordStreak(-streak, false);
+                streak = 0;
+            }
+            streaks[seat] = streak + 1;
+        } else if (net < 0) {
+            if (streak > 0) {
+                stats.recordStreak(streak, true);
+                streak = 0;
+            }
+            streaks[seat] = streak - 1;
+        }
+    }
+
+    /**
+     * Writes every seat's current streak for a checkpoint; the session results are not kept between sessions.
+     *
+     * @param out The checkpoint being written.
+     * @throws IOException If the streaks cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        for (int streak : streaks) {
+            out.writeInt(streak);
+        }
+    }
+
+    /**
+     * Restores the streaks written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The checkpoint being read.
+     * @throws IOException If the streaks cannot be read.
+     */
+    public void readState(DataInput in) throws IOException {
+        for (int seat = 0; seat < streaks.length; seat++) {
+            streaks[seat] = in.readInt();
+        }
+    }
+}
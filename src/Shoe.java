@@ -0,0 +1,382 @@
+package src;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Represents a dealing shoe holding one or more standard 52-card decks.
+ * Cards are held as compact codes (see {@link Card}) in a single array built once at construction.
+ * Dealing advances a position index, and reshuffling permutes the same array in place,
+ * so neither allocates. A cut card marks how deep into the shoe play continues before a reshuffle is due.
+ * <p>
+ * Each shoe shuffles with its own {@link RandomGenerator}. Supplying a seeded generator
+ * (see {@link RandomStreams}) makes every shuffle reproducible. A shoe constructed with a seed instead
+ * reseeds itself for every shuffle from the seed and the shoe number, starting each time from deck order,
+ * so the cards of any shoe depend on nothing else. Such a shoe's whole state is its shoe number and position,
+ * which is what {@link #writeState(DataOutput)} saves for a checkpoint. Such a shoe can also take its shoes,
+ * already shuffled, from a {@link ShoePipeline}.
+ * <p>
+ * A {@link CardCounter} can be attached to keep a running count as cards are dealt.
+ * <p>
+ * A shoe is the discrete {@link CardSource}; compare the {@link ContinuousShuffler}.
+ *
+ * @author Kaden Godinez
+ */
+public class Shoe implements CardSource {
+    /** The largest number of decks a shoe can hold. */
+    public static final int MAX_DECKS = 8;
+
+    private final byte[] cards;
+    private RandomGenerator random;
+    private final long seed;
+    private final boolean reseeding;
+    private final int decks;
+    private final int cutCard;
+    private int position;
+    private int shuffleCount;
+    private GameEventListener listener = NoOpEventListener.INSTANCE;
+    private CardCounter counter;
+    private ShoePipeline.Feed feed;
+
+    /**
+     * Constructs a Shoe with the given number of decks and cut-card penetration,
+     * shuffled by an unseeded generator.
+     * The shoe starts in deck order; call {@link #shuffle()} before dealing.
+     *
+     * @param decks       The number of decks in the shoe, from 1 to {@value #MAX_DECKS}.
+     * @param penetration The fraction of the shoe dealt before the cut card is reached, greater than 0 and at most 1.
+     */
+    public Shoe(int decks, double penetration) {
+        this(decks, penetration, new RandomStreams(RandomStreams.randomSeed()).nextStream());
+    }
+
+    /**
+     * Constructs a Shoe with the given number of decks, cut-card penetration and random generator.
+     * The shoe starts in deck order; call {@link #shuffle()} before dealing.
+     *
+     * @param decks       The number of decks in the shoe, from 1 to {@value #MAX_DECKS}.
+     * @param penetration The fraction of the shoe dealt before the cut card is reached, greater than 0 and at most 1.
+     * @param random      The generator used for shuffling. It must not be shared with other threads.
+     */
+    public Shoe(int decks, double penetration, RandomGenerator random) {
+        this(decks, penetration, random, 0, false);
+    }
+
+    /**
+     * Constructs a reseeding Shoe with the given number of decks and cut-card penetration.
+     * Every shuffle starts from deck order and uses a generator made from the seed and the shoe number
+     * (see {@link RandomStreams#forShoe(long, long)}).
+     * The shoe starts in deck order; call {@link #shuffle()} before dealing.
+     *
+     * @param decks       The number of decks in the shoe, from 1 to {@value #MAX_DECKS}.
+     * @param penetration The fraction of the shoe dealt before the cut card is reached, greater than 0 and at most 1.
+     * @param seed        The seed of the sequence of shoes.
+     */
+    public Shoe(int decks, double penetration, long seed) {
+        this(decks, penetration, null, seed, true);
+    }
+
+    /**
+     * Constructs a Shoe.
+     *
+     * @param decks       The number of decks in the shoe.
+     * @param penetration The fraction of the shoe dealt before the cut card is reached.
+     * @param random      The generator used for shuffling, or null for a reseeding shoe.
+     * @param seed        The seed of a reseeding shoe.
+     * @param reseeding   Whether the shoe reseeds itself for every shuffle.
+     */
+    private Shoe(int decks, double penetration, RandomGenerator random, long seed, boolean reseeding) {
+        if (decks < 1 || decks > MAX_DECKS) {
+            throw new IllegalArgumentException("A shoe must hold between 1 and " + MAX_DECKS + " decks.");
+        }
+        if (!(penetration > 0 && penetration <= 1)) {
+            throw new IllegalArgumentException("Penetration must be greater than 0 and at most 1.");
+        }
+        this.random = random;
+        this.seed = seed;
+        this.reseeding = reseeding;
+        this.decks = decks;
+        this.cards = new byte[decks * Card.CARDS_PER_DECK];
+        this.cutCard = (int) Math.round(cards.length * penetration);
+        fillInDeckOrder();
+    }
+
+    /**
+     * Puts every card back in deck order.
+     */
+    private void fillInDeckOrder() {
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) (i % Card.CARDS_PER_DECK);
+        }
+    }
+
+    /**
+     * Sets the listener that is told about reshuffles and attempts to deal from an empty shoe.
+     *
+     * @param listener The listener to report to.
+     */
+    @Override
+    public void setEventListener(GameEventListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Attaches a counter that sees every card dealt from the shoe and is reset on every shuffle.
+     *
+     * @param counter The counter, or null to stop counting.
+     */
+    @Override
+    public void setCounter(CardCounter counter) {
+        this.counter = counter;
+        recount();
+    }
+
+    /**
+     * Brings the attached counter, if any, up to date with the cards dealt from the current shoe.
+     */
+    private void recount() {
+        if (counter != null) {
+            counter.reset();
+            for (int i = 0; i < position; i++) {
+                counter.count(cards[i]);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the attached counter.
+     *
+     * @return The counter, or null if none is attached.
+     */
+    public CardCounter getCounter() {
+        return counter;
+    }
+
+    /**
+     * Has a pipeline shuffle this shoe's next shoes in the background, starting with the next reshuffle.
+     * The shoe deals the same cards as it would without the pipeline.
+     *
+     * @param pipeline The pipeline.
+     * @throws IllegalStateException If the shoe does not reseed itself, so its shoes cannot be made elsewhere.
+     */
+    public void usePipeline(ShoePipeline pipeline) {
+        if (!reseeding) {
+            throw new IllegalStateException("Only a shoe constructed with a seed can use a pipeline.");
+        }
+        feed = pipeline.register(decks, seed, shuffleCount);
+    }
+
+    /**
+     * Gathers every card back into the shoe and shuffles it in place with a Fisher-Yates shuffle,
+     * or takes the next shoe from the pipeline.
+     */
+    @Override
+    public void shuffle() {
+        if (feed != null) {
+            feed.take(shuffleCount, cards);
+        } else {
+            if (reseeding) {
+                fillInDeckOrder();
+                random = RandomStreams.forShoe(seed, shuffleCount);
+            }
+            shuffle(cards, 0, cards.length, random);
+        }
+        EngineMetrics.INSTANCE.recordReshuffle(decks, position, shuffleCount + 1);
+        position = 0;
+        shuffleCount++;
+        if (counter != null) {
+            counter.reset();
+        }
+        listener.onReshuffle(decks);
+    }
+
+    /**
+     * Replaces the shoe with one shuffled elsewhere, as when many simulations are dealt the same shoes.
+     * Counts as a shuffle: the shoe number advances, an attached counter is reset and the listener is told.
+     *
+     * @param shoes  An array holding shuffled shoes of this shoe's size, one after another.
+     * @param offset The position of the shoe to load.
+     */
+    public void load(byte[] shoes, int offset) {
+        System.arraycopy(shoes, offset, cards, 0, cards.length);
+        EngineMetrics.INSTANCE.recordReshuffle(decks, position, shuffleCount + 1);
+        position = 0;
+        shuffleCount++;
+        if (counter != null) {
+            counter.reset();
+        }
+        listener.onReshuffle(decks);
+    }
+
+    /**
+     * Writes the cards of a reseeding shoe into an array, in the order that shoe is dealt.
+     * The result is the same as shuffling a shoe constructed with the same seed that many times.
+     *
+     * @param decks  The number of decks in the shoe.
+     * @param seed   The seed of the sequence of shoes.
+     * @param shoe   The shoe number, starting at 0.
+     * @param into   The array to write the cards into.
+     * @param offset The position in the array to write the shoe to.
+     */
+    public static void shuffled(int decks, long seed, long shoe, byte[] into, int offset) {
+        int length = decks * Card.CARDS_PER_DECK;
+        for (int i = 0; i < length; i++) {
+            into[offset + i] = (byte) (i % Card.CARDS_PER_DECK);
+        }
+        shuffle(into, offset, length, RandomStreams.forShoe(seed, shoe));
+    }
+
+    /**
+     * Shuffles part of an array in place with a Fisher-Yates shuffle.
+     *
+     * @param cards  The cards.
+     * @param offset The position of the first card to shuffle.
+     * @param length The number of cards to shuffle.
+     * @param random The generator to shuffle with.
+     */
+    private static void shuffle(byte[] cards, int offset, int length, RandomGenerator random) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte swap = cards[offset + i];
+            cards[offset + i] = cards[offset + j];
+            cards[offset + j] = swap;
+        }
+    }
+
+    /**
+     * Deals the top card from the shoe as a card code. A shoe that runs out in the middle of a round is replaced
+     * by a fresh one, shuffled as usual, so every hand is dealt in full.
+     *
+     * @return The code of the top card.
+     */
+    @Override
+    public int dealCode() {
+        if (position >= cards.length) {
+            listener.onShoeEmpty(decks);
+            shuffle();
+        }
+        int code = cards[position++];
+        if (counter != null) {
+            counter.count(code);
+        }
+        return code;
+    }
+
+    /**
+     * Checks whether the cut card has been reached and the shoe should be reshuffled before the next round.
+     *
+     * @return True if a reshuffle is due.
+     */
+    @Override
+    public boolean needsReshuffle() {
+        return position >= cutCard;
+    }
+
+    /**
+     * Retrieves the number of remaining cards in the shoe.
+     *
+     * @return The count of remaining cards.
+     */
+    @Override
+    public int remainingCards() {
+        return cards.length - position;
+    }
+
+    /**
+     * Counts the undealt cards of each value, in the layout used by {@link DealerOutcomeAnalyzer}.
+     *
+     * @return The count of each remaining card value, indexed by {@link Card#valueOf(int)}.
+     */
+    public int[] remainingComposition() {
+        int[] composition = new int[DealerOutcomeAnalyzer.COMPOSITION_LENGTH];
+        for (int i = position; i < cards.length; i++) {
+            composition[Card.valueOf(cards[i])]++;
+        }
+        return composition;
+    }
+
+    /**
+     * Counts the undealt cards with each card code, the layout used by {@link SideBet#houseEdge(int[])}.
+     *
+     * @return The count of each remaining card code, 0-51.
+     */
+    public int[] remainingCodes() {
+        int[] counts = new int[Card.CARDS_PER_DECK];
+        for (int i = position; i < cards.length; i++) {
+            counts[cards[i]]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Retrieves the number of decks in the shoe.
+     *
+     * @return The deck count.
+     */
+    @Override
+    public int getDecks() {
+        return decks;
+    }
+
+    /**
+     * Retrieves the number of times the shoe has been shuffled, which numbers the shoes dealt from it.
+     *
+     * @return The shuffle count.
+     */
+    @Override
+    public int getShuffleCount() {
+        return shuffleCount;
+    }
+
+    /**
+     * Writes the shoe's state for a checkpoint: the shoe number and how far it has been dealt.
+     *
+     * @param out The checkpoint being written.
+     * @throws IOException If the state cannot be written.
+     * @throws IllegalStateException If the shoe does not reseed itself, so its state cannot be captured.
+     */
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        if (!reseeding) {
+            throw new IllegalStateException("Only a shoe constructed with a seed can be checkpointed.");
+        }
+        out.writeInt(shuffleCount);
+        out.writeShort(position);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)}, dealing the same shoe again up to the same
+     * card. An attached counter is brought up to date; the listener is not told about the reshuffle.
+     *
+     * @param in The checkpoint being read.
+     * @throws IOException If the state cannot be read.
+     */
+    @Override
+    public void readState(DataInput in) throws IOException {
+        int shuffles = in.readInt();
+        int dealt = in.readShort();
+        if (!reseeding) {
+            throw new IllegalStateException("Only a shoe constructed with a seed can be checkpointed.");
+        }
+        if (feed != null) {
+            throw new IllegalStateException("A shoe must be restored before it uses a pipeline.");
+        }
+        if (shuffles < 0 || dealt < 0 || dealt > cards.length) {
+            throw new IOException("Invalid shoe state in checkpoint.");
+        }
+        GameEventListener quiet = listener;
+        listener = NoOpEventListener.INSTANCE;
+        if (shuffles > 0) {
+            shuffleCount = shuffles - 1;
+            shuffle();
+        } else {
+            shuffleCount = 0;
+            fillInDeckOrder();
+        }
+        listener = quiet;
+        position = dealt;
+        recount();
+    }
+}
@@ -0,0 +1,213 @@
+package src;
+
+import java.io.Closeable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Shuffles shoes ahead of time on background threads, so the threads dealing from them never stop to shuffle.
+ * A reseeding {@link Shoe} attached with {@link Shoe#usePipeline(ShoePipeline)} gets a {@link Feed}: a small ring
+ * of shoe buffers that one of the pipeline's shuffler threads keeps filled with the shoe's next shoes, in order.
+ * When the shoe reshuffles it copies the next ready shoe in and hands the buffer back to be filled again.
+ * <p>
+ * Every shoe is made by {@link Shoe#shuffled(int, long, long, byte[], int)} from the shoe's seed and shoe number,
+ * so a shoe deals exactly the same cards with or without a pipeline, however many shufflers there are.
+ * <p>
+ * Each ring has one producer (the shuffler it was assigned to) and one consumer (the thread dealing from the shoe),
+ * so filling and taking need no locks: each side publishes its position with a release write and reads the
+ * other's with an acquire read. A shuffler with nothing to fill parks until a shoe is taken; a shoe that finds its
+ * ring empty spins briefly and then parks until the next shoe is ready.
+ *
+ * @author Kaden Godinez
+ */
+public class ShoePipeline implements Closeable {
+    /** The number of shoes each feed holds ready. */
+    public static final int FEED_SHOES = 4;
+
+    private static final int SPINS = 100;
+
+    private final Shuffler[] shufflers;
+    private int nextShuffler;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a ShoePipeline and starts its shuffler threads.
+     *
+     * @param threads The number of shuffler threads.
+     */
+    public ShoePipeline(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("A pipeline needs at least one shuffler thread.");
+        }
+        shufflers = new Shuffler[threads];
+        for (int i = 0; i < threads; i++) {
+            shufflers[i] = new Shuffler();
+            shufflers[i].thread = new Thread(shufflers[i], "shoe-shuffler-" + i);
+            shufflers[i].thread.setDaemon(true);
+            shufflers[i].thread.start();
+        }
+    }
+
+    /**
+     * Creates a feed of shoes for a reseeding shoe and assigns it to a shuffler. Called by
+     * {@link Shoe#usePipeline(ShoePipeline)}.
+     *
+     * @param decks The number of decks in the shoe.
+     * @param seed  The seed of the shoe's sequence of shoes.
+     * @param first The number of the first shoe the feed supplies.
+     * @return The feed.
+     */
+    synchronized Feed register(int decks, long seed, long first) {
+        if (!running) {
+            throw new IllegalStateException("The pipeline has been closed.");
+        }
+        Shuffler shuffler = shufflers[nextShuffler];
+        nextShuffler = (nextShuffler + 1) % shufflers.length;
+        Feed feed = new Feed(decks, seed, first, shuffler);
+        shuffler.feeds.add(feed);
+        LockSupport.unpark(shuffler.thread);
+        return feed;
+    }
+
+    /**
+     * Stops the shuffler threads. Shoes attached to the pipeline must not be reshuffled afterwards.
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Shuffler shuffler : shufflers) {
+            LockSupport.unpark(shuffler.thread);
+        }
+    }
+
+    /**
+     * One shuffler thread and the feeds it fills.
+     */
+    private class Shuffler implements Runnable {
+        private final CopyOnWriteArrayList<Feed> feeds = new CopyOnWriteArrayList<>();
+        private Thread thread;
+        private volatile boolean idle;
+
+        /**
+         * Fills every feed that has room, and parks when none has.
+         */
+        @Override
+        public void run() {
+            while (running) {
+                if (!fillAll()) {
+                    // Announce the park before looking one last time, so a shoe taken meanwhile is not missed
+                    idle = true;
+                    if (!fillAll()) {
+                        LockSupport.park(this);
+                    }
+                    idle = false;
+                }
+            }
+        }
+
+        /**
+         * Shuffles one shoe into every feed that has room.
+         *
+         * @return True if any shoe was shuffled.
+         */
+        private boolean fillAll() {
+            boolean filled = false;
+            for (Feed feed : feeds) {
+                filled |= feed.fill();
+            }
+            return filled;
+        }
+
+        /**
+         * Wakes the shuffler if it is parked.
+         */
+        void wake() {
+            if (idle) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    /**
+     * A ring of shoes shuffled ahead for one shoe, filled by one shuffler thread and taken by one dealing thread.
+     */
+    public static class Feed {
+        private final int decks;
+        private final long seed;
+        private final long first;
+        private final Shuffler producer;
+        private final byte[][] slots = new byte[FEED_SHOES][];
+        // Shoes taken and shoes filled, counted from the first; only the consumer and the producer write them
+        private final AtomicLong taken = new AtomicLong();
+        private final AtomicLong filled = new AtomicLong();
+        private volatile Thread waiting;
+
+        /**
+         * Constructs a Feed.
+         *
+         * @param decks    The number of decks in the shoe.
+         * @param seed     The seed of the shoe's sequence of shoes.
+         * @param first    The number of the first shoe supplied.
+         * @param producer The shuffler that fills the feed.
+         */
+        Feed(int decks, long seed, long first, Shuffler producer) {
+            this.decks = decks;
+            this.seed = seed;
+            this.first = first;
+            this.producer = producer;
+            for (int i = 0; i < FEED_SHOES; i++) {
+                slots[i] = new byte[decks * Card.CARDS_PER_DECK];
+            }
+        }
+
+        /**
+         * Shuffles the next shoe into a free slot, if there is one. Called only by the producer.
+         *
+         * @return True if a shoe was shuffled.
+         */
+        boolean fill() {
+            long next = filled.get();
+            if (next - taken.get() >= FEED_SHOES) {
+                return false;
+            }
+            Shoe.shuffled(decks, seed, first + next, slots[(int) (next % FEED_SHOES)], 0);
+            filled.lazySet(next + 1);
+            Thread consumer = waiting;
+            if (consumer != null) {
+                LockSupport.unpark(consumer);
+            }
+            return true;
+        }
+
+        /**
+         * Copies the next shoe into a shoe's cards, waiting for it if it is not ready, and frees its slot.
+         * Called only by the thread dealing from the shoe.
+         *
+         * @param shoe  The number of the shoe wanted, which must be the next one in the feed.
+         * @param cards The cards of the shoe to fill.
+         * @throws IllegalStateException If the shoe wanted is not the next one.
+         */
+        void take(long shoe, byte[] cards) {
+            long next = taken.get();
+            if (shoe != first + next) {
+                throw new IllegalStateException("Shoe " + shoe + " was wanted, but shoe " + (first + next)
+                        + " is next.");
+            }
+            for (int spins = 0; filled.get() == next; spins++) {
+                if (spins < SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    waiting = Thread.currentThread();
+                    if (filled.get() == next) {
+                        LockSupport.park(this);
+                    }
+                    waiting = null;
+                }
+            }
+            System.arraycopy(slots[(int) (next % FEED_SHOES)], 0, cards, 0, cards.length);
+            taken.set(next + 1);
+            producer.wake();
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package src;
+
+import java.util.Arrays;
+
+/**
+ * The optional side bets a table can offer, each settled on the player's first two cards and the dealer's upcard
+ * as soon as the dealer has checked for Blackjack.
+ * <p>
+ * Every possible deal is classified once, when the class is loaded, into a lookup table keyed by the card codes
+ * (the pair, the pair and upcard, or the pair and whether the dealer has Blackjack), so settling a bet is a single
+ * array read. Each bet's pay table lists its winning outcomes from lowest to highest as "N to 1" odds.
+ * {@link #houseEdge(int[])} calculates a bet's exact house edge for any composition of the shoe.
+ *
+ * @author Kaden Godinez
+ */
+public enum SideBet {
+    /** Pays on a pair: mixed colors 6 to 1, same color 12 to 1, same suit 25 to 1. */
+    PERFECT_PAIRS("perfectPairs", "Perfect Pairs", false, false,
+            new String[]{"Mixed pair", "Colored pair", "Perfect pair"}, new int[]{6, 12, 25}) {
+        @Override
+        int classify(int first, int second, int upcard, boolean dealerBlackjack) {
+            if (Card.rankOf(first) != Card.rankOf(second)) {
+                return 0;
+            } else if (first == second) {
+                return 3;
+            }
+            return isRed(first) == isRed(second) ? 2 : 1;
+        }
+    },
+    /** Pays on the poker hand made with the dealer's upcard: flush, straight, trips, straight flush, suited trips. */
+    TWENTY_ONE_PLUS_THREE("21+3", "21+3", true, false,
+            new String[]{"Flush", "Straight", "Three of a kind", "Straight flush", "Suited three of a kind"},
+            new int[]{5, 10, 30, 40, 100}) {
+        @Override
+        int classify(int first, int second, int upcard, boolean dealerBlackjack) {
+            boolean flush = Card.suitOf(first) == Card.suitOf(second) && Card.suitOf(first) == Card.suitOf(upcard);
+            int low = Math.min(Card.rankOf(first), Math.min(Card.rankOf(second), Card.rankOf(upcard)));
+            int high = Math.max(Card.rankOf(first), Math.max(Card.rankOf(second), Card.rankOf(upcard)));
+            int middle = Card.rankOf(first) + Card.rankOf(second) + Card.rankOf(upcard) - low - high;
+            if (low == high) {
+                return flush ? 5 : 3;
+            }
+            // Aces play low (A-2-3) or high (Q-K-A)
+            boolean straight = (middle == low + 1 && high == middle + 1)
+                    || (low == Card.ACE && middle == QUEEN && high == QUEEN + 1);
+            if (straight) {
+                return flush ? 4 : 2;
+            }
+            return flush ? 1 : 0;
+        }
+    },
+    /** Pays on a first-two-card 20, most of all on two Queens of Hearts against a dealer Blackjack. */
+    LUCKY_LADIES("luckyLadies", "Lucky Ladies", false, true,
+            new String[]{"Any 20", "Suited 20", "Matched 20", "Queen of Hearts pair",
+                    "Queen of Hearts pair with dealer Blackjack"}, new int[]{4, 9, 19, 125, 1000}) {
+        @Override
+        int classify(int first, int second, int upcard, boolean dealerBlackjack) {
+            if (Card.valueOf(first) + Card.valueOf(second) != 20) {
+                return 0;
+            } else if (first == QUEEN_OF_HEARTS && second == QUEEN_OF_HEARTS) {
+                return dealerBlackjack ? 5 : 4;
+            } else if (first == second) {
+                return 3;
+            }
+            return Card.suitOf(first) == Card.suitOf(second) ? 2 : 1;
+        }
+    };
+
+    /** The rank index of a Queen (see {@link Card#rankOf(int)}). */
+    private static final int QUEEN = 11;
+    /** Hearts are the first suit, so the Queen of Hearts' code is the Queen's rank index. */
+    private static final int QUEEN_OF_HEARTS = QUEEN;
+    private static final int CARDS = Card.CARDS_PER_DECK;
+
+    private final String key;
+    private final String name;
+    private final boolean usesUpcard;
+    private final boolean usesDealerBlackjack;
+    private final String[] outcomes;
+    private final int[] odds;
+    /** The outcome of every deal: 0 for a loss, otherwise one more than the pay table row. */
+    private final byte[] table;
+
+    /**
+     * Constructs a SideBet and classifies every deal into its lookup table.
+     *
+     * @param key                 The name used in rules files.
+     * @param name                The name shown to players.
+     * @param usesUpcard          Whether the outcome depends on the dealer's upcard.
+     * @param usesDealerBlackjack Whether the outcome depends on the dealer having Blackjack.
+     * @param outcomes            The winning outcomes, lowest first.
+     * @param odds                What each winning outcome pays, to 1.
+     */
+    SideBet(String key, String name, boolean usesUpcard, boolean usesDealerBlackjack, String[] outcomes,
+            int[] odds) {
+        this.key = key;
+        this.name = name;
+        this.usesUpcard = usesUpcard;
+        this.usesDealerBlackjack = usesDealerBlackjack;
+        this.outcomes = outcomes;
+        this.odds = odds;
+        this.table = new byte[CARDS * CARDS * (usesUpcard ? CARDS : 1) * (usesDealerBlackjack ? 2 : 1)];
+        for (int first = 0; first < CARDS; first++) {
+            for (int second = 0; second < CARDS; second++) {
+                for (int upcard = 0; upcard < (usesUpcard ? CARDS : 1); upcard++) {
+                    table[index(first, second, upcard, false)] = (byte) classify(first, second, upcard, false);
+                    if (usesDealerBlackjack) {
+                        table[index(first, second, upcard, true)] = (byte) classify(first, second, upcard, true);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Works out the outcome of a deal from the cards. Only called to fill the lookup table.
+     *
+     * @param first           The code of the player's first card.
+     * @param second          The code of the player's second card.
+     * @param upcard          The code of the dealer's upcard.
+     * @param dealerBlackjack Whether the dealer has Blackjack.
+     * @return 0 for a loss, otherwise one more than the pay table row.
+     */
+    abstract int classify(int first, int second, int upcard, boolean dealerBlackjack);
+
+    /**
+     * Checks whether a card is a Heart or a Diamond.
+     *
+     * @param code The card code.
+     * @return True for a red card.
+     */
+    private static boolean isRed(int code) {
+        return Card.suitOf(code) < 2;
+    }
+
+    /**
+     * Looks up a side bet by the name used in rules files: perfectPairs, 21+3 or luckyLadies.
+     *
+     * @param key The name.
+     * @return The side bet.
+     * @throws IllegalArgumentException If no side bet has that name.
+     */
+    public static SideBet forName(String key) {
+        for (SideBet bet : values()) {
+            if (bet.key.equals(key)) {
+                return bet;
+            }
+        }
+        throw new IllegalArgumentException("Unknown side bet: " + key);
+    }
+
+    /**
+     * Retrieves the bit that stands for this side bet in a table's mask of offered side bets.
+     *
+     * @return The side bet's bit.
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Computes the position of a deal in the lookup table.
+     *
+     * @param first           The code of the player's first card.
+     * @param second          The code of the player's second card.
+     * @param upcard          The code of the dealer's upcard.
+     * @param dealerBlackjack Whether the dealer has Blackjack.
+     * @return The table index.
+     */
+    private int index(int first, int second, int upcard, boolean dealerBlackjack) {
+        int index = first * CARDS + second;
+        if (usesUpcard) {
+            index = index * CARDS + upcard;
+        }
+        if (usesDealerBlackjack) {
+            index = index * 2 + (dealerBlackjack ? 1 : 0);
+        }
+        return index;
+    }
+
+    /**
+     * Looks up the outcome of a deal.
+     *
+     * @param first           The code of the player's first card.
+     * @param second          The code of the player's second card.
+     * @param upcard          The code of the dealer's upcard.
+     * @param dealerBlackjack Whether the dealer has Blackjack.
+     * @return 0 for a loss, otherwise one more than the pay table row (see {@link #getOutcomeName(int)}).
+     */
+    public int outcome(int first, int second, int upcard, boolean dealerBlackjack) {
+        return table[index(first, second, upcard, dealerBlackjack)];
+    }
+
+    /**
+     * Calculates the amount returned for an outcome.
+     *
+     * @param bet     The amount wagered.
+     * @param outcome The outcome from {@link #outcome(int, int, int, boolean)}.
+     * @return The amount returned, including the bet, or 0 for a loss.
+     */
+    public int payout(int bet, int outcome) {
+        return outcome == 0 ? 0 : bet * (odds[outcome - 1] + 1);
+    }
+
+    /**
+     * Retrieves the name used in rules files.
+     *
+     * @return The key, e.g. "21+3".
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Retrieves the name shown to players.
+     *
+     * @return The name, e.g. "Perfect Pairs".
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the number of winning outcomes in the pay table.
+     *
+     * @return The number of pay table rows.
+     */
+    public int getOutcomeCount() {
+        return outcomes.length;
+    }
+
+    /**
+     * Names an outcome.
+     *
+     * @param outcome The outcome, 1 to {@link #getOutcomeCount()} for a win or 0 for a loss.
+     * @return The outcome's name.
+     */
+    public String getOutcomeName(int outcome) {
+        return outcome == 0 ? "No win" : outcomes[outcome - 1];
+    }
+
+    /**
+     * Retrieves what an outcome pays.
+     *
+     * @param outcome The outcome, 1 to {@link #getOutcomeCount()}.
+     * @return The odds, to 1.
+     */
+    public int getOdds(int outcome) {
+        return odds[outcome - 1];
+    }
+
+    /**
+     * Calculates the exact probability of every outcome when the player's two cards and the dealer's upcard
+     * come from a shoe of the given composition. Every ordered deal is enumerated; whether the dealer has
+     * Blackjack is weighed by the chance that the hole card completes it.
+     *
+     * @param counts The number of cards left with each card code, 0-51.
+     * @return The probability of each outcome, indexed like {@link #outcome(int, int, int, boolean)}.
+     */
+    public double[] outcomeProbabilities(int[] counts) {
+        int total = 0;
+        int tens = 0;
+        int aces = 0;
+        for (int code = 0; code < CARDS; code++) {
+            total += counts[code];
+            tens += Card.valueOf(code) == 10 ? counts[code] : 0;
+            aces += Card.isAce(code) ? counts[code] : 0;
+        }
+        if (total < 4) {
+            throw new IllegalArgumentException("A deal needs at least four cards in the shoe.");
+        }
+        double[] weights = new double[outcomes.length + 1];
+        for (int first = 0; first < CARDS; first++) {
+            long w1 = counts[first];
+            if (w1 == 0) {
+                continue;
+            }
+            counts[first]--;
+            for (int second = 0; second < CARDS; second++) {
+                long w2 = w1 * counts[second];
+                if (w2 == 0) {
+                    continue;
+                }
+                counts[second]--;
+                for (int upcard = 0; upcard < CARDS; upcard++) {
+                    long w3 = w2 * counts[upcard];
+                    if (w3 == 0) {
+                        continue;
+                    }
+                    double blackjack = 0;
+                    if (usesDealerBlackjack) {
+                        // The hole card comes from the cards left after the three dealt
+                        int value = Card.valueOf(upcard);
+                        int needed = value == 11 ? tens : value == 10 ? aces : 0;
+                        for (int code : new int[]{first, second, upcard}) {
+                            if (value >= 10 && Card.valueOf(code) == 21 - value) {
+                                needed--;
+                            }
+                        }
+                        blackjack = (double) needed / (total - 3);
+                    }
+                    weights[outcome(first, second, upcard, false)] += w3 * (1 - blackjack);
+                    if (blackjack > 0) {
+                        weights[outcome(first, second, upcard, true)] += w3 * blackjack;
+                    }
+                }
+                counts[second]++;
+            }
+            counts[first]++;
+        }
+        double deals = (double) total * (total - 1) * (total - 2);
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] /= deals;
+        }
+        return weights;
+    }
+
+    /**
+     * Calculates the exact house edge of the bet when dealt from a shoe of the given composition.
+     *
+     * @param counts The number of cards left with each card code, 0-51.
+     * @return The house edge, e.g. 0.04 for 4%.
+     */
+    public double houseEdge(int[] counts) {
+        double[] probabilities = outcomeProbabilities(counts);
+        double expected = -probabilities[0];
+        for (int outcome = 1; outcome < probabilities.length; outcome++) {
+            expected += probabilities[outcome] * odds[outcome - 1];
+        }
+        return -expected;
+    }
+
+    /**
+     * Builds the composition of a full shoe for {@link #houseEdge(int[])}.
+     *
+     * @param decks The number of decks.
+     * @return The number of cards with each card code.
+     */
+    public static int[] fullShoe(int decks) {
+        int[] counts = new int[CARDS];
+        Arrays.fill(counts, decks);
+        return counts;
+    }
+}
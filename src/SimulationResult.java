@@ -0,0 +1,162 @@
+package src;
+
+/**
+ * Holds the outcome of a headless simulation run.
+ * Reports throughput, the house edge with its confidence interval, the distribution of session bankroll results,
+ * the risk of losing a session bankroll and the longest streaks.
+ *
+ * @author Kaden Godinez
+ */
+public class SimulationResult {
+    /** The session bankrolls, in betting units, whose risk of ruin is reported. */
+    private static final int[] RUIN_BANKROLLS = {10, 25, 50, 100};
+
+    private final long rounds;
+    private final long totalWagered;
+    private final long netWinnings;
+    private final long elapsedNanos;
+    private final Histogram sessionResults;
+    private final int sessionUnit;
+    private final long worstSession;
+    private final long bestSession;
+    private final EdgeEstimator edge;
+    private final Histogram drawdowns;
+    private final Histogram winningStreaks;
+    private final Histogram losingStreaks;
+
+    /**
+     * Constructs a SimulationResult from accumulated statistics.
+     *
+     * @param stats        The statistics gathered during the run.
+     * @param elapsedNanos The wall-clock time of the run in nanoseconds.
+     */
+    public SimulationResult(SimulationStats stats, long elapsedNanos) {
+        this.rounds = stats.getRounds();
+        this.totalWagered = stats.getTotalWagered();
+        this.netWinnings = stats.getNetWinnings();
+        this.elapsedNanos = elapsedNanos;
+        this.sessionResults = stats.getSessionResults();
+        this.sessionUnit = stats.getSessionUnit();
+        this.worstSession = stats.getWorstSession();
+        this.bestSession = stats.getBestSession();
+        this.edge = stats.getEdge();
+        this.drawdowns = stats.getDrawdowns();
+        this.winningStreaks = stats.getWinningStreaks();
+        this.losingStreaks = stats.getLosingStreaks();
+    }
+
+    /**
+     * Retrieves the number of rounds simulated.
+     *
+     * @return The round count.
+     */
+    public long getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Retrieves the player's net winnings over the run.
+     *
+     * @return The net winnings, negative if the player lost money.
+     */
+    public long getNetWinnings() {
+        return netWinnings;
+    }
+
+    /**
+     * Calculates the number of rounds simulated per second of wall-clock time.
+     *
+     * @return The throughput in rounds per second.
+     */
+    public double getRoundsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rounds * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Calculates the house edge as the fraction of each wager the house keeps on average.
+     *
+     * @return The house edge, e.g. 0.05 for 5%.
+     */
+    public double getHouseEdge() {
+        return totalWagered == 0 ? 0 : -(double) netWinnings / totalWagered;
+    }
+
+    /**
+     * Calculates the half-width of the 95% confidence interval of the house edge.
+     *
+     * @return The half-width, e.g. 0.001 for &plusmn;0.1%.
+     */
+    public double getConfidenceHalfWidth() {
+        return edge.getConfidenceHalfWidth();
+    }
+
+    /**
+     * Estimates the risk of ruin over a session: the chance a seat starting a session with the given bankroll
+     * loses all of it at some point during the session.
+     *
+     * @param units The session bankroll, in betting units.
+     * @return The fraction of sessions whose drawdown reached the bankroll.
+     */
+    public double getRiskOfRuin(int units) {
+        return drawdowns.fractionAtLeast(units);
+    }
+
+    /**
+     * Retrieves a percentile of the session bankroll results. The lowest and highest results are exact; the others
+     * are read from the session histogram, to the half betting unit.
+     *
+     * @param percentile The percentile to look up, between 0 and 100.
+     * @return The net session result at that percentile.
+     */
+    public long getSessionPercentile(double percentile) {
+        if (percentile <= 0) {
+            return worstSession;
+        } else if (percentile >= 100) {
+            return bestSession;
+        }
+        long result = sessionResults.percentile(percentile) * sessionUnit / 2;
+        return Math.max(worstSession, Math.min(bestSession, result));
+    }
+
+    /**
+     * Prints a summary of the run to the console.
+     */
+    public void printReport() {
+        System.out.println("Rounds simulated: " + rounds);
+        System.out.printf("Elapsed time: %.3f s%n", elapsedNanos / 1e9);
+        System.out.printf("Rounds/sec: %.0f%n", getRoundsPerSecond());
+        System.out.println("Net winnings: $" + netWinnings);
+        System.out.printf("House edge: %.4f%% +/- %.4f%% (95%% confidence)%n", getHouseEdge() * 100,
+                getConfidenceHalfWidth() * 100);
+        System.out.printf("Standard deviation per initial bet: %.3f%n", edge.getStandardDeviation());
+        System.out.println("Session bankroll distribution (" + sessionResults.getTotal() + " sessions):");
+        System.out.println("  min: $" + getSessionPercentile(0)
+                + ", 5%: $" + getSessionPercentile(5)
+                + ", median: $" + getSessionPercentile(50)
+                + ", 95%: $" + getSessionPercentile(95)
+                + ", max: $" + getSessionPercentile(100));
+        StringBuilder ruin = new StringBuilder("Risk of ruin per session:");
+        for (int i = 0; i < RUIN_BANKROLLS.length; i++) {
+            ruin.append(i == 0 ? " " : ", ").append(RUIN_BANKROLLS[i])
+                    .append(String.format(" units %.2f%%", getRiskOfRuin(RUIN_BANKROLLS[i]) * 100));
+        }
+        System.out.println(ruin);
+        System.out.println("Longest streaks: winning " + longest(winningStreaks)
+                + ", losing " + longest(losingStreaks));
+    }
+
+    /**
+     * Describes the longest streak counted in a streak histogram.
+     *
+     * @param streaks The histogram of streak lengths.
+     * @return The longest length, marked with a plus if it is the histogram's open-ended last bucket.
+     */
+    private static String longest(Histogram streaks) {
+        int bucket = streaks.getHighestBucket();
+        if (bucket < 0) {
+            return "0";
+        }
+        long length = streaks.getBucketStart(bucket);
+        return bucket == streaks.getBuckets() - 1 ? length + "+" : String.valueOf(length);
+    }
+}
@@ -0,0 +1,248 @@
+package src;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Accumulates the outcome of simulated rounds.
+ * Each simulation worker fills its own SimulationStats, and the results of several workers
+ * are combined with {@link #merge(SimulationStats)}. Merging in a fixed order gives the same
+ * totals regardless of which thread finished first.
+ * <p>
+ * Besides the totals, every table round feeds a streaming {@link EdgeEstimator}, and session results, drawdowns
+ * and streaks are counted in fixed {@link Histogram}s, so a run can report its precision at any point without
+ * keeping the rounds or the sessions, and its size never grows. Session results, drawdowns and streaks are
+ * measured per seat: session results to the half betting unit, and drawdowns in whole betting units.
+ *
+ * @author Kaden Godinez
+ */
+public class SimulationStats {
+    /** The largest session result, in betting units won or lost, counted in its own bucket. */
+    public static final int MAX_SESSION_UNITS = 512;
+    /** The largest session drawdown, in betting units, counted in its own bucket. */
+    public static final int MAX_DRAWDOWN_UNITS = 256;
+    /** The longest streak counted in its own bucket. */
+    public static final int MAX_STREAK = 32;
+
+    private long rounds;
+    private long totalWagered;
+    private long netWinnings;
+    private int sessionUnit;
+    private long worstSession = Long.MAX_VALUE;
+    private long bestSession = Long.MIN_VALUE;
+    private final EdgeEstimator edge = new EdgeEstimator();
+    private final Histogram sessionResults = new Histogram(-2L * MAX_SESSION_UNITS, 1, 4 * MAX_SESSION_UNITS + 1);
+    private final Histogram drawdowns = new Histogram(0, 1, MAX_DRAWDOWN_UNITS + 1);
+    private final Histogram winningStreaks = new Histogram(1, 1, MAX_STREAK);
+    private final Histogram losingStreaks = new Histogram(1, 1, MAX_STREAK);
+
+    /**
+     * Records the outcome of one table round for the house edge estimate.
+     *
+     * @param net The seats' combined net winnings for the round.
+     * @param bet The seats' combined initial bets.
+     */
+    public void recordRound(long net, long bet) {
+        edge.add(net, bet);
+    }
+
+    /**
+     * Records the deepest point a seat's bankroll fell to during a session.
+     *
+     * @param units The largest loss from the start of the session at any point, in betting units.
+     */
+    public void recordDrawdown(long units) {
+        drawdowns.record(units);
+    }
+
+    /**
+     * Records a completed run of consecutive winning or losing rounds at one seat. Pushes do not end a streak.
+     *
+     * @param length The number of rounds in the streak.
+     * @param won    True for a winning streak, false for a losing one.
+     */
+    public void recordStreak(int length, boolean won) {
+        (won ? winningStreaks : losingStreaks).record(length);
+    }
+
+    /**
+     * Records the outcome of a completed session.
+     *
+     * @param sessionRounds The number of rounds played in the session.
+     * @param wagered       The total amount wagered in the session.
+     * @param net           The player's net winnings for the session.
+     * @param unit          The betting unit, in which the session result is counted.
+     */
+    public void recordSession(long sessionRounds, long wagered, long net, int unit) {
+        rounds += sessionRounds;
+        totalWagered += wagered;
+        netWinnings += net;
+        sessionUnit = unit;
+        sessionResults.record(Math.floorDiv(2 * net, unit));
+        worstSession = Math.min(worstSession, net);
+        bestSession = Math.max(bestSession, net);
+    }
+
+    /**
+     * Adds the results of another SimulationStats to this one.
+     *
+     * @param other The stats to merge in.
+     * @return This SimulationStats, for chaining.
+     */
+    public SimulationStats merge(SimulationStats other) {
+        rounds += other.rounds;
+        totalWagered += other.totalWagered;
+        netWinnings += other.netWinnings;
+        if (other.sessionUnit != 0) {
+            sessionUnit = other.sessionUnit;
+        }
+        worstSession = Math.min(worstSession, other.worstSession);
+        bestSession = Math.max(bestSession, other.bestSession);
+        sessionResults.merge(other.sessionResults);
+        edge.merge(other.edge);
+        drawdowns.merge(other.drawdowns);
+        winningStreaks.merge(other.winningStreaks);
+        losingStreaks.merge(other.losingStreaks);
+        return this;
+    }
+
+    /**
+     * Retrieves the number of rounds recorded.
+     *
+     * @return The round count.
+     */
+    public long getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Retrieves the total amount wagered.
+     *
+     * @return The total wagered.
+     */
+    public long getTotalWagered() {
+        return totalWagered;
+    }
+
+    /**
+     * Retrieves the player's net winnings.
+     *
+     * @return The net winnings, negative if the player lost money.
+     */
+    public long getNetWinnings() {
+        return netWinnings;
+    }
+
+    /**
+     * Retrieves the distribution of session results, in half betting units.
+     *
+     * @return The session result histogram.
+     */
+    public Histogram getSessionResults() {
+        return sessionResults;
+    }
+
+    /**
+     * Retrieves the betting unit the session results are counted in.
+     *
+     * @return The betting unit, or 0 if no session has been recorded.
+     */
+    public int getSessionUnit() {
+        return sessionUnit;
+    }
+
+    /**
+     * Retrieves the worst net result of any recorded session.
+     *
+     * @return The lowest session result, or 0 if no session has been recorded.
+     */
+    public long getWorstSession() {
+        return sessionResults.getTotal() == 0 ? 0 : worstSession;
+    }
+
+    /**
+     * Retrieves the best net result of any recorded session.
+     *
+     * @return The highest session result, or 0 if no session has been recorded.
+     */
+    public long getBestSession() {
+        return sessionResults.getTotal() == 0 ? 0 : bestSession;
+    }
+
+    /**
+     * Retrieves the streaming house edge estimate.
+     *
+     * @return The edge estimator.
+     */
+    public EdgeEstimator getEdge() {
+        return edge;
+    }
+
+    /**
+     * Retrieves the distribution of session drawdowns, in betting units.
+     *
+     * @return The drawdown histogram.
+     */
+    public Histogram getDrawdowns() {
+        return drawdowns;
+    }
+
+    /**
+     * Retrieves the distribution of winning streak lengths.
+     *
+     * @return The winning streak histogram.
+     */
+    public Histogram getWinningStreaks() {
+        return winningStreaks;
+    }
+
+    /**
+     * Retrieves the distribution of losing streak lengths.
+     *
+     * @return The losing streak histogram.
+     */
+    public Histogram getLosingStreaks() {
+        return losingStreaks;
+    }
+
+    /**
+     * Writes the accumulated statistics for a checkpoint.
+     *
+     * @param out The checkpoint being written.
+     * @throws IOException If the statistics cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(rounds);
+        out.writeLong(totalWagered);
+        out.writeLong(netWinnings);
+        out.writeInt(sessionUnit);
+        out.writeLong(worstSession);
+        out.writeLong(bestSession);
+        sessionResults.writeState(out);
+        edge.writeState(out);
+        drawdowns.writeState(out);
+        winningStreaks.writeState(out);
+        losingStreaks.writeState(out);
+    }
+
+    /**
+     * Replaces these statistics with those written by {@link #writeState(DataOutput)}.
+     *
+     * @param in The checkpoint being read.
+     * @throws IOException If the statistics cannot be read.
+     */
+    public void readState(DataInput in) throws IOException {
+        rounds = in.readLong();
+        totalWagered = in.readLong();
+        netWinnings = in.readLong();
+        sessionUnit = in.readInt();
+        worstSession = in.readLong();
+        bestSession = in.readLong();
+        sessionResults.readState(in);
+        edge.readState(in);
+        drawdowns.readState(in);
+        winningStreaks.readState(in);
+        losingStreaks.readState(in);
+    }
+}
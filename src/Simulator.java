@@ -0,0 +1,307 @@
+package src;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs Blackjack rounds headlessly for bulk simulation.
+ * Plays on the same {@link Table} as {@link Game}, with the same dealing order, dealer rules and payouts,
+ * but never prints or reads input. Every seat's decisions are made by one {@link PlayerStrategy}.
+ * <p>
+ * With several seats, each table round settles every seat against a single dealer play-out. Each seat
+ * keeps its own session results, and every seat's hand counts as one round in the statistics.
+ * Winnings include doubles, splits, insurance and Blackjack bonuses, while the amount wagered counts only
+ * the initial bets, so the house edge is expressed per initial bet as is customary.
+ * <p>
+ * With {@link #useCounting(CountingSystem, int)}, the shoe keeps a running count and every seat spreads
+ * its bets with a {@link BetRamp}; the bet given to the constructor becomes the betting unit.
+ * With {@link #setHandHistory(HandHistoryWriter)}, every hand played is also recorded to a hand-history file.
+ * <p>
+ * The shoe reseeds itself for every shuffle from a seed drawn from the given generator, so between sessions the
+ * simulator's whole state fits in a small checkpoint (see {@link #writeState(DataOutput)}).
+ * <p>
+ * A simulator can instead deal from a {@link ContinuousShuffler}, to compare a machine-shuffled table with a shoe
+ * game played the same way.
+ *
+ * @author Kaden Godinez
+ */
+public class Simulator {
+    /** The money each simulated seat starts with: large enough that no run ever caps a bet. */
+    private static final int SEAT_BANKROLL = Integer.MAX_VALUE / 2;
+
+    private final int bet;
+    private final int sessionLength;
+    private final CardSource shoe;
+    private final Table table;
+    private final SessionTracker sessions;
+    private long shoeNet;
+    private long shoeWagered;
+
+    /**
+     * Constructs a single-seat Simulator that wagers the given flat bet every round.
+     *
+     * @param decks         The number of decks in the shoe.
+     * @param penetration   The fraction of the shoe dealt before reshuffling.
+     * @param bet           The amount wagered on each round.
+     * @param sessionLength The number of rounds in a session, used for the bankroll distribution.
+     * @param random        The generator that seeds the shoe.
+     * @param strategy      The strategy that makes the player's decisions.
+     */
+    public Simulator(int decks, double penetration, int bet, int sessionLength, RandomGenerator random,
+                     PlayerStrategy strategy) {
+        this(decks, penetration, bet, sessionLength, 1, random, strategy);
+    }
+
+    /**
+     * Constructs a Simulator with the given number of seats, each wagering the given flat bet every round.
+     *
+     * @param decks         The number of decks in the shoe.
+     * @param penetration   The fraction of the shoe dealt before reshuffling.
+     * @param bet           The amount wagered by each seat on each round.
+     * @param sessionLength The number of rounds in a session, used for the bankroll distribution.
+     * @param seats         The number of seats at the table, from 1 to {@link Table#MAX_SEATS}.
+     * @param random        The generator that seeds the shoe.
+     * @param strategy      The strategy that makes every seat's decisions.
+     */
+    public Simulator(int decks, double penetration, int bet, int sessionLength, int seats, RandomGenerator random,
+                     PlayerStrategy strategy) {
+        this(TableRules.DEFAULT.withDecks(decks), penetration, bet, sessionLength, seats, random, strategy);
+    }
+
+    /**
+     * Constructs a Simulator for a table played under the given rules, with each seat wagering the given
+     * flat bet every round.
+     *
+     * @param rules         The table rules, including the number of decks in the shoe.
+     * @param penetration   The fraction of the shoe dealt before reshuffling.
+     * @param bet           The amount wagered by each seat on each round.
+     * @param sessionLength The number of rounds in a session, used for the bankroll distribution.
+     * @param seats         The number of seats at the table, from 1 to {@link Table#MAX_SEATS}.
+     * @param random        The generator that seeds the shoe.
+     * @param strategy      The strategy that makes every seat's decisions.
+     */
+    public Simulator(TableRules rules, double penetration, int bet, int sessionLength, int seats,
+                     RandomGenerator random, PlayerStrategy strategy) {
+        this(rules, new Shoe(rules.getDecks(), penetration, random.nextLong()), bet, sessionLength, seats, strategy);
+    }
+
+    /**
+     * Constructs a Simulator for a table played under the given rules and dealt from the given cards,
+     * with each seat wagering the given flat bet every round.
+     *
+     * @param rules         The table rules.
+     * @param shoe          The shoe or continuous shuffler to deal from, with the rules' number of decks.
+     * @param bet           The amount wagered by each seat on each round.
+     * @param sessionLength The number of rounds in a session, used for the bankroll distribution.
+     * @param seats         The number of seats at the table, from 1 to {@link Table#MAX_SEATS}.
+     * @param strategy      The strategy that makes every seat's decisions.
+     */
+    public Simulator(TableRules rules, CardSource shoe, int bet, int sessionLength, int seats,
+                     PlayerStrategy strategy) {
+        if (bet <= 0 || sessionLength <= 0) {
+            throw new IllegalArgumentException("Bet and session length must be positive.");
+        }
+        if (seats < 1 || seats > Table.MAX_SEATS) {
+            throw new IllegalArgumentException("Seats must be between 1 and " + Table.MAX_SEATS + ".");
+        }
+        this.bet = bet;
+        this.sessionLength = sessionLength;
+        this.shoe = shoe;
+        Player[] players = new Player[seats];
+        for (int i = 0; i < seats; i++) {
+            players[i] = new Player(SEAT_BANKROLL, strategy);
+        }
+        this.table = new Table(rules, shoe, new Dealer(), players);
+        this.sessions = new SessionTracker(seats, bet);
+        this.shoe.shuffle();
+    }
+
+    /**
+     * Counts the shoe with the given system and has every seat raise its bet with the true count.
+     *
+     * @param system   The counting system.
+     * @param maxUnits The largest bet, in units of the base bet.
+     * @return The counter attached to the shoe.
+     */
+    public CardCounter useCounting(CountingSystem system, int maxUnits) {
+        CardCounter counter = new CardCounter(system, shoe.getDecks());
+        shoe.setCounter(counter);
+        BetRamp ramp = new BetRamp(counter, maxUnits);
+        for (int seat = 0; seat < table.getSeatCount(); seat++) {
+            table.getSeat(seat).setBettingStrategy(ramp);
+        }
+        return counter;
+    }
+
+    /**
+     * Has a pipeline shuffle the simulator's shoes in the background from now on, without changing its results.
+     *
+     * @param pipeline The pipeline.
+     * @throws IllegalStateException If the simulator deals from a continuous shuffler, which has no shoes.
+     */
+    public void usePipeline(ShoePipeline pipeline) {
+        discreteShoe().usePipeline(pipeline);
+    }
+
+    /**
+     * Retrieves the shoe the simulator deals from, for the operations only a discrete shoe supports.
+     *
+     * @return The shoe.
+     * @throws IllegalStateException If the simulator deals from a continuous shuffler.
+     */
+    private Shoe discreteShoe() {
+        if (!(shoe instanceof Shoe)) {
+            throw new IllegalStateException("A continuous shuffler deals no separate shoes.");
+        }
+        return (Shoe) shoe;
+    }
+
+    /**
+     * Records every hand the simulation plays.
+     *
+     * @param history The hand-history writer, or null to stop recording.
+     */
+    public void setHandHistory(HandHistoryWriter history) {
+        table.setHandHistory(history);
+    }
+
+    /**
+     * Simulates the given number of table rounds and collects the results.
+     *
+     * @param rounds The number of table rounds to simulate.
+     * @return The results of the run.
+     */
+    public SimulationResult run(long rounds) {
+        long start = System.nanoTime();
+        SimulationStats stats = simulate(rounds);
+        return new SimulationResult(stats, System.nanoTime() - start);
+    }
+
+    /**
+     * Simulates the given number of table rounds, split into sessions, and accumulates the outcomes.
+     * Each seat records one session result and drawdown per session. Streaks carry over from one call to the next,
+     * so a long run can be simulated in several parts.
+     *
+     * @param rounds The number of table rounds to simulate.
+     * @return The accumulated statistics.
+     */
+    public SimulationStats simulate(long rounds) {
+        SimulationStats stats = new SimulationStats();
+        long remaining = rounds;
+        while (remaining > 0) {
+            int length = (int) Math.min(sessionLength, remaining);
+            sessions.startSession();
+            for (int i = 0; i < length; i++) {
+                playRecordedRound(stats);
+            }
+            sessions.endSession(stats, length, table.getSeatCount());
+            table.endSession();
+            remaining -= length;
+        }
+        return stats;
+    }
+
+    /**
+     * Plays through one shoe that was shuffled elsewhere, from its first card to the cut card, as a single session.
+     * Used to deal the same shoes to several simulations (see {@link SweepRunner}).
+     *
+     * @param shoes  An array holding shuffled shoes of this simulator's size, one after another.
+     * @param offset The position of the shoe to play.
+     * @param stats  The stats to record the rounds and the session to.
+     */
+    public void playShoe(byte[] shoes, int offset, SimulationStats stats) {
+        discreteShoe().load(shoes, offset);
+        int shoeNumber = shoe.getShuffleCount();
+        shoeNet = 0;
+        shoeWagered = 0;
+        sessions.startSession();
+        int length = 0;
+        // A shoe that runs out mid-round is replaced by a fresh one, which ends the session as well
+        do {
+            playRecordedRound(stats);
+            length++;
+        } while (!shoe.needsReshuffle() && shoe.getShuffleCount() == shoeNumber);
+        sessions.endSession(stats, length, table.getSeatCount());
+        table.endSession();
+    }
+
+    /**
+     * Retrieves the seats' combined net winnings over the last shoe played with {@link #playShoe}.
+     *
+     * @return The net winnings, negative for a loss.
+     */
+    public long getShoeNet() {
+        return shoeNet;
+    }
+
+    /**
+     * Retrieves the seats' combined initial bets over the last shoe played with {@link #playShoe}.
+     *
+     * @return The amount wagered.
+     */
+    public long getShoeWagered() {
+        return shoeWagered;
+    }
+
+    /**
+     * Plays a table round and records its outcome for every seat.
+     *
+     * @param stats The stats to record the round to.
+     */
+    private void playRecordedRound(SimulationStats stats) {
+        long roundBet = playRound();
+        long roundNet = 0;
+        for (int seat = 0; seat < table.getSeatCount(); seat++) {
+            long net = table.getPayout(seat) - table.getWagered(seat);
+            roundNet += net;
+            sessions.recordResult(stats, seat, net);
+        }
+        stats.recordRound(roundNet, roundBet);
+        shoeNet += roundNet;
+        shoeWagered += roundBet;
+    }
+
+    /**
+     * Places every seat's bet and plays a single table round, reshuffling first if the cut card has come out.
+     *
+     * @return The initial bets placed by all seats.
+     */
+    private long playRound() {
+        if (shoe.needsReshuffle()) {
+            shoe.shuffle();
+        }
+        long roundBet = 0;
+        for (int seat = 0; seat < table.getSeatCount(); seat++) {
+            Player player = table.getSeat(seat);
+            player.placeBet(bet);
+            sessions.recordBet(seat, player.getCurrentBet());
+            roundBet += player.getCurrentBet();
+        }
+        table.playRound();
+        return roundBet;
+    }
+
+    /**
+     * Writes the simulator's state between sessions for a checkpoint: the table and every seat's current streak.
+     *
+     * @param out The checkpoint being written.
+     * @throws IOException If the state cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        table.writeState(out);
+        sessions.writeState(out);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)} to a simulator with the same settings and seed.
+     *
+     * @param in The checkpoint being read.
+     * @throws IOException If the state cannot be read.
+     */
+    public void readState(DataInput in) throws IOException {
+        table.readState(in);
+        sessions.readState(in);
+    }
+}
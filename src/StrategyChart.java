@@ -0,0 +1,415 @@
+package src;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A decision table over player total, soft flag and dealer upcard, with a row of split decisions for each pair.
+ * {@link BasicStrategy} compiles a chart into its lookup tables, and {@link StrategyOptimizer} refines one cell
+ * at a time. Charts are saved and loaded as text, so a chart derived for one rule set can be played later with
+ * {@code --strategy chart:FILE}:
+ * <pre>
+ * # dealer upcards 2 3 4 5 6 7 8 9 10 A
+ * [hard]
+ * 4  HHHHHHHHHH
+ * ...
+ * 21 SSSSSSSSSS
+ * [soft]
+ * 12 HHHHHHHHHH
+ * ...
+ * [pairs]
+ * 2  ppPPPP----
+ * ...
+ * A  PPPPPPPPPP
+ * </pre>
+ * Every row lists one action per dealer upcard from 2 through 10 followed by Ace, using 'H' for hit,
+ * 'S' for stand, 'D' to double or else hit, 'd' to double or else stand, 'R' to surrender or else hit
+ * and 'r' to surrender or else stand. Pair rows use 'P' to split, 'p' to split only when doubling after
+ * a split is allowed, and '-' to play the total. Every row must be present; lines starting with '#' are comments.
+ *
+ * @author Kaden Godinez
+ */
+public class StrategyChart {
+    /** The lowest hard total with a row. */
+    public static final int FIRST_HARD_TOTAL = 4;
+    /** The lowest soft total with a row: two Aces. */
+    public static final int FIRST_SOFT_TOTAL = 12;
+    /** The value of the lowest pair with a row. */
+    public static final int FIRST_PAIR_VALUE = 2;
+    /** The number of dealer upcard columns, 2 through Ace. */
+    public static final int COLUMNS = 10;
+
+    private static final int HARD_ROWS = 21 - FIRST_HARD_TOTAL + 1;
+    private static final int SOFT_ROWS = 21 - FIRST_SOFT_TOTAL + 1;
+    private static final int PAIR_ROWS = 11 - FIRST_PAIR_VALUE + 1;
+    private static final String TOTAL_SYMBOLS = "HSDdRr";
+    private static final String PAIR_SYMBOLS = "Pp-";
+
+    /** Hard totals 4 through 21, dealer stands on soft 17. */
+    private static final String[] HARD_CHART = {
+            "HHHHHHHHHH", // 4
+            "HHHHHHHHHH", // 5
+            "HHHHHHHHHH", // 6
+            "HHHHHHHHHH", // 7
+            "HHHHHHHHHH", // 8
+            "HDDDDHHHHH", // 9
+            "DDDDDDDDHH", // 10
+            "DDDDDDDDDH", // 11
+            "HHSSSHHHHH", // 12
+            "SSSSSHHHHH", // 13
+            "SSSSSHHHHH", // 14
+            "SSSSSHHHRH", // 15
+            "SSSSSHHRRR", // 16
+            "SSSSSSSSSS", // 17
+            "SSSSSSSSSS", // 18
+            "SSSSSSSSSS", // 19
+            "SSSSSSSSSS", // 20
+            "SSSSSSSSSS", // 21
+    };
+
+    /** Soft totals 12 (two Aces) through 21, dealer stands on soft 17. */
+    private static final String[] SOFT_CHART = {
+            "HHHHHHHHHH", // 12
+            "HHHDDHHHHH", // 13
+            "HHHDDHHHHH", // 14
+            "HHDDDHHHHH", // 15
+            "HHDDDHHHHH", // 16
+            "HDDDDHHHHH", // 17
+            "SddddSSHHH", // 18
+            "SSSSSSSSSS", // 19
+            "SSSSSSSSSS", // 20
+            "SSSSSSSSSS", // 21
+    };
+
+    /** Pairs of 2s through Aces. */
+    private static final String[] PAIR_CHART = {
+            "ppPPPP----", // 2-2
+            "ppPPPP----", // 3-3
+            "---pp-----", // 4-4
+            "----------", // 5-5
+            "pPPPP-----", // 6-6
+            "PPPPPP----", // 7-7
+            "PPPPPPPPPP", // 8-8
+            "PPPPP-PP--", // 9-9
+            "----------", // 10-10
+            "PPPPPPPPPP", // A-A
+    };
+
+    private final char[][] hard;
+    private final char[][] soft;
+    private final char[][] pairs;
+
+    /**
+     * Constructs a StrategyChart from its rows.
+     *
+     * @param hard  The hard rows, totals 4 through 21.
+     * @param soft  The soft rows, totals 12 through 21.
+     * @param pairs The pair rows, 2s through Aces.
+     * @throws IllegalArgumentException If a row has the wrong length or an unknown symbol.
+     */
+    public StrategyChart(String[] hard, String[] soft, String[] pairs) {
+        this.hard = rows(hard, HARD_ROWS, TOTAL_SYMBOLS);
+        this.soft = rows(soft, SOFT_ROWS, TOTAL_SYMBOLS);
+        this.pairs = rows(pairs, PAIR_ROWS, PAIR_SYMBOLS);
+    }
+
+    /**
+     * Constructs a copy of another chart.
+     *
+     * @param other The chart to copy.
+     */
+    public StrategyChart(StrategyChart other) {
+        this(strings(other.hard), strings(other.soft), strings(other.pairs));
+    }
+
+    /**
+     * Builds the standard multi-deck basic-strategy chart, adjusted for the given rules.
+     *
+     * @param rules The rules of the table the chart is played at.
+     * @return A new chart.
+     */
+    public static StrategyChart basic(TableRules rules) {
+        StrategyChart chart = new StrategyChart(HARD_CHART, SOFT_CHART, PAIR_CHART);
+        if (rules.isDealerHitsSoft17()) {
+            // The few cells where a dealer hitting soft 17 changes the play
+            chart.setTotalSymbol(11, false, 11, 'D');
+            chart.setTotalSymbol(15, false, 11, 'R');
+            chart.setTotalSymbol(17, false, 11, 'r');
+            chart.setTotalSymbol(18, true, 2, 'd');
+            chart.setTotalSymbol(19, true, 6, 'd');
+        }
+        return chart;
+    }
+
+    /**
+     * Checks and copies chart rows.
+     *
+     * @param rows    The rows.
+     * @param count   The number of rows expected.
+     * @param symbols The symbols allowed in the rows.
+     * @return The rows as arrays of symbols.
+     */
+    private static char[][] rows(String[] rows, int count, String symbols) {
+        if (rows.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " chart rows, not " + rows.length + ".");
+        }
+        char[][] result = new char[count][];
+        for (int row = 0; row < count; row++) {
+            result[row] = rows[row].toCharArray();
+            if (result[row].length != COLUMNS) {
+                throw new IllegalArgumentException("Chart row " + rows[row] + " must have " + COLUMNS + " columns.");
+            }
+            for (char symbol : result[row]) {
+                if (symbols.indexOf(symbol) < 0) {
+                    throw new IllegalArgumentException("Unknown chart symbol: " + symbol);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts rows of symbols back to strings.
+     *
+     * @param rows The rows.
+     * @return The rows as strings.
+     */
+    private static String[] strings(char[][] rows) {
+        String[] result = new String[rows.length];
+        for (int row = 0; row < rows.length; row++) {
+            result[row] = new String(rows[row]);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the symbol for playing a total against an upcard.
+     *
+     * @param total  The hand total, 4-21 for hard hands and 12-21 for soft hands.
+     * @param soft   Whether the hand is soft.
+     * @param upcard The dealer upcard value, 2-11.
+     * @return The chart symbol.
+     */
+    public char getTotalSymbol(int total, boolean soft, int upcard) {
+        return soft ? this.soft[total - FIRST_SOFT_TOTAL][upcard - 2] : hard[total - FIRST_HARD_TOTAL][upcard - 2];
+    }
+
+    /**
+     * Changes the symbol for playing a total against an upcard.
+     *
+     * @param total  The hand total, 4-21 for hard hands and 12-21 for soft hands.
+     * @param soft   Whether the hand is soft.
+     * @param upcard The dealer upcard value, 2-11.
+     * @param symbol The new chart symbol.
+     */
+    public void setTotalSymbol(int total, boolean soft, int upcard, char symbol) {
+        if (TOTAL_SYMBOLS.indexOf(symbol) < 0) {
+            throw new IllegalArgumentException("Unknown chart symbol: " + symbol);
+        }
+        if (soft) {
+            this.soft[total - FIRST_SOFT_TOTAL][upcard - 2] = symbol;
+        } else {
+            hard[total - FIRST_HARD_TOTAL][upcard - 2] = symbol;
+        }
+    }
+
+    /**
+     * Retrieves the symbol for a pair against an upcard.
+     *
+     * @param value  The value of each card in the pair, 2-11.
+     * @param upcard The dealer upcard value, 2-11.
+     * @return The pair chart symbol.
+     */
+    public char getPairSymbol(int value, int upcard) {
+        return pairs[value - FIRST_PAIR_VALUE][upcard - 2];
+    }
+
+    /**
+     * Changes the symbol for a pair against an upcard.
+     *
+     * @param value  The value of each card in the pair, 2-11.
+     * @param upcard The dealer upcard value, 2-11.
+     * @param symbol The new pair chart symbol.
+     */
+    public void setPairSymbol(int value, int upcard, char symbol) {
+        if (PAIR_SYMBOLS.indexOf(symbol) < 0) {
+            throw new IllegalArgumentException("Unknown chart symbol: " + symbol);
+        }
+        pairs[value - FIRST_PAIR_VALUE][upcard - 2] = symbol;
+    }
+
+    /**
+     * Counts the cells, including pair cells, where this chart and another differ.
+     *
+     * @param other The chart to compare with.
+     * @return The number of differing cells.
+     */
+    public int countDifferences(StrategyChart other) {
+        return countDifferences(hard, other.hard) + countDifferences(soft, other.soft)
+                + countDifferences(pairs, other.pairs);
+    }
+
+    /**
+     * Counts the differing cells of two sets of rows.
+     *
+     * @param rows  The rows of one chart.
+     * @param other The same rows of another chart.
+     * @return The number of differing cells.
+     */
+    private static int countDifferences(char[][] rows, char[][] other) {
+        int count = 0;
+        for (int row = 0; row < rows.length; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                if (rows[row][column] != other[row][column]) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Loads a chart from a text file in the format described above.
+     *
+     * @param path The chart file.
+     * @return The loaded chart.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the file is not a complete chart.
+     */
+    public static StrategyChart load(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    /**
+     * Reads a chart in the format described above.
+     *
+     * @param reader The text to read.
+     * @return The chart.
+     * @throws IOException              If the text cannot be read.
+     * @throws IllegalArgumentException If the text is not a complete chart.
+     */
+    public static StrategyChart read(BufferedReader reader) throws IOException {
+        String[] hard = new String[HARD_ROWS];
+        String[] soft = new String[SOFT_ROWS];
+        String[] pairs = new String[PAIR_ROWS];
+        String[] section = null;
+        int first = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            switch (line) {
+                case "[hard]":
+                    section = hard;
+                    first = FIRST_HARD_TOTAL;
+                    continue;
+                case "[soft]":
+                    section = soft;
+                    first = FIRST_SOFT_TOTAL;
+                    continue;
+                case "[pairs]":
+                    section = pairs;
+                    first = FIRST_PAIR_VALUE;
+                    continue;
+                default:
+                    break;
+            }
+            String[] fields = line.split("\\s+");
+            if (section == null || fields.length != 2) {
+                throw new IllegalArgumentException("Unexpected chart line: " + line);
+            }
+            int row = (fields[0].equals("A") ? 11 : Integer.parseInt(fields[0])) - first;
+            if (row < 0 || row >= section.length || section[row] != null) {
+                throw new IllegalArgumentException("Unexpected or repeated chart row: " + line);
+            }
+            section[row] = fields[1];
+        }
+        checkComplete(hard, "hard");
+        checkComplete(soft, "soft");
+        checkComplete(pairs, "pairs");
+        return new StrategyChart(hard, soft, pairs);
+    }
+
+    /**
+     * Checks that a section of a chart file had every row.
+     *
+     * @param rows The rows read.
+     * @param name The section name, for the error message.
+     */
+    private static void checkComplete(String[] rows, String name) {
+        for (String row : rows) {
+            if (row == null) {
+                throw new IllegalArgumentException("The [" + name + "] section of the chart is incomplete.");
+            }
+        }
+    }
+
+    /**
+     * Saves the chart to a text file.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path path) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            write(writer);
+        }
+    }
+
+    /**
+     * Writes the chart as text in the format described above.
+     *
+     * @param out Where to write the chart.
+     * @throws IOException If the chart cannot be written.
+     */
+    public void write(Writer out) throws IOException {
+        out.write("# dealer upcards 2 3 4 5 6 7 8 9 10 A\n");
+        writeSection(out, "hard", hard, FIRST_HARD_TOTAL);
+        writeSection(out, "soft", soft, FIRST_SOFT_TOTAL);
+        writeSection(out, "pairs", pairs, FIRST_PAIR_VALUE);
+    }
+
+    /**
+     * Writes one section of the chart.
+     *
+     * @param out   Where to write the section.
+     * @param name  The section name.
+     * @param rows  The section's rows.
+     * @param first The total or pair value of the first row.
+     * @throws IOException If the section cannot be written.
+     */
+    private static void writeSection(Writer out, String name, char[][] rows, int first) throws IOException {
+        out.write("[" + name + "]\n");
+        for (int row = 0; row < rows.length; row++) {
+            int label = first + row;
+            out.write(String.format("%-3s%s\n", label == 11 && first == FIRST_PAIR_VALUE ? "A" : label,
+                    new String(rows[row])));
+        }
+    }
+
+    /**
+     * Formats the chart as it would be saved.
+     *
+     * @return The chart text.
+     */
+    @Override
+    public String toString() {
+        StringWriter text = new StringWriter();
+        try {
+            write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,577 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Derives a strategy chart for a rule set by simulation, deciding one cell (a player hand against a dealer upcard)
+ * at a time.
+ * <p>
+ * A cell is decided by dealing its hand and upcard over and over from an otherwise freshly shuffled shoe. The
+ * dealer's hole card is drawn from the cards that do not make a dealer Blackjack, since the player only decides
+ * once the dealer has checked for one. Each trial is played once per candidate action from the same arrangement
+ * of cards (common random numbers): the first decision is forced and the rest of the round is played from the
+ * chart as it stands. Because the candidates see the same cards, the differences between them are measured far
+ * more precisely than their values. A cell is played in batches of {@value #BATCH_TRIALS} trials and stops as soon
+ * as its best action beats every other by more than {@value #SIGNIFICANCE_Z} standard errors, or when it reaches
+ * the trial limit, in which case the best action so far is kept. The stricter-than-usual threshold allows for the
+ * check being repeated after every batch.
+ * <p>
+ * Each cell is played with one two-card hand: a 10 and the rest for hard totals of 12 and up, a 2 and the rest
+ * below that, an Ace and the rest for soft totals, and the pair itself for split decisions. The cells are decided
+ * in an order where hitting only ever leads to cells already decided: hard 20 down to 12, soft 20 down to 12,
+ * hard 11 down to 4, and then the pairs. The ten cells of a row, one per upcard, do not depend on each other and
+ * run in parallel. Every cell draws from its own generator, so for a given seed the chart does not depend on
+ * the thread count. Hard and soft 21 always stand and are left as they are.
+ *
+ * @author Kaden Godinez
+ */
+public class StrategyOptimizer {
+    /** The number of trials a cell plays between significance checks. */
+    public static final int BATCH_TRIALS = 1000;
+    /** How many standard errors the best action must win by for a cell to stop early. */
+    public static final double SIGNIFICANCE_Z = 3.0;
+
+    /** Large enough that 3:2, 6:5 and surrender all pay whole dollars. */
+    private static final int TRIAL_BET = 10;
+    private static final int TRIAL_BANKROLL = Integer.MAX_VALUE / 2;
+    /** The cards shuffled after the hole card for every trial; no round comes close to dealing this many. */
+    private static final int SHUFFLED_CARDS = 64;
+    private static final Action[] TOTAL_ACTIONS = {Action.HIT, Action.STAND, Action.DOUBLE};
+    private static final Action[] TOTAL_ACTIONS_WITH_SURRENDER = {
+            Action.HIT, Action.STAND, Action.DOUBLE, Action.SURRENDER};
+    /** Splitting, or playing the pair as a total (null). */
+    private static final Action[] PAIR_ACTIONS = {Action.SPLIT, null};
+
+    private final TableRules rules;
+    private final int threads;
+    private final long maxTrials;
+    private Consumer<Row> progressListener = row -> { };
+    private long trials;
+    private int unresolvedCells;
+
+    /**
+     * Constructs a StrategyOptimizer.
+     *
+     * @param rules     The rules to derive the chart for.
+     * @param threads   The number of cells to play at once.
+     * @param maxTrials The most trials any one cell plays.
+     */
+    public StrategyOptimizer(TableRules rules, int threads, long maxTrials) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive.");
+        }
+        if (maxTrials <= 0) {
+            throw new IllegalArgumentException("Trial limit must be positive.");
+        }
+        this.rules = rules;
+        this.threads = threads;
+        this.maxTrials = maxTrials;
+    }
+
+    /**
+     * Sets the listener told about every row of the chart once its cells are decided.
+     *
+     * @param listener The listener.
+     */
+    public void setProgressListener(Consumer<Row> listener) {
+        this.progressListener = listener;
+    }
+
+    /**
+     * Derives a chart, starting from the given one. Cells not yet decided are played from the starting chart.
+     *
+     * @param start The starting chart, which is not changed.
+     * @param seed  The seed every cell's generator is made from.
+     * @return The new chart.
+     */
+    public StrategyChart optimize(StrategyChart start, long seed) {
+        StrategyChart chart = new StrategyChart(start);
+        trials = 0;
+        unresolvedCells = 0;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (int total = 20; total >= 12; total--) {
+                optimizeRow(pool, chart, total, false, false, seed);
+            }
+            for (int total = 20; total >= StrategyChart.FIRST_SOFT_TOTAL; total--) {
+                optimizeRow(pool, chart, total, true, false, seed);
+            }
+            for (int total = 11; total >= StrategyChart.FIRST_HARD_TOTAL; total--) {
+                optimizeRow(pool, chart, total, false, false, seed);
+            }
+            for (int value = StrategyChart.FIRST_PAIR_VALUE; value <= 11; value++) {
+                if (rules.getMaxSplitHands() > 1) {
+                    optimizeRow(pool, chart, value, false, true, seed);
+                } else {
+                    for (int upcard = 2; upcard <= 11; upcard++) {
+                        chart.setPairSymbol(value, upcard, '-');
+                    }
+                }
+            }
+            return chart;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Decides the ten cells of one row in parallel and writes the results into the chart.
+     *
+     * @param pool  The pool to play the cells on.
+     * @param chart The chart being derived.
+     * @param total The row's hand total, or the value of each card for a pair row.
+     * @param soft  Whether the row is for soft totals.
+     * @param pair  Whether the row is for splitting a pair.
+     * @param seed  The seed every cell's generator is made from.
+     */
+    private void optimizeRow(ForkJoinPool pool, StrategyChart chart, int total, boolean soft, boolean pair,
+                             long seed) {
+        PlayerStrategy strategy = new BasicStrategy(chart, rules);
+        List<Cell> cells = new ArrayList<>();
+        for (int upcard = 2; upcard <= 11; upcard++) {
+            cells.add(new Cell(strategy, total, soft, pair, upcard, seed));
+        }
+        StringBuilder symbols = new StringBuilder();
+        long rowTrials = 0;
+        int unresolved = 0;
+        try {
+            for (Future<Cell> future : pool.invokeAll(cells)) {
+                Cell cell = future.get();
+                char symbol = cell.getSymbol();
+                if (pair) {
+                    chart.setPairSymbol(total, cell.upcard, symbol);
+                } else {
+                    chart.setTotalSymbol(total, soft, cell.upcard, symbol);
+                }
+                symbols.append(symbol);
+                rowTrials += cell.trials;
+                unresolved += cell.significant ? 0 : 1;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while optimizing the chart.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Optimizing a chart cell failed.", e.getCause());
+        }
+        trials += rowTrials;
+        unresolvedCells += unresolved;
+        String label = pair ? (total == 11 ? "A" : String.valueOf(total)) + "-" + (total == 11 ? "A" : total)
+                : (soft ? "soft " : "hard ") + total;
+        progressListener.accept(new Row(label, symbols.toString(), rowTrials, unresolved));
+    }
+
+    /**
+     * Retrieves the number of trials played by the last {@link #optimize} call, over all cells.
+     * Each trial plays one round per candidate action.
+     *
+     * @return The trial count.
+     */
+    public long getTrials() {
+        return trials;
+    }
+
+    /**
+     * Retrieves the number of cells in the last {@link #optimize} call that reached the trial limit without
+     * a significant winner.
+     *
+     * @return The number of unresolved cells.
+     */
+    public int getUnresolvedCells() {
+        return unresolvedCells;
+    }
+
+    /**
+     * Finds the code of a card with the given value, passing over the first cards of that value in a deck,
+     * so that several cards of one value are different cards and can all come from a single deck.
+     *
+     * @param value The point value, 2-11.
+     * @param skip  The number of cards of that value to pass over, fewer than a deck holds.
+     * @return A card code of that value.
+     */
+    private static int codeOf(int value, int skip) {
+        int passed = 0;
+        for (int code = 0; code < Card.CARDS_PER_DECK; code++) {
+            if (Card.valueOf(code) == value && passed++ == skip) {
+                return code;
+            }
+        }
+        throw new IllegalArgumentException("No card is worth " + value + ".");
+    }
+
+    /**
+     * One cell of the chart and the trials that decide it. Runs on a pool thread with its own table.
+     */
+    private class Cell implements Callable<Cell> {
+        private final PlayerStrategy chart;
+        private final boolean pair;
+        private final int upcard;
+        private final int first;
+        private final int second;
+        private final Action[] candidates;
+        private final long seed;
+        private final long stream;
+        private final EdgeEstimator[] values;
+        /** The difference between candidates i and j (i < j) is at index i * candidates + j. */
+        private final EdgeEstimator[] differences;
+        private long trials;
+        private boolean significant;
+
+        /**
+         * Constructs a Cell.
+         *
+         * @param chart  The strategy played after the first decision.
+         * @param total  The hand total, or the value of each card for a pair.
+         * @param soft   Whether the hand is soft.
+         * @param pair   Whether the cell is a split decision.
+         * @param upcard The dealer upcard value, 2-11.
+         * @param seed   The optimizer's seed.
+         */
+        Cell(PlayerStrategy chart, int total, boolean soft, boolean pair, int upcard, long seed) {
+            this.chart = chart;
+            this.pair = pair;
+            this.upcard = upcard;
+            if (pair) {
+                first = total;
+                second = total;
+                candidates = PAIR_ACTIONS;
+            } else {
+                if (soft) {
+                    first = 11;
+                    second = total == 12 ? 11 : total - 11;
+                } else {
+                    first = total >= 12 ? 10 : 2;
+                    second = total - first;
+                }
+                candidates = rules.isSurrender() ? TOTAL_ACTIONS_WITH_SURRENDER : TOTAL_ACTIONS;
+            }
+            this.seed = seed;
+            // Every cell gets a distinct, fixed stream number
+            this.stream = ((pair ? 2 : soft ? 1 : 0) * 32L + total) * 16 + upcard;
+            this.values = new EdgeEstimator[candidates.length];
+            this.differences = new EdgeEstimator[candidates.length * candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                values[i] = new EdgeEstimator();
+                for (int j = i + 1; j < candidates.length; j++) {
+                    differences[i * candidates.length + j] = new EdgeEstimator();
+                }
+            }
+        }
+
+        /**
+         * Plays trials until the best action is significantly better than the others or the limit is reached.
+         *
+         * @return This Cell, decided.
+         */
+        @Override
+        public Cell call() {
+            RandomGenerator random = RandomStreams.forShoe(seed, stream);
+            int decks = rules.getDecks();
+            int playerFirst = codeOf(first, 0);
+            int playerSecond = codeOf(second, second == first ? 1 : 0);
+            int dealerUpcard = codeOf(upcard, (upcard == first ? 1 : 0) + (upcard == second ? 1 : 0));
+            byte[] rest = remainingCards(decks, playerFirst, playerSecond, dealerUpcard);
+            byte[] deal = new byte[decks * Card.CARDS_PER_DECK];
+            deal[0] = (byte) playerFirst;
+            deal[2] = (byte) playerSecond;
+            deal[3] = (byte) dealerUpcard;
+            ForcedStrategy strategy = new ForcedStrategy(chart);
+            Player player = new Player(TRIAL_BANKROLL, strategy);
+            Shoe shoe = new Shoe(decks, 1.0, 0L);
+            Table table = new Table(rules, shoe, new Dealer(), player);
+            int[] nets = new int[candidates.length];
+            while (trials < maxTrials) {
+                long batch = Math.min(BATCH_TRIALS, maxTrials - trials);
+                for (long t = 0; t < batch; t++) {
+                    arrange(rest, random);
+                    // The table deals player, hole card, player, upcard
+                    deal[1] = rest[0];
+                    System.arraycopy(rest, 1, deal, 4, rest.length - 1);
+                    for (int c = 0; c < candidates.length; c++) {
+                        shoe.load(deal, 0);
+                        strategy.force(candidates[c]);
+                        player.setMoney(TRIAL_BANKROLL);
+                        player.placeBet(TRIAL_BET);
+                        table.playRound();
+                        nets[c] = table.getPayout(0) - table.getWagered(0);
+                    }
+                    record(nets);
+                }
+                trials += batch;
+                if (isDecided()) {
+                    significant = true;
+                    break;
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Builds the shoe without the player's two cards and the dealer's upcard.
+         *
+         * @param decks The number of decks.
+         * @param codes The cards already dealt.
+         * @return The remaining cards.
+         */
+        private byte[] remainingCards(int decks, int... codes) {
+            byte[] rest = new byte[decks * Card.CARDS_PER_DECK - codes.length];
+            boolean[] removed = new boolean[codes.length];
+            int size = 0;
+            for (int i = 0; i < decks * Card.CARDS_PER_DECK; i++) {
+                int code = i % Card.CARDS_PER_DECK;
+                boolean skip = false;
+                for (int k = 0; k < codes.length && !skip; k++) {
+                    if (!removed[k] && codes[k] == code) {
+                        removed[k] = true;
+                        skip = true;
+                    }
+                }
+                if (!skip) {
+                    rest[size++] = (byte) code;
+                }
+            }
+            return rest;
+        }
+
+        /**
+         * Puts a hole card that does not give the dealer Blackjack first, then shuffles the cards after it.
+         * Only the first {@value #SHUFFLED_CARDS} positions need fresh cards; a partial Fisher-Yates shuffle
+         * fills them uniformly from the whole remainder.
+         *
+         * @param rest   The remaining cards, rearranged in place.
+         * @param random The cell's generator.
+         */
+        private void arrange(byte[] rest, RandomGenerator random) {
+            int hole;
+            do {
+                hole = random.nextInt(rest.length);
+            } while (Card.valueOf(rest[hole]) + upcard == 21);
+            swap(rest, 0, hole);
+            int shuffled = Math.min(SHUFFLED_CARDS, rest.length - 1);
+            for (int i = 1; i <= shuffled; i++) {
+                swap(rest, i, i + random.nextInt(rest.length - i));
+            }
+        }
+
+        /**
+         * Swaps two cards.
+         *
+         * @param cards The cards.
+         * @param i     The first position.
+         * @param j     The second position.
+         */
+        private void swap(byte[] cards, int i, int j) {
+            byte swap = cards[i];
+            cards[i] = cards[j];
+            cards[j] = swap;
+        }
+
+        /**
+         * Adds one trial's results for every candidate.
+         *
+         * @param nets The amount each candidate won, negative for a loss.
+         */
+        private void record(int[] nets) {
+            for (int i = 0; i < candidates.length; i++) {
+                values[i].add(nets[i], TRIAL_BET);
+                for (int j = i + 1; j < candidates.length; j++) {
+                    differences[i * candidates.length + j].add(nets[i] - nets[j], TRIAL_BET);
+                }
+            }
+        }
+
+        /**
+         * Finds the candidate with the highest average result so far.
+         *
+         * @return The candidate's index.
+         */
+        private int best() {
+            int best = 0;
+            for (int i = 1; i < candidates.length; i++) {
+                if (value(i) > value(best)) {
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Estimates a candidate's expected result.
+         *
+         * @param candidate The candidate's index.
+         * @return The expected result per initial bet.
+         */
+        private double value(int candidate) {
+            return -values[candidate].getHouseEdge();
+        }
+
+        /**
+         * Checks whether the best candidate beats every other by more than {@value #SIGNIFICANCE_Z} standard errors.
+         *
+         * @return True if the cell is decided.
+         */
+        private boolean isDecided() {
+            int best = best();
+            for (int other = 0; other < candidates.length; other++) {
+                if (other == best) {
+                    continue;
+                }
+                EdgeEstimator difference = differences[Math.min(best, other) * candidates.length
+                        + Math.max(best, other)];
+                // The estimator's house edge is the loss of the lower-numbered candidate relative to the other
+                double advantage = best < other ? -difference.getHouseEdge() : difference.getHouseEdge();
+                if (advantage <= SIGNIFICANCE_Z * difference.getStandardError()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Converts the best candidate to a chart symbol. A double or surrender falls back to whichever of hitting
+         * and standing did better.
+         *
+         * @return The chart symbol.
+         */
+        char getSymbol() {
+            Action action = candidates[best()];
+            if (pair) {
+                return action == Action.SPLIT ? 'P' : '-';
+            }
+            boolean hit = value(0) >= value(1);
+            switch (action) {
+                case HIT:
+                    return 'H';
+                case STAND:
+                    return 'S';
+                case DOUBLE:
+                    return hit ? 'D' : 'd';
+                default:
+                    return hit ? 'R' : 'r';
+            }
+        }
+    }
+
+    /**
+     * A strategy that makes a forced first decision and then plays the chart.
+     */
+    private static class ForcedStrategy implements PlayerStrategy {
+        private final PlayerStrategy chart;
+        private Action forced;
+        private boolean pending;
+
+        /**
+         * Constructs a ForcedStrategy.
+         *
+         * @param chart The strategy for every decision after the first.
+         */
+        ForcedStrategy(PlayerStrategy chart) {
+            this.chart = chart;
+        }
+
+        /**
+         * Forces the next round's first decision.
+         *
+         * @param action The first decision, or null to play the pair as a total without splitting.
+         */
+        void force(Action action) {
+            forced = action;
+            pending = true;
+        }
+
+        /**
+         * Returns the forced action for the round's first decision and the chart's action otherwise.
+         *
+         * @param hand           The player's current hand.
+         * @param dealerUpcard   The code of the dealer's face-up card.
+         * @param allowedActions The actions open to the player.
+         * @return The action to take.
+         */
+        @Override
+        public Action decide(Hand hand, int dealerUpcard, int allowedActions) {
+            if (!pending) {
+                return chart.decide(hand, dealerUpcard, allowedActions);
+            }
+            pending = false;
+            return forced != null ? forced : chart.decide(hand, dealerUpcard, allowedActions & ~Action.SPLIT.mask());
+        }
+
+        /**
+         * Takes insurance when the chart does.
+         *
+         * @param hand The player's hand.
+         * @return The chart's insurance decision.
+         */
+        @Override
+        public boolean takeInsurance(Hand hand) {
+            return chart.takeInsurance(hand);
+        }
+    }
+
+    /**
+     * A row of the chart once all its cells are decided.
+     */
+    public static class Row {
+        private final String label;
+        private final String symbols;
+        private final long trials;
+        private final int unresolved;
+
+        /**
+         * Constructs a Row.
+         *
+         * @param label      The row's label, e.g. "hard 16" or "8-8".
+         * @param symbols    The row's chart symbols, upcards 2 through Ace.
+         * @param trials     The trials played over the row's cells.
+         * @param unresolved The number of cells that reached the trial limit without a significant winner.
+         */
+        Row(String label, String symbols, long trials, int unresolved) {
+            this.label = label;
+            this.symbols = symbols;
+            this.trials = trials;
+            this.unresolved = unresolved;
+        }
+
+        /**
+         * Retrieves the row's label.
+         *
+         * @return The label, e.g. "hard 16" or "8-8".
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Retrieves the row's chart symbols.
+         *
+         * @return The symbols, upcards 2 through Ace.
+         */
+        public String getSymbols() {
+            return symbols;
+        }
+
+        /**
+         * Retrieves the trials played over the row's cells.
+         *
+         * @return The trial count.
+         */
+        public long getTrials() {
+            return trials;
+        }
+
+        /**
+         * Retrieves the number of the row's cells that reached the trial limit without a significant winner.
+         *
+         * @return The number of unresolved cells.
+         */
+        public int getUnresolved() {
+            return unresolved;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package src;
+
+/**
+ * The outcome of one variant of a parameter sweep: its statistics and, for every variant but the baseline,
+ * its house edge relative to the baseline over the same shoes.
+ *
+ * @author Kaden Godinez
+ */
+public class SweepResult {
+    private final SweepVariant variant;
+    private final SimulationStats stats;
+    private final EdgeDifferenceEstimator difference;
+
+    /**
+     * Constructs a SweepResult.
+     *
+     * @param variant    The variant.
+     * @param stats      The statistics gathered for the variant.
+     * @param difference The paired comparison with the baseline, or null for the baseline itself.
+     */
+    public SweepResult(SweepVariant variant, SimulationStats stats, EdgeDifferenceEstimator difference) {
+        this.variant = variant;
+        this.stats = stats;
+        this.difference = difference;
+    }
+
+    /**
+     * Retrieves the variant.
+     *
+     * @return The variant.
+     */
+    public SweepVariant getVariant() {
+        return variant;
+    }
+
+    /**
+     * Retrieves the statistics gathered for the variant.
+     *
+     * @return The stats.
+     */
+    public SimulationStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Retrieves the paired comparison with the baseline.
+     *
+     * @return The difference estimator, or null for the baseline.
+     */
+    public EdgeDifferenceEstimator getDifference() {
+        return difference;
+    }
+
+    /**
+     * Prints the results of a sweep as a table, one row per variant, with the baseline first.
+     *
+     * @param results The results, in the order the variants were given.
+     */
+    public static void printTable(SweepResult[] results) {
+        int width = "Variant".length();
+        for (SweepResult result : results) {
+            width = Math.max(width, result.variant.getName().length());
+        }
+        String row = "%-" + width + "s %12s %10s %9s %12s %9s%n";
+        System.out.printf(row, "Variant", "Rounds", "Edge", "+/-", "vs baseline", "+/-");
+        for (SweepResult result : results) {
+            EdgeEstimator edge = result.stats.getEdge();
+            EdgeDifferenceEstimator difference = result.difference;
+            System.out.printf(row, result.variant.getName(), edge.getCount(),
+                    String.format("%.4f%%", edge.getHouseEdge() * 100),
+                    String.format("%.4f%%", edge.getConfidenceHalfWidth() * 100),
+                    difference == null ? "baseline" : String.format("%+.4f%%", difference.getDifference() * 100),
+                    difference == null ? "" : String.format("%.4f%%", difference.getConfidenceHalfWidth() * 100));
+        }
+    }
+}
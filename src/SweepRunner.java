@@ -0,0 +1,211 @@
+package src;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Evaluates many variants of rules, strategy and bet ramp in a single pass over one sequence of shoes.
+ * Every variant is dealt exactly the same shoes (common random numbers): shoe n of a given size is always
+ * the shuffle {@link Shoe#shuffled(int, long, long, byte[], int)} produces for the run's seed, and each variant
+ * plays it from the first card to the cut card. Each shoe is shuffled once for all the variants that use
+ * its size, and because the variants see the same cards, the differences between them are measured with
+ * far less noise than the edges themselves (see {@link EdgeDifferenceEstimator}).
+ * <p>
+ * The shoes are split into blocks of {@value #BLOCK_SHOES}, dealt out to a fixed number of workers. A worker
+ * shuffles a block and then plays it through every variant, one cell (variant and block) at a time, with a
+ * simulator per variant that it keeps for the whole run. The first variant is the baseline the others are
+ * compared against. For a given seed and thread count the results are always the same.
+ *
+ * @author Kaden Godinez
+ */
+public class SweepRunner {
+    /** The number of shoes each worker shuffles and plays through every variant at a time. */
+    public static final int BLOCK_SHOES = 256;
+
+    private final double penetration;
+    private final int bet;
+    private final int seats;
+    private final int threads;
+    private final SweepVariant[] variants;
+
+    /**
+     * Constructs a SweepRunner.
+     *
+     * @param penetration The fraction of every shoe dealt before the cut card.
+     * @param bet         The betting unit.
+     * @param seats       The number of seats at every variant's table.
+     * @param threads     The number of workers to split the shoes across.
+     * @param variants    The variants to evaluate, the baseline first.
+     */
+    public SweepRunner(double penetration, int bet, int seats, int threads, SweepVariant... variants) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive.");
+        }
+        if (variants.length == 0) {
+            throw new IllegalArgumentException("A sweep needs at least one variant.");
+        }
+        this.penetration = penetration;
+        this.bet = bet;
+        this.seats = seats;
+        this.threads = threads;
+        this.variants = variants.clone();
+    }
+
+    /**
+     * Plays the given number of shoes through every variant.
+     *
+     * @param shoes The number of shoes to deal to each variant.
+     * @param seed  The seed of the shoe sequence.
+     * @return The result of every variant, in the order the variants were given.
+     */
+    public SweepResult[] run(long shoes, long seed) {
+        long blocks = (shoes + BLOCK_SHOES - 1) / BLOCK_SHOES;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Worker merged = pool.invoke(new WorkerTask(shoes, blocks, seed, 0, threads));
+            SweepResult[] results = new SweepResult[variants.length];
+            for (int v = 0; v < variants.length; v++) {
+                results[v] = new SweepResult(variants[v], merged.stats[v], v == 0 ? null : merged.differences[v]);
+            }
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * One worker's simulators and results.
+     */
+    private class Worker {
+        private final Simulator[] simulators = new Simulator[variants.length];
+        private final SimulationStats[] stats = new SimulationStats[variants.length];
+        private final EdgeDifferenceEstimator[] differences = new EdgeDifferenceEstimator[variants.length];
+        private final byte[][] blocksByDecks = new byte[Shoe.MAX_DECKS + 1][];
+        private final long[][] nets = new long[variants.length][BLOCK_SHOES];
+        private final long[][] bets = new long[variants.length][BLOCK_SHOES];
+
+        /**
+         * Constructs a Worker with a simulator for every variant.
+         */
+        Worker() {
+            for (int v = 0; v < variants.length; v++) {
+                SweepVariant variant = variants[v];
+                // Every shoe is loaded from a shuffled block, so the simulator's own shoe seed is never used
+                simulators[v] = new Simulator(variant.getRules(), penetration, bet, 1, seats,
+                        new SplittableRandom(v), variant.getStrategy());
+                if (variant.getCounting() != null) {
+                    simulators[v].useCounting(variant.getCounting(), variant.getMaxBetUnits());
+                }
+                stats[v] = new SimulationStats();
+                differences[v] = new EdgeDifferenceEstimator();
+                int decks = variant.getRules().getDecks();
+                if (blocksByDecks[decks] == null) {
+                    blocksByDecks[decks] = new byte[BLOCK_SHOES * decks * Card.CARDS_PER_DECK];
+                }
+            }
+        }
+
+        /**
+         * Shuffles one block of shoes for every shoe size in the sweep and plays it through every variant.
+         *
+         * @param first The number of the block's first shoe.
+         * @param count The number of shoes in the block.
+         * @param seed  The seed of the shoe sequence.
+         */
+        void playBlock(long first, int count, long seed) {
+            for (int decks = 1; decks <= Shoe.MAX_DECKS; decks++) {
+                byte[] block = blocksByDecks[decks];
+                if (block != null) {
+                    int size = decks * Card.CARDS_PER_DECK;
+                    for (int i = 0; i < count; i++) {
+                        Shoe.shuffled(decks, seed, first + i, block, i * size);
+                    }
+                }
+            }
+            for (int v = 0; v < variants.length; v++) {
+                int decks = variants[v].getRules().getDecks();
+                byte[] block = blocksByDecks[decks];
+                for (int i = 0; i < count; i++) {
+                    simulators[v].playShoe(block, i * decks * Card.CARDS_PER_DECK, stats[v]);
+                    nets[v][i] = simulators[v].getShoeNet();
+                    bets[v][i] = simulators[v].getShoeWagered();
+                }
+            }
+            for (int v = 1; v < variants.length; v++) {
+                for (int i = 0; i < count; i++) {
+                    differences[v].add(nets[v][i], bets[v][i], nets[0][i], bets[0][i]);
+                }
+            }
+        }
+
+        /**
+         * Adds another worker's results to this one's.
+         *
+         * @param other The worker to merge in.
+         * @return This Worker, for chaining.
+         */
+        Worker merge(Worker other) {
+            for (int v = 0; v < variants.length; v++) {
+                stats[v].merge(other.stats[v]);
+                differences[v].merge(other.differences[v]);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Fork/join task covering a range of workers.
+     * Splits the range in half until a single worker remains, which plays every block whose number
+     * is the worker's index plus a multiple of the thread count.
+     */
+    private class WorkerTask extends RecursiveTask<Worker> {
+        /** Tasks are serializable only through ForkJoinTask; they are never actually serialized. */
+        private static final long serialVersionUID = 1L;
+
+        private final long shoes;
+        private final long blocks;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructs a WorkerTask for workers {@code from} (inclusive) to {@code to} (exclusive).
+         *
+         * @param shoes  The total number of shoes.
+         * @param blocks The total number of blocks.
+         * @param seed   The seed of the shoe sequence.
+         * @param from   The first worker in the range.
+         * @param to     The end of the worker range.
+         */
+        WorkerTask(long shoes, long blocks, long seed, int from, int to) {
+            this.shoes = shoes;
+            this.blocks = blocks;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Runs the workers in the range and merges their results, lower worker indices first.
+         *
+         * @return The merged results of the range.
+         */
+        @Override
+        protected Worker compute() {
+            if (to - from == 1) {
+                Worker worker = new Worker();
+                for (long block = from; block < blocks; block += threads) {
+                    long first = block * BLOCK_SHOES;
+                    worker.playBlock(first, (int) Math.min(BLOCK_SHOES, shoes - first), seed);
+                }
+                return worker;
+            }
+            int mid = (from + to) >>> 1;
+            WorkerTask right = new WorkerTask(shoes, blocks, seed, mid, to);
+            right.fork();
+            Worker left = new WorkerTask(shoes, blocks, seed, from, mid).compute();
+            return left.merge(right.join());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package src;
+
+/**
+ * One cell of a parameter sweep: a rule set, a playing strategy and a betting scheme to evaluate.
+ *
+ * @author Kaden Godinez
+ */
+public class SweepVariant {
+    private final String name;
+    private final TableRules rules;
+    private final PlayerStrategy strategy;
+    private final CountingSystem counting;
+    private final int maxBetUnits;
+
+    /**
+     * Constructs a SweepVariant.
+     *
+     * @param name        The name the variant is reported under.
+     * @param rules       The table rules.
+     * @param strategy    The strategy that makes every seat's decisions.
+     * @param counting    The counting system that drives the bet ramp, or null for flat betting.
+     * @param maxBetUnits The largest bet of the ramp, in betting units; ignored for flat betting.
+     */
+    public SweepVariant(String name, TableRules rules, PlayerStrategy strategy, CountingSystem counting,
+                        int maxBetUnits) {
+        this.name = name;
+        this.rules = rules;
+        this.strategy = strategy;
+        this.counting = counting;
+        this.maxBetUnits = maxBetUnits;
+    }
+
+    /**
+     * Retrieves the variant's name.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the table rules.
+     *
+     * @return The rules.
+     */
+    public TableRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Retrieves the playing strategy.
+     *
+     * @return The strategy.
+     */
+    public PlayerStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Retrieves the counting system behind the bet ramp.
+     *
+     * @return The counting system, or null for flat betting.
+     */
+    public CountingSystem getCounting() {
+        return counting;
+    }
+
+    /**
+     * Retrieves the largest bet of the ramp.
+     *
+     * @return The bet spread, in betting units.
+     */
+    public int getMaxBetUnits() {
+        return maxBetUnits;
+    }
+}
@@ -0,0 +1,475 @@
+package src;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A Blackjack table: one to seven seated Players against a single Dealer, all dealt from one shared shoe
+ * or {@link ContinuousShuffler}.
+ * Runs the steps of a round in casino order: every seat and then the dealer receive a first card, then a second,
+ * insurance is offered when the dealer shows an Ace, the dealer checks for Blackjack, any side bets are settled
+ * on the first two cards, each seat plays its turn in order, the dealer plays out once, and every hand is settled
+ * against that one result under the table's {@link TableRules}.
+ * <p>
+ * The steps can be run one at a time, as the interactive {@link Game} does to print headings between them,
+ * or all together with {@link #playRound()}, as the headless {@link Simulator} does.
+ * A seat takes part in a round only if its player has a bet placed.
+ * <p>
+ * With a {@link HandHistoryWriter} attached, every settled hand is also recorded to a hand-history file.
+ * Between rounds, the table's state (its shoe, round number and every seat's money) can be saved
+ * to a checkpoint and restored.
+ * <p>
+ * Every table reports its rounds, hands and sessions to {@link EngineMetrics}, under an identifier of its own.
+ *
+ * @author Kaden Godinez
+ */
+public class Table {
+    /** The largest number of seats at a table. */
+    public static final int MAX_SEATS = 7;
+
+    private final TableRules rules;
+    private final CardSource shoe;
+    private final Dealer dealer;
+    private final Player[] seats;
+    private final int[] payouts;
+    private final int[] wagered;
+    private final int[] sidePayouts;
+    private GameEventListener listener = NoOpEventListener.INSTANCE;
+    private HandHistoryWriter history;
+    private long round;
+    private final long id = EngineMetrics.INSTANCE.openTable();
+    private long sessions;
+    private long sessionStart;
+
+    /**
+     * Constructs a Table dealing from the given shoe or continuous shuffler under the given rules.
+     * The rules are passed on to the dealer and every seat.
+     *
+     * @param rules  The rules the table is played under.
+     * @param shoe   The cards every hand is dealt from.
+     * @param dealer The dealer.
+     * @param seats  The seated players, in dealing order.
+     */
+    public Table(TableRules rules, CardSource shoe, Dealer dealer, Player... seats) {
+        if (seats.length < 1 || seats.length > MAX_SEATS) {
+            throw new IllegalArgumentException("A table has between 1 and " + MAX_SEATS + " seats.");
+        }
+        this.rules = rules;
+        this.shoe = shoe;
+        this.dealer = dealer;
+        this.seats = seats.clone();
+        this.payouts = new int[seats.length];
+        this.wagered = new int[seats.length];
+        this.sidePayouts = new int[seats.length];
+        dealer.setRules(rules);
+        for (Player seat : seats) {
+            seat.setRules(rules);
+        }
+    }
+
+    /**
+     * Sets the listener that receives the events of the table, its shoe, its dealer and every seat.
+     *
+     * @param listener The listener to report to.
+     */
+    public void setEventListener(GameEventListener listener) {
+        this.listener = listener;
+        shoe.setEventListener(listener);
+        dealer.setEventListener(listener);
+        for (Player seat : seats) {
+            seat.setEventListener(listener);
+        }
+    }
+
+    /**
+     * Attaches a writer that records every hand as it is settled.
+     *
+     * @param history The hand-history writer, or null to stop recording.
+     */
+    public void setHandHistory(HandHistoryWriter history) {
+        this.history = history;
+    }
+
+    /**
+     * Retrieves the table's identifier in the engine metrics.
+     *
+     * @return The identifier, unique within the program.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves the number of sessions finished at the table.
+     *
+     * @return The session count.
+     */
+    public long getSessionCount() {
+        return sessions;
+    }
+
+    /**
+     * Finishes a session: reports the rounds settled since the last session ended to the engine metrics.
+     */
+    public void endSession() {
+        sessions++;
+        EngineMetrics.INSTANCE.recordSession(id, sessions, round - sessionStart);
+        sessionStart = round;
+    }
+
+    /**
+     * Retrieves the number of seats at the table.
+     *
+     * @return The seat count.
+     */
+    public int getSeatCount() {
+        return seats.length;
+    }
+
+    /**
+     * Retrieves the player in a seat.
+     *
+     * @param seat The seat index, starting at 0.
+     * @return The seated Player.
+     */
+    public Player getSeat(int seat) {
+        return seats[seat];
+    }
+
+    /**
+     * Retrieves the rules the table is played under.
+     *
+     * @return The table rules.
+     */
+    public TableRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Retrieves the dealer.
+     *
+     * @return The Dealer.
+     */
+    public Dealer getDealer() {
+        return dealer;
+    }
+
+    /**
+     * Retrieves the shoe or continuous shuffler the table deals from.
+     *
+     * @return The card source.
+     */
+    public CardSource getShoe() {
+        return shoe;
+    }
+
+    /**
+     * Checks whether a seat has a bet placed and so takes part in the current round.
+     *
+     * @param seat The seat index.
+     * @return True if the seat is playing this round.
+     */
+    public boolean isInPlay(int seat) {
+        return seats[seat].getCurrentBet() > 0;
+    }
+
+    /**
+     * Retrieves the amount returned to a seat, over all its hands and any insurance, when the last round was settled.
+     *
+     * @param seat The seat index.
+     * @return The amount returned, including the bets, or 0 if the seat lost or sat out.
+     */
+    public int getPayout(int seat) {
+        return payouts[seat];
+    }
+
+    /**
+     * Retrieves the amount a seat had at risk in the last settled round, including doubles, splits and insurance.
+     *
+     * @param seat The seat index.
+     * @return The amount wagered, or 0 if the seat sat out.
+     */
+    public int getWagered(int seat) {
+        return wagered[seat];
+    }
+
+    /**
+     * Plays a complete round for every seat with a bet placed.
+     */
+    public void playRound() {
+        dealInitialCards();
+        if (offersInsurance()) {
+            for (int i = 0; i < seats.length; i++) {
+                offerInsurance(i);
+            }
+        }
+        settleSideBets();
+        if (!dealerHasBlackjack()) {
+            for (int i = 0; i < seats.length; i++) {
+                playSeat(i);
+            }
+        }
+        if (hasLiveHands()) {
+            playDealer();
+        }
+        settle();
+    }
+
+    /**
+     * Clears the hands and deals two cards to every seat in play and to the dealer,
+     * one card at a time going around the table with the dealer last.
+     */
+    public void dealInitialCards() {
+        for (int i = 0; i < seats.length; i++) {
+            seats[i].resetHands();
+        }
+        dealer.getHand().reset();
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < seats.length; i++) {
+                if (isInPlay(i)) {
+                    seats[i].receiveCode(shoe.dealCode());
+                }
+            }
+            dealer.receiveCode(shoe.dealCode());
+        }
+    }
+
+    /**
+     * Checks whether insurance is offered this round, which happens when the dealer shows an Ace.
+     *
+     * @return True if the dealer's upcard is an Ace.
+     */
+    public boolean offersInsurance() {
+        return Card.isAce(dealer.getHand().getCode(1));
+    }
+
+    /**
+     * Offers insurance to one seat. Does nothing for a seat that is sitting out.
+     *
+     * @param seat The seat index.
+     * @return True if the seat took insurance.
+     */
+    public boolean offerInsurance(int seat) {
+        return isInPlay(seat) && seats[seat].offerInsurance();
+    }
+
+    /**
+     * Checks the dealer's hole card for Blackjack. When the dealer has one, the seats do not play their turns
+     * and lose only their original bets, except a seat with Blackjack, which pushes.
+     *
+     * @return True if the dealer has a natural Blackjack.
+     */
+    public boolean dealerHasBlackjack() {
+        return dealer.getHand().isBlackjack();
+    }
+
+    /**
+     * Settles every seat's side bets on its first two cards, the dealer's upcard and, for bets that depend on it,
+     * whether the dealer has Blackjack, paying the winners. Call once the dealer has checked for Blackjack and
+     * before any seat plays. A table that offers no side bets returns at once.
+     */
+    public void settleSideBets() {
+        if (!rules.hasSideBets()) {
+            return;
+        }
+        boolean dealerBlackjack = dealerHasBlackjack();
+        int upcard = dealer.getHand().getCode(1);
+        for (int i = 0; i < seats.length; i++) {
+            Player player = seats[i];
+            if (!isInPlay(i) || player.getSideBetTotal() == 0) {
+                continue;
+            }
+            Hand hand = player.getHand(0);
+            for (SideBet bet : SideBet.values()) {
+                int amount = player.getSideBet(bet);
+                if (amount == 0) {
+                    continue;
+                }
+                int outcome = bet.outcome(hand.getCode(0), hand.getCode(1), upcard, dealerBlackjack);
+                int payout = bet.payout(amount, outcome);
+                sidePayouts[i] += payout;
+                listener.onSideBetSettled(player, bet, outcome, amount, payout);
+                if (payout > 0) {
+                    player.addWinnings(payout);
+                }
+            }
+        }
+    }
+
+    /**
+     * Plays one seat's turn against the dealer's upcard. Does nothing for a seat that is sitting out.
+     *
+     * @param seat The seat index.
+     */
+    public void playSeat(int seat) {
+        if (isInPlay(seat)) {
+            seats[seat].playTurn(shoe, dealer.getUpcard());
+        }
+    }
+
+    /**
+     * Checks whether any hand in play finished without busting or surrendering, in which case the dealer must play.
+     *
+     * @return True if the dealer's hand affects the outcome of the round.
+     */
+    public boolean hasLiveHands() {
+        for (int i = 0; i < seats.length; i++) {
+            if (!isInPlay(i)) {
+                continue;
+            }
+            Player player = seats[i];
+            for (int h = 0; h < player.getHandCount(); h++) {
+                if (!player.getHand(h).isBust() && !player.isSurrendered(h)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reveals the dealer's hidden card and plays out the dealer's hand once for the whole table.
+     *
+     * @return The dealer's final total.
+     */
+    public int playDealer() {
+        dealer.revealHiddenCard();
+        return dealer.playOut(shoe);
+    }
+
+    /**
+     * Settles every hand in play and any insurance against the dealer's hand, pays the winners and clears the bets.
+     * The payouts reported for the round include the side bets already settled. The round's cards are then
+     * collected, so a continuous shuffler takes them back.
+     */
+    public void settle() {
+        int dealerTotal = dealer.getHand().calculateTotal();
+        boolean dealerBlackjack = dealerHasBlackjack();
+        int hands = 0;
+        int decisions = 0;
+        for (int i = 0; i < seats.length; i++) {
+            payouts[i] = sidePayouts[i];
+            sidePayouts[i] = 0;
+            wagered[i] = 0;
+            if (!isInPlay(i)) {
+                continue;
+            }
+            Player player = seats[i];
+            wagered[i] = player.getTotalWagered();
+            int insurance = player.getInsuranceBet();
+            if (insurance > 0) {
+                // Insurance pays 2:1
+                int payout = dealerBlackjack ? insurance * 3 : 0;
+                payouts[i] += payout;
+                listener.onInsuranceSettled(player, insurance, payout);
+                if (payout > 0) {
+                    player.addWinnings(payout);
+                }
+            }
+            for (int h = 0; h < player.getHandCount(); h++) {
+                int playerTotal = player.getHand(h).calculateTotal();
+                int bet = player.getBet(h);
+                int payout = payout(player, h, playerTotal, dealerTotal, dealerBlackjack);
+                payouts[i] += payout;
+                listener.onRoundSettled(player, playerTotal, dealerTotal, bet, payout);
+                if (payout > 0) {
+                    player.addWinnings(payout);
+                }
+                if (history != null) {
+                    record(i, h, dealerBlackjack, payout);
+                }
+                decisions += player.getDecisionCount(h);
+            }
+            hands += player.getHandCount();
+            player.clearBet();
+        }
+        shoe.roundFinished();
+        round++;
+        EngineMetrics.INSTANCE.recordRound(hands, decisions);
+    }
+
+    /**
+     * Records one settled hand to the hand history.
+     *
+     * @param seat            The seat index.
+     * @param hand            The hand index.
+     * @param dealerBlackjack Whether the dealer has a natural Blackjack.
+     * @param payout          The amount returned for the hand.
+     */
+    private void record(int seat, int hand, boolean dealerBlackjack, int payout) {
+        Player player = seats[seat];
+        int flags = 0;
+        if (player.isNatural(hand)) {
+            flags |= HandRecord.NATURAL;
+        }
+        if (player.isSurrendered(hand)) {
+            flags |= HandRecord.SURRENDERED;
+        }
+        if (hand == 0 && player.getInsuranceBet() > 0) {
+            flags |= HandRecord.INSURANCE;
+        }
+        if (dealerBlackjack) {
+            flags |= HandRecord.DEALER_BLACKJACK;
+        }
+        history.record(round, shoe.getShuffleCount(), seat, hand, flags, player.getBet(hand), payout,
+                player.getDecisions(hand), player.getHand(hand), dealer.getHand());
+    }
+
+    /**
+     * Calculates the amount returned for one hand.
+     *
+     * @param player          The player holding the hand.
+     * @param hand            The hand index.
+     * @param playerTotal     The hand's final total.
+     * @param dealerTotal     The dealer's final total.
+     * @param dealerBlackjack Whether the dealer has a natural Blackjack.
+     * @return The amount returned, including the hand's bet.
+     */
+    private int payout(Player player, int hand, int playerTotal, int dealerTotal, boolean dealerBlackjack) {
+        int bet = player.getBet(hand);
+        if (player.isSurrendered(hand)) {
+            return bet / 2;
+        } else if (playerTotal > 21) {
+            return 0;
+        } else if (player.isNatural(hand)) {
+            return dealerBlackjack ? bet : rules.blackjackPayout(bet);
+        } else if (dealerBlackjack) {
+            return 0;
+        }
+        return Game.payout(playerTotal, dealerTotal, bet);
+    }
+
+    /**
+     * Writes the table's state between rounds for a checkpoint: the shoe, the round number and every seat's money.
+     *
+     * @param out The checkpoint being written.
+     * @throws IOException If the state cannot be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        shoe.writeState(out);
+        out.writeLong(round);
+        out.writeByte(seats.length);
+        for (Player seat : seats) {
+            out.writeInt(seat.getMoney());
+        }
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(DataOutput)} to a table with the same seats.
+     *
+     * @param in The checkpoint being read.
+     * @throws IOException If the state cannot be read or was written for a different number of seats.
+     */
+    public void readState(DataInput in) throws IOException {
+        shoe.readState(in);
+        round = in.readLong();
+        sessionStart = round;
+        if (in.readByte() != seats.length) {
+            throw new IOException("Checkpoint was written for a different number of seats.");
+        }
+        for (Player seat : seats) {
+            seat.setMoney(in.readInt());
+        }
+    }
+}
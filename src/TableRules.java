@@ -0,0 +1,303 @@
+package src;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * The house rules a {@link Table} is played under.
+ * Rules are immutable. A variant can be described in a properties file and loaded with {@link #load(Path)},
+ * so rule sets can be switched without recompiling. Every key is optional and defaults to {@link #DEFAULT}:
+ * <pre>
+ * decks=6                 # decks in the shoe, 1-8
+ * dealerHitsSoft17=false  # H17 when true, S17 when false
+ * doubleAfterSplit=true   # whether a split hand may be doubled
+ * maxSplitHands=4         # the most hands a player can split into, 1 to disable splitting
+ * surrender=true          # late surrender, after the dealer checks for Blackjack
+ * blackjackPayout=3:2     # what a natural Blackjack pays, e.g. 3:2 or 6:5
+ * sideBets=               # side bets offered, from perfectPairs, 21+3 and luckyLadies, comma-separated
+ * </pre>
+ * Doubling is allowed on any first two cards. Split Aces receive one card each and cannot be split again.
+ *
+ * @author Kaden Godinez
+ */
+public class TableRules {
+    /**
+     * Six decks, dealer stands on soft 17, double after split, split to four hands, late surrender, 3:2,
+     * no side bets.
+     */
+    public static final TableRules DEFAULT = new TableRules(6, false, true, 4, true, 3, 2);
+
+    private final int decks;
+    private final boolean dealerHitsSoft17;
+    private final boolean doubleAfterSplit;
+    private final int maxSplitHands;
+    private final boolean surrender;
+    private final int blackjackNumerator;
+    private final int blackjackDenominator;
+    private final int sideBets;
+
+    /**
+     * Constructs a rule set.
+     *
+     * @param decks                The number of decks in the shoe.
+     * @param dealerHitsSoft17     Whether the dealer hits a soft 17.
+     * @param doubleAfterSplit     Whether a hand created by splitting may be doubled.
+     * @param maxSplitHands        The most hands a player can split into; 1 disables splitting.
+     * @param surrender            Whether late surrender is offered.
+     * @param blackjackNumerator   The numerator of the Blackjack payout ratio, e.g. 3 for 3:2.
+     * @param blackjackDenominator The denominator of the Blackjack payout ratio, e.g. 2 for 3:2.
+     */
+    public TableRules(int decks, boolean dealerHitsSoft17, boolean doubleAfterSplit, int maxSplitHands,
+                      boolean surrender, int blackjackNumerator, int blackjackDenominator) {
+        this(decks, dealerHitsSoft17, doubleAfterSplit, maxSplitHands, surrender, blackjackNumerator,
+                blackjackDenominator, 0);
+    }
+
+    /**
+     * Constructs a rule set with side bets.
+     *
+     * @param decks                The number of decks in the shoe.
+     * @param dealerHitsSoft17     Whether the dealer hits a soft 17.
+     * @param doubleAfterSplit     Whether a hand created by splitting may be doubled.
+     * @param maxSplitHands        The most hands a player can split into; 1 disables splitting.
+     * @param surrender            Whether late surrender is offered.
+     * @param blackjackNumerator   The numerator of the Blackjack payout ratio, e.g. 3 for 3:2.
+     * @param blackjackDenominator The denominator of the Blackjack payout ratio, e.g. 2 for 3:2.
+     * @param sideBets             The side bets offered, as a mask built from {@link SideBet#mask()}.
+     */
+    public TableRules(int decks, boolean dealerHitsSoft17, boolean doubleAfterSplit, int maxSplitHands,
+                      boolean surrender, int blackjackNumerator, int blackjackDenominator, int sideBets) {
+        if (decks < 1 || decks > Shoe.MAX_DECKS) {
+            throw new IllegalArgumentException("Deck count must be between 1 and " + Shoe.MAX_DECKS + ".");
+        }
+        if (maxSplitHands < 1) {
+            throw new IllegalArgumentException("Split hand limit must be at least 1.");
+        }
+        if (blackjackNumerator <= 0 || blackjackDenominator <= 0) {
+            throw new IllegalArgumentException("Blackjack payout must be a positive ratio.");
+        }
+        this.decks = decks;
+        this.dealerHitsSoft17 = dealerHitsSoft17;
+        this.doubleAfterSplit = doubleAfterSplit;
+        this.maxSplitHands = maxSplitHands;
+        this.surrender = surrender;
+        this.blackjackNumerator = blackjackNumerator;
+        this.blackjackDenominator = blackjackDenominator;
+        this.sideBets = sideBets;
+    }
+
+    /**
+     * Loads a rule set from a properties file. Keys that are not present keep their {@link #DEFAULT} values.
+     *
+     * @param path The properties file.
+     * @return The loaded rules.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the file contains an unknown key or an invalid value.
+     */
+    public static TableRules load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Builds a rule set from properties. Keys that are not present keep their {@link #DEFAULT} values.
+     *
+     * @param properties The rule properties.
+     * @return The rules.
+     * @throws IllegalArgumentException If there is an unknown key or an invalid value.
+     */
+    public static TableRules fromProperties(Properties properties) {
+        return DEFAULT.with(properties);
+    }
+
+    /**
+     * Returns a copy of these rules with some rules changed, given as properties with the same keys as a rules file.
+     *
+     * @param properties The rules to change.
+     * @return The new rules.
+     * @throws IllegalArgumentException If there is an unknown key or an invalid value.
+     */
+    public TableRules with(Properties properties) {
+        int decks = this.decks;
+        boolean hitsSoft17 = this.dealerHitsSoft17;
+        boolean doubleAfterSplit = this.doubleAfterSplit;
+        int maxSplitHands = this.maxSplitHands;
+        boolean surrender = this.surrender;
+        int numerator = this.blackjackNumerator;
+        int denominator = this.blackjackDenominator;
+        int sideBets = this.sideBets;
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            switch (key) {
+                case "decks":
+                    decks = Integer.parseInt(value);
+                    break;
+                case "dealerHitsSoft17":
+                    hitsSoft17 = parseBoolean(key, value);
+                    break;
+                case "doubleAfterSplit":
+                    doubleAfterSplit = parseBoolean(key, value);
+                    break;
+                case "maxSplitHands":
+                    maxSplitHands = Integer.parseInt(value);
+                    break;
+                case "surrender":
+                    surrender = parseBoolean(key, value);
+                    break;
+                case "blackjackPayout":
+                    int colon = value.indexOf(':');
+                    if (colon < 0) {
+                        throw new IllegalArgumentException("Blackjack payout must look like 3:2, not " + value + ".");
+                    }
+                    numerator = Integer.parseInt(value.substring(0, colon).trim());
+                    denominator = Integer.parseInt(value.substring(colon + 1).trim());
+                    break;
+                case "sideBets":
+                    sideBets = 0;
+                    for (String name : value.split(",")) {
+                        if (!name.isBlank()) {
+                            sideBets |= SideBet.forName(name.trim()).mask();
+                        }
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown rule: " + key);
+            }
+        }
+        return new TableRules(decks, hitsSoft17, doubleAfterSplit, maxSplitHands, surrender, numerator, denominator,
+                sideBets);
+    }
+
+    /**
+     * Parses a strict true/false rule value.
+     *
+     * @param key   The rule name, for the error message.
+     * @param value The value to parse.
+     * @return The parsed value.
+     */
+    private static boolean parseBoolean(String key, String value) {
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        } else if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException(key + " must be true or false, not " + value + ".");
+    }
+
+    /**
+     * Returns a copy of these rules with a different number of decks.
+     *
+     * @param decks The number of decks.
+     * @return The new rules, or this object if the deck count is unchanged.
+     */
+    public TableRules withDecks(int decks) {
+        if (decks == this.decks) {
+            return this;
+        }
+        return new TableRules(decks, dealerHitsSoft17, doubleAfterSplit, maxSplitHands, surrender,
+                blackjackNumerator, blackjackDenominator, sideBets);
+    }
+
+    /**
+     * Retrieves the number of decks in the shoe.
+     *
+     * @return The deck count.
+     */
+    public int getDecks() {
+        return decks;
+    }
+
+    /**
+     * Checks whether the dealer hits a soft 17 (H17) rather than standing on it (S17).
+     *
+     * @return True for H17.
+     */
+    public boolean isDealerHitsSoft17() {
+        return dealerHitsSoft17;
+    }
+
+    /**
+     * Checks whether a hand created by splitting may be doubled.
+     *
+     * @return True if doubling after a split is allowed.
+     */
+    public boolean isDoubleAfterSplit() {
+        return doubleAfterSplit;
+    }
+
+    /**
+     * Retrieves the most hands a player can hold after splitting and resplitting.
+     *
+     * @return The split hand limit; 1 means splitting is not allowed.
+     */
+    public int getMaxSplitHands() {
+        return maxSplitHands;
+    }
+
+    /**
+     * Checks whether late surrender is offered.
+     *
+     * @return True if a player may surrender the first two cards for half the bet.
+     */
+    public boolean isSurrender() {
+        return surrender;
+    }
+
+    /**
+     * Checks whether the table offers a side bet.
+     *
+     * @param bet The side bet.
+     * @return True if players may place it.
+     */
+    public boolean isSideBetOffered(SideBet bet) {
+        return (sideBets & bet.mask()) != 0;
+    }
+
+    /**
+     * Checks whether the table offers any side bet.
+     *
+     * @return True if at least one side bet is offered.
+     */
+    public boolean hasSideBets() {
+        return sideBets != 0;
+    }
+
+    /**
+     * Calculates the amount returned for a winning natural Blackjack, rounded down to a whole dollar.
+     *
+     * @param bet The amount wagered.
+     * @return The amount returned, including the original bet.
+     */
+    public int blackjackPayout(int bet) {
+        return bet + (int) ((long) bet * blackjackNumerator / blackjackDenominator);
+    }
+
+    /**
+     * Describes the rules in the usual shorthand, e.g. "6 decks, S17, DAS, split to 4, surrender, BJ pays 3:2",
+     * followed by any side bets offered.
+     *
+     * @return The description.
+     */
+    @Override
+    public String toString() {
+        StringBuilder offered = new StringBuilder();
+        for (SideBet bet : SideBet.values()) {
+            if (isSideBetOffered(bet)) {
+                offered.append(offered.length() == 0 ? ", side bets " : ", ").append(bet.getName());
+            }
+        }
+        return decks + (decks == 1 ? " deck, " : " decks, ")
+                + (dealerHitsSoft17 ? "H17" : "S17")
+                + (doubleAfterSplit ? ", DAS" : ", no DAS")
+                + (maxSplitHands > 1 ? ", split to " + maxSplitHands : ", no splits")
+                + (surrender ? ", surrender" : ", no surrender")
+                + ", BJ pays " + blackjackNumerator + ":" + blackjackDenominator + offered;
+    }
+}
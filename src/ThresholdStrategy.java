@@ -0,0 +1,35 @@
+package src;
+
+/**
+ * A PlayerStrategy that hits until the hand reaches a fixed total, ignoring the dealer's card.
+ * With a threshold of 17 the player mimics the dealer.
+ *
+ * @author Kaden Godinez
+ */
+public class ThresholdStrategy implements PlayerStrategy {
+    private final int standTotal;
+
+    /**
+     * Constructs a ThresholdStrategy.
+     *
+     * @param standTotal The total at which the player stops hitting.
+     */
+    public ThresholdStrategy(int standTotal) {
+        this.standTotal = standTotal;
+    }
+
+    /**
+     * Hits while the hand total is below the stand total.
+     *
+     * Never doubles, splits or surrenders.
+     *
+     * @param hand           The player's current hand.
+     * @param dealerUpcard   The code of the dealer's face-up card (ignored).
+     * @param allowedActions The actions open to the player (ignored).
+     * @return HIT below the stand total, STAND otherwise.
+     */
+    @Override
+    public Action decide(Hand hand, int dealerUpcard, int allowedActions) {
+        return hand.calculateTotal() < standTotal ? Action.HIT : Action.STAND;
+    }
+}
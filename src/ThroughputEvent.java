@@ -0,0 +1,46 @@
+package src;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight-recorder event giving the engine's throughput and totals, recorded once a second
+ * after {@link EngineMetrics#register()}.
+ *
+ * @author Kaden Godinez
+ */
+@Name("blackjack.Throughput")
+@Label("Blackjack Throughput")
+@Category("Blackjack")
+@Description("Rounds and hands settled per second, with the engine's running totals")
+@Period("1 s")
+@StackTrace(false)
+public class ThroughputEvent extends jdk.jfr.Event {
+    @Label("Rounds per Second")
+    double roundsPerSecond;
+
+    @Label("Hands per Second")
+    double handsPerSecond;
+
+    @Label("Rounds")
+    long rounds;
+
+    @Label("Hands")
+    long hands;
+
+    @Label("Reshuffles")
+    long reshuffles;
+
+    @Label("Tables")
+    long tables;
+
+    @Label("Sessions")
+    long sessions;
+
+    @Label("Average Decision Nanoseconds")
+    double averageDecisionNanos;
+}